@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.config.MavenToolboxConfig;
+import com.openelements.maven.initializer.backend.config.OfflineProperties;
+import eu.maveniverse.maven.mima.context.Context;
+import eu.maveniverse.maven.mima.context.ContextOverrides;
+import eu.maveniverse.maven.mima.context.Runtimes;
+import eu.maveniverse.maven.toolbox.shared.ArtifactVersionMatcher;
+import eu.maveniverse.maven.toolbox.shared.ToolboxResolver;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.version.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares selecting the newest version from a {@code maven-metadata.xml} with the streaming {@link
+ * MetadataVersionReader} against the {@link ToolboxResolver#findNewestVersion} path.
+ *
+ * <p>Both read the same metadata. The toolbox resolves it from a {@code file:} repository, so
+ * neither side touches the network. Run with {@code -prof gc} to compare allocations per lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetadataVersionBenchmark {
+
+  private static final ArtifactVersionMatcher MATCHER =
+      ArtifactVersionMatcher.noSnapshotsAndPreviews();
+
+  /** Number of versions listed in the metadata, e.g. a few hundred for junit-bom or jacoco. */
+  @Param({"50", "500"})
+  public int versionCount;
+
+  private byte[] metadataXml;
+  private Path workDir;
+  private Context context;
+  private ToolboxResolver toolboxResolver;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    metadataXml = metadata(versionCount).getBytes(StandardCharsets.UTF_8);
+
+    workDir = Files.createTempDirectory("metadata-benchmark-");
+    Path remoteRepository = workDir.resolve("remote");
+    Path metadataFile = remoteRepository.resolve("org/example/library/maven-metadata.xml");
+    Files.createDirectories(metadataFile.getParent());
+    Files.write(metadataFile, metadataXml);
+
+    context =
+        Runtimes.INSTANCE
+            .getRuntime()
+            .create(
+                ContextOverrides.create()
+                    .withUserSettings(false)
+                    .withLocalRepositoryOverride(workDir.resolve("local"))
+                    .repositories(
+                        List.of(
+                            new RemoteRepository.Builder(
+                                    "benchmark", "default", remoteRepository.toUri().toString())
+                                .build()))
+                    .build());
+    toolboxResolver =
+        new MavenToolboxConfig(new OfflineProperties(false, null, null))
+            .toolboxCommando(context)
+            .getToolboxResolver();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    context.close();
+    try (Stream<Path> paths = Files.walk(workDir)) {
+      paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+    }
+  }
+
+  @Benchmark
+  public String streamingReader() throws IOException {
+    return MetadataVersionReader.newestVersion(new ByteArrayInputStream(metadataXml), MATCHER);
+  }
+
+  @Benchmark
+  public Version toolboxResolver() throws VersionRangeResolutionException {
+    return toolboxResolver.findNewestVersion(
+        new DefaultArtifact("org.example", "library", "", "jar", "LATEST"), MATCHER);
+  }
+
+  private static String metadata(int versionCount) {
+    StringBuilder versions = new StringBuilder();
+    for (int i = 0; i < versionCount; i++) {
+      String version = (i / 100) + "." + (i / 10 % 10) + "." + (i % 10);
+      versions.append("<version>").append(version).append("</version>");
+      if (i % 10 == 9) {
+        versions.append("<version>").append(version).append("-M1</version>");
+      }
+    }
+    return "<metadata><groupId>org.example</groupId><artifactId>library</artifactId>"
+        + "<versioning><versions>"
+        + versions
+        + "</versions></versioning></metadata>";
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.config.MavenWrapperProperties;
+import com.openelements.maven.initializer.backend.config.OfflineProperties;
+import com.openelements.maven.initializer.backend.domain.Deadline;
+import com.openelements.maven.initializer.backend.domain.ProjectGenerationResult;
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures writing the ZIP archive of a typical project, with the static files copied as
+ * precompressed entries or compressed again for every archive.
+ *
+ * <p>The wrapper files come from the distribution bundled on the classpath, so the benchmark does
+ * not touch the network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProjectArchiveBenchmark {
+
+  /** Whether static files keep their precompressed content. */
+  @Param({"true", "false"})
+  public boolean precompressed;
+
+  private ProjectGeneratorService generatorService;
+  private ProjectGenerationResult result;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    generatorService =
+        new ProjectGeneratorService(null, null, null, Duration.ofMinutes(1), Duration.ofSeconds(2));
+    ProjectTree tree = new ProjectTree();
+    tree.addText("pom.xml", "<project>\n" + "  <!-- dependency -->\n".repeat(150) + "</project>\n");
+    tree.addText("src/main/java/com/example/App.java", "class App {}\n".repeat(20));
+    tree.addText("src/test/java/com/example/AppTest.java", "class AppTest {}\n".repeat(30));
+    tree.addText("README.md", "# Example\n".repeat(60));
+    Map<String, ProjectTree.Entry> wrapper =
+        new MavenWrapperDistributionStore(
+                new OfflineProperties(true, null, null),
+                new MavenWrapperProperties(null, true),
+                HttpClient.newHttpClient())
+            .get(MavenWrapperService.DISTRIBUTION, Duration.ofMinutes(1))
+            .files();
+    wrapper.forEach(
+        (path, entry) ->
+            tree.add(
+                path,
+                precompressed ? entry : new ProjectTree.Entry(entry.content(), entry.mode())));
+    result = ProjectGenerationResult.create(true, tree);
+  }
+
+  @Benchmark
+  public byte[] writeArchive() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    generatorService.streamProjectZip(result, Deadline.after(Duration.ofMinutes(1))).writeTo(out);
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.util;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the streaming {@link XmlFormatter} with the formatter it replaced: an identity XSLT
+ * transform compiled on every call, followed by regular expression passes for the blank lines.
+ *
+ * <p>Both format the same unformatted POM, as produced by the POM editor. The setup checks that
+ * they produce the same output. Run with {@code -prof gc} to compare allocations per POM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XmlFormatterBenchmark {
+
+  private static final String IDENTITY_XSLT =
+      """
+      <xsl:stylesheet version="1.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">
+          <xsl:strip-space elements="*"/>
+          <xsl:output method="xml" encoding="UTF-8" indent="yes"/>
+          <xsl:template match="@*|node()">
+              <xsl:copy>
+                  <xsl:apply-templates select="@*|node()"/>
+              </xsl:copy>
+          </xsl:template>
+      </xsl:stylesheet>
+      """;
+
+  /** Number of plugins in the POM; the default project has about ten. */
+  @Param({"10", "100"})
+  public int pluginCount;
+
+  private String pom;
+
+  @Setup(Level.Trial)
+  public void setUp() throws TransformerException {
+    pom = pom(pluginCount);
+    if (!streamingFormatter().equals(transformerFormatter())) {
+      throw new IllegalStateException("Formatters disagree on the benchmark POM");
+    }
+  }
+
+  @Benchmark
+  public String streamingFormatter() {
+    return XmlFormatter.formatXml(pom);
+  }
+
+  @Benchmark
+  public String transformerFormatter() throws TransformerException {
+    Transformer transformer =
+        TransformerFactory.newInstance()
+            .newTransformer(new StreamSource(new StringReader(IDENTITY_XSLT)));
+    transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+    transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+    transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
+    transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+    StringWriter writer = new StringWriter();
+    transformer.transform(new StreamSource(new StringReader(pom)), new StreamResult(writer));
+
+    String xml = writer.toString();
+    xml = xml.replaceFirst("(<project[^>]*>)", "\n$1");
+    xml = xml.replace("</modelVersion>", "</modelVersion>\n");
+    xml = xml.replace("</description>", "</description>\n");
+    xml = xml.replace("</properties>", "</properties>\n");
+    xml = xml.replace("</dependencies>", "</dependencies>\n");
+    xml = xml.replaceAll("\\n\\s*\\n(\\s*</dependencyManagement>)", "\n$1");
+    return xml.replaceAll("(</dependencyManagement>)(\\s*\\n)+", "$1\n\n");
+  }
+
+  private static String pom(int pluginCount) {
+    StringBuilder plugins = new StringBuilder();
+    for (int i = 0; i < pluginCount; i++) {
+      plugins
+          .append("<plugin><groupId>org.example.plugins</groupId>")
+          .append("<artifactId>plugin-")
+          .append(i)
+          .append("</artifactId><version>1.")
+          .append(i)
+          .append(".0</version><executions><execution><goals><goal>check</goal></goals>")
+          .append("</execution></executions><configuration>")
+          .append("<!--TODO: Please add a configuration--></configuration></plugin>");
+    }
+    return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\""
+        + " xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\""
+        + " xsi:schemaLocation=\"http://maven.apache.org/POM/4.0.0"
+        + " https://maven.apache.org/xsd/maven-4.0.0.xsd\">"
+        + "<modelVersion>4.0.0</modelVersion><groupId>com.example</groupId>"
+        + "<artifactId>demo</artifactId><version>1.0.0-SNAPSHOT</version>"
+        + "<packaging>jar</packaging><name>Demo</name><description>Demo project</description>"
+        + "<properties><maven.compiler.release>21</maven.compiler.release>"
+        + "<project.build.sourceEncoding>UTF-8</project.build.sourceEncoding></properties>"
+        + "<dependencyManagement><dependencies><dependency><groupId>org.junit</groupId>"
+        + "<artifactId>junit-bom</artifactId><version>6.0.0</version><type>pom</type>"
+        + "<scope>import</scope></dependency></dependencies></dependencyManagement>"
+        + "<dependencies><dependency><groupId>org.junit.jupiter</groupId>"
+        + "<artifactId>junit-jupiter</artifactId><scope>test</scope></dependency></dependencies>"
+        + "<build><plugins>"
+        + plugins
+        + "</plugins></build></project>";
+  }
+}
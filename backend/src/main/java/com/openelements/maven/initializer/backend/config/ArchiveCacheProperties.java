@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the cache of generated archives.
+ *
+ * @param enabled false, to generate every archive
+ * @param maxSize upper bound for the bytes of all cached archives
+ * @param maxEntrySize archives larger than this are not cached
+ * @param httpMaxAge how long browsers, proxies and CDNs may reuse an archive downloaded with {@code
+ *     GET} before revalidating it with its {@code ETag}
+ */
+@ConfigurationProperties(prefix = "initializer.archive-cache")
+public record ArchiveCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("64MB") DataSize maxSize,
+    @DefaultValue("1MB") DataSize maxEntrySize,
+    @DefaultValue("1h") Duration httpMaxAge) {}
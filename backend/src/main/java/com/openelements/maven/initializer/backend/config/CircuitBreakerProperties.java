@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the circuit breaker around repository lookups.
+ *
+ * @param failureThreshold consecutive failed or slow lookups after which the breaker opens
+ * @param slowCallThreshold lookups taking longer than this count as failures
+ * @param openDuration how long lookups are skipped before trial lookups are permitted
+ * @param halfOpenTrials how many trial lookups may run while the breaker is half-open
+ */
+@ConfigurationProperties(prefix = "initializer.version-resolution.circuit-breaker")
+public record CircuitBreakerProperties(
+    @DefaultValue("5") int failureThreshold,
+    @DefaultValue("5s") Duration slowCallThreshold,
+    @DefaultValue("30s") Duration openDuration,
+    @DefaultValue("1") int halfOpenTrials) {}
@@ -31,6 +31,12 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class MavenToolboxConfig {
 
+  private final OfflineProperties offlineProperties;
+
+  public MavenToolboxConfig(OfflineProperties offlineProperties) {
+    this.offlineProperties = offlineProperties;
+  }
+
   @Bean
   public ToolboxCommando toolboxCommando(Context context) {
     return ToolboxCommando.create(
@@ -39,9 +45,19 @@ public class MavenToolboxConfig {
         context);
   }
 
+  /**
+   * In offline mode the context never contacts a remote repository and resolves from the
+   * configured, pre-seeded local repository instead.
+   */
   @Bean
   public Context mavenContext() {
-    ContextOverrides contextOverrides = ContextOverrides.create().withUserSettings(true).build();
-    return Runtimes.INSTANCE.getRuntime().create(contextOverrides);
+    ContextOverrides.Builder contextOverrides = ContextOverrides.create().withUserSettings(true);
+    if (offlineProperties.enabled()) {
+      contextOverrides.offline(true);
+      if (offlineProperties.localRepository() != null) {
+        contextOverrides.withLocalRepositoryOverride(offlineProperties.localRepository());
+      }
+    }
+    return Runtimes.INSTANCE.getRuntime().create(contextOverrides.build());
   }
 }
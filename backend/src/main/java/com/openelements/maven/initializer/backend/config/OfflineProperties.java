@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.config;
+
+import java.nio.file.Path;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for running without any repository access.
+ *
+ * @param enabled true, to never contact a remote repository
+ * @param catalogFile version catalog exported from a connected instance, served to all requests;
+ *     {@code null} to rely on the local repository only
+ * @param localRepository pre-seeded local repository used for lookups and the Apache Maven™ Wrapper
+ *     distribution; {@code null} for the default {@code ~/.m2/repository}
+ */
+@ConfigurationProperties(prefix = "initializer.offline")
+public record OfflineProperties(
+    @DefaultValue("false") boolean enabled, Path catalogFile, Path localRepository) {
+
+  /**
+   * @return the configured local repository, or the default {@code ~/.m2/repository}
+   */
+  public Path localRepositoryOrDefault() {
+    return localRepository != null
+        ? localRepository
+        : Path.of(System.getProperty("user.home"), ".m2", "repository");
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the in-memory cache of resolved artifact versions.
+ *
+ * @param ttl how long a successfully resolved version is served from the cache
+ * @param fallbackTtl how long a fallback ("TODO") result is served before resolution is retried
+ * @param maxSize maximum number of cached coordinates; {@code 0} disables the cache
+ */
+@ConfigurationProperties(prefix = "initializer.version-cache")
+public record VersionCacheProperties(
+    @DefaultValue("6h") Duration ttl,
+    @DefaultValue("5m") Duration fallbackTtl,
+    @DefaultValue("512") int maxSize) {}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.config;
+
+import com.openelements.maven.initializer.backend.service.CircuitBreaker;
+import com.openelements.maven.initializer.backend.service.VersionCache;
+import com.openelements.maven.initializer.backend.service.VersionResolutionMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({
+  VersionCacheProperties.class,
+  CircuitBreakerProperties.class,
+  OfflineProperties.class
+})
+public class VersionResolutionConfig {
+
+  @Bean
+  public Clock clock() {
+    return Clock.systemUTC();
+  }
+
+  /** Shared client for direct repository requests such as the metadata fast path. */
+  @Bean
+  public HttpClient repositoryHttpClient(
+      @Value("${initializer.version-resolution.metadata.connect-timeout:5s}")
+          Duration connectTimeout) {
+    return HttpClient.newBuilder()
+        .connectTimeout(connectTimeout)
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .build();
+  }
+
+  @Bean
+  public VersionCache versionCache(VersionCacheProperties properties, Clock clock) {
+    return new VersionCache(
+        properties.ttl(), properties.fallbackTtl(), properties.maxSize(), clock);
+  }
+
+  @Bean
+  public CircuitBreaker repositoryCircuitBreaker(CircuitBreakerProperties properties, Clock clock) {
+    return new CircuitBreaker(
+        properties.failureThreshold(),
+        properties.slowCallThreshold(),
+        properties.openDuration(),
+        properties.halfOpenTrials(),
+        clock);
+  }
+
+  @Bean
+  public VersionResolutionMetrics versionResolutionMetrics(MeterRegistry registry, Clock clock) {
+    return new VersionResolutionMetrics(registry, clock);
+  }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for the resources held while projects are generated and sent.
+ *
+ * @param root directory for files written by the service, for example a tmpfs mount; {@code null}
+ *     for {@code maven-initializer} below {@code java.io.tmpdir}
+ * @param legacyDirectory directory in which earlier versions created their {@code
+ *     project-<artifactId>-<n>} directories; {@code null} to leave such directories alone, because
+ *     a shared {@code java.io.tmpdir} may hold directories of the same name from other processes
+ * @param quota upper bound for the bytes of all projects being generated or sent; new requests are
+ *     refused while it is exceeded
+ * @param requestEstimate bytes reserved for a request until the size of its project is known
+ * @param orphanMaxAge age after which files left behind by aborted requests or earlier versions are
+ *     deleted, and after which a reservation whose response never completed is released
+ */
+@ConfigurationProperties(prefix = "initializer.workspace")
+public record WorkspaceProperties(
+    Path root,
+    Path legacyDirectory,
+    @DefaultValue("256MB") DataSize quota,
+    @DefaultValue("64KB") DataSize requestEstimate,
+    @DefaultValue("1h") Duration orphanMaxAge) {
+
+  public static WorkspaceProperties defaults() {
+    return new WorkspaceProperties(
+        null, null, DataSize.ofMegabytes(256), DataSize.ofKilobytes(64), Duration.ofHours(1));
+  }
+
+  /**
+   * @return the configured root, or {@code maven-initializer} below {@code java.io.tmpdir}
+   */
+  public Path rootOrDefault() {
+    return root != null ? root : Path.of(System.getProperty("java.io.tmpdir"), "maven-initializer");
+  }
+}
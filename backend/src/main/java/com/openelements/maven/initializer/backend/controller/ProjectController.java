@@ -18,37 +18,207 @@
  */
 package com.openelements.maven.initializer.backend.controller;
 
+import com.openelements.maven.initializer.backend.domain.ArchiveKey;
+import com.openelements.maven.initializer.backend.domain.AssertionLibrary;
+import com.openelements.maven.initializer.backend.domain.Deadline;
 import com.openelements.maven.initializer.backend.domain.ProjectGenerationResult;
 import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
+import com.openelements.maven.initializer.backend.exception.WorkspaceQuotaExceededException;
+import com.openelements.maven.initializer.backend.service.ProjectArchiveCache;
 import com.openelements.maven.initializer.backend.service.ProjectGeneratorService;
+import com.openelements.maven.initializer.backend.service.WorkspaceManager;
+import com.openelements.maven.initializer.backend.service.WorkspaceManager.Workspace;
 import jakarta.validation.Valid;
+import java.beans.PropertyEditorSupport;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.InitBinder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/projects")
 public class ProjectController {
 
   private final ProjectGeneratorService projectGeneratorService;
+  private final WorkspaceManager workspaceManager;
+  private final ProjectArchiveCache archiveCache;
 
-  public ProjectController(ProjectGeneratorService projectGeneratorService) {
+  public ProjectController(
+      ProjectGeneratorService projectGeneratorService,
+      WorkspaceManager workspaceManager,
+      ProjectArchiveCache archiveCache) {
     this.projectGeneratorService = projectGeneratorService;
+    this.workspaceManager = workspaceManager;
+    this.archiveCache = archiveCache;
   }
 
+  /** Accepts the assertion library in query parameters as in JSON, e.g. {@code assertj}. */
+  @InitBinder
+  void registerEditors(WebDataBinder binder) {
+    binder.registerCustomEditor(
+        AssertionLibrary.class,
+        new PropertyEditorSupport() {
+          @Override
+          public void setAsText(String text) {
+            setValue(AssertionLibrary.fromValue(text));
+          }
+        });
+  }
+
+  /**
+   * Generates a project and streams its ZIP archive. The archive is compressed while it is sent, so
+   * it is never held in memory as a whole. The project counts against the workspace quota until the
+   * archive has been written. Archives of requests that were already answered are sent from the
+   * {@link ProjectArchiveCache} without generating the project again.
+   */
   @PostMapping("/generate")
-  public ResponseEntity<byte[]> generateProject(@Valid @RequestBody ProjectRequestDTO request) {
-    ProjectGenerationResult result = projectGeneratorService.generateProject(request);
-    byte[] zipBytes = projectGeneratorService.createProjectZip(result.projectPath());
+  public ResponseEntity<StreamingResponseBody> generateProject(
+      @Valid @RequestBody ProjectRequestDTO request) {
+    return archive(request, key(request), false);
+  }
+
+  /**
+   * Generates a project like {@link #generateProject(ProjectRequestDTO)}, with the options as query
+   * parameters so that the response can be cached by browsers, proxies and CDNs.
+   *
+   * <p>Archives carry a strong {@code ETag} derived from the options and the versions of the served
+   * catalog, so a client sending it in {@code If-None-Match} gets an empty {@code 304 Not Modified}
+   * until a version changes. Only requests whose versions are all in the catalog are answered with
+   * {@code 304}; archives with versions from outside the catalog, fallback versions or skipped
+   * stages are not cacheable.
+   *
+   * @param request the options of the project
+   * @param webRequest used to evaluate {@code If-None-Match}
+   * @return the archive, or {@code 304 Not Modified}
+   */
+  @GetMapping("/generate")
+  public ResponseEntity<StreamingResponseBody> downloadProject(
+      @Valid ProjectRequestDTO request, WebRequest webRequest) {
+    ArchiveKey key = key(request);
+    // Not WebRequest.checkNotModified, which sets the ETag on every response it checks
+    if (key != null && matches(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH), key.etag())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(key.etag())
+          .cacheControl(cacheable())
+          .build();
+    }
+    return archive(request, key, true);
+  }
+
+  /**
+   * Evaluates {@code If-None-Match} with the weak comparison that applies to {@code GET}.
+   *
+   * @param ifNoneMatch the header value, or {@code null} if the request has none
+   * @param etag the entity tag of the current archive
+   * @return true, if the client has the current archive
+   */
+  private static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String tag : ifNoneMatch.split(",")) {
+      String candidate = tag.strip();
+      if (candidate.startsWith("W/")) {
+        candidate = candidate.substring(2);
+      }
+      if (candidate.equals("*") || candidate.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return the key of the archive, or {@code null} if its versions are not all in the catalog
+   */
+  private ArchiveKey key(ProjectRequestDTO request) {
+    return archiveCache.key(request, projectGeneratorService.versionedArtifacts(request));
+  }
+
+  /**
+   * @param key the key of the archive, or {@code null} if the archive must not be cached
+   */
+  private ResponseEntity<StreamingResponseBody> archive(
+      ProjectRequestDTO request, ArchiveKey key, boolean conditional) {
     HttpHeaders headers = new HttpHeaders();
+    headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
     headers.add(
         "Content-Disposition", "attachment; filename=\"" + request.getArtifactId() + ".zip\"");
+
+    byte[] cached = key == null ? null : archiveCache.get(key);
+    if (cached != null) {
+      if (conditional) {
+        headers.setETag(key.etag());
+        headers.setCacheControl(cacheable());
+      }
+      headers.setContentLength(cached.length);
+      return ResponseEntity.ok().headers(headers).body(out -> out.write(cached));
+    }
+
+    Workspace workspace = workspaceManager.open();
+    ProjectGenerationResult result;
+    StreamingResponseBody archive;
+    try {
+      Deadline deadline = projectGeneratorService.startDeadline();
+      result = projectGeneratorService.generateProject(request, deadline);
+      workspace.reserve(result.tree().size());
+      archive = projectGeneratorService.streamProjectZip(result, deadline);
+    } catch (RuntimeException e) {
+      workspace.close();
+      throw e;
+    }
+    StreamingResponseBody zip =
+        out -> {
+          try (workspace) {
+            archive.writeTo(out);
+          }
+        };
+    // Versions from outside the catalog, fallback versions and skipped stages are not covered by
+    // the key and must not be served again once they changed
+    if (key != null && result.isDeterminedByCatalog() && archiveCache.isCurrent(key)) {
+      zip = archiveCache.caching(key, zip);
+      if (conditional) {
+        headers.setETag(key.etag());
+        headers.setCacheControl(cacheable());
+      }
+    } else if (conditional) {
+      headers.setCacheControl(CacheControl.noStore());
+    }
     if (result.status().equals(ProjectGenerationResult.Status.FALLBACK_VERSION)) {
       headers.add("X-Fallback-Version-Used", "true");
     }
-    return ResponseEntity.ok().headers(headers).body(zipBytes);
+    if (result.isDegraded()) {
+      headers.add(
+          "X-Degraded-Stages",
+          result.degradedStages().stream()
+              .sorted()
+              .map(stage -> stage.name().toLowerCase(Locale.ROOT))
+              .collect(Collectors.joining(",")));
+    }
+    return ResponseEntity.ok().headers(headers).body(zip);
+  }
+
+  private CacheControl cacheable() {
+    return CacheControl.maxAge(archiveCache.httpMaxAge()).cachePublic();
+  }
+
+  @ExceptionHandler(WorkspaceQuotaExceededException.class)
+  public ResponseEntity<Void> handleWorkspaceQuotaExceeded(WorkspaceQuotaExceededException e) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+        .build();
   }
 }
@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.controller;
+
+import com.openelements.maven.initializer.backend.service.ArtifactVersionService;
+import com.openelements.maven.initializer.backend.service.VersionCatalogFile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Exports the current version catalog of a connected instance, in the format read by offline
+ * instances through {@code initializer.offline.catalog-file}.
+ */
+@RestController
+@RequestMapping("/versions/catalog")
+public class VersionCatalogController {
+
+  private final ArtifactVersionService artifactVersionService;
+
+  public VersionCatalogController(ArtifactVersionService artifactVersionService) {
+    this.artifactVersionService = artifactVersionService;
+  }
+
+  @GetMapping(produces = MediaType.TEXT_PLAIN_VALUE)
+  public ResponseEntity<String> exportCatalog() {
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"version-catalog.txt\"")
+        .contentType(MediaType.TEXT_PLAIN)
+        .body(VersionCatalogFile.write(artifactVersionService.currentCatalog()));
+  }
+}
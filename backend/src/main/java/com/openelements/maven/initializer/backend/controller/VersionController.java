@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.controller;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.ResolvedVersion;
+import com.openelements.maven.initializer.backend.domain.VersionPolicy;
+import com.openelements.maven.initializer.backend.dto.ArtifactVersionDTO;
+import com.openelements.maven.initializer.backend.service.ParallelVersionResolver;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Looks up the newest versions of many artifacts at once, without generating a project.
+ *
+ * <p>By default the newest versions are returned; a {@code policy} parameter selects other
+ * versions, such as the newest patch of a minor version. Newest versions come from the catalog and
+ * the version cache; misses are resolved in parallel. Every response carries a strong {@code ETag}
+ * over its content, so clients polling with {@code If-None-Match} get an empty {@code 304 Not
+ * Modified} until a version changes.
+ */
+@RestController
+@RequestMapping("/versions")
+public class VersionController {
+
+  static final int MAX_ARTIFACTS = 50;
+
+  private final ParallelVersionResolver versionResolver;
+
+  public VersionController(ParallelVersionResolver versionResolver) {
+    this.versionResolver = versionResolver;
+  }
+
+  /**
+   * @param artifacts coordinates as {@code groupId:artifactId[:extension]}, repeated or comma
+   *     separated
+   * @param policy the version selection policy, see {@link VersionPolicy#parse(String)}
+   * @param request used to evaluate {@code If-None-Match}
+   * @return the selected version per artifact, in request order
+   */
+  @GetMapping
+  public ResponseEntity<List<ArtifactVersionDTO>> lookupVersions(
+      @RequestParam("artifact") List<String> artifacts,
+      @RequestParam(name = "policy", defaultValue = "newest") String policy,
+      WebRequest request) {
+    Set<ArtifactCoordinate> coordinates = parseCoordinates(artifacts);
+    VersionPolicy versionPolicy = parsePolicy(policy);
+
+    Map<ArtifactCoordinate, ResolvedVersion> versions =
+        versionPolicy instanceof VersionPolicy.Newest
+            ? versionResolver.resolveAll(coordinates).versions()
+            : versionResolver.resolveAll(coordinates, versionPolicy).versions();
+    List<ArtifactVersionDTO> body =
+        versions.entrySet().stream()
+            .map(
+                entry ->
+                    new ArtifactVersionDTO(
+                        entry.getKey().groupId(),
+                        entry.getKey().artifactId(),
+                        entry.getKey().extension(),
+                        entry.getValue().version(),
+                        entry.getValue().isFallback()))
+            .toList();
+
+    String etag = etag(body);
+    if (request.checkNotModified(etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .cacheControl(CacheControl.noCache())
+          .build();
+    }
+    return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache()).body(body);
+  }
+
+  private static Set<ArtifactCoordinate> parseCoordinates(List<String> artifacts) {
+    Set<ArtifactCoordinate> coordinates = new LinkedHashSet<>();
+    try {
+      for (String artifact : artifacts) {
+        // Spring already splits a single comma separated parameter value into list elements
+        coordinates.add(ArtifactCoordinate.parse(artifact));
+      }
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+    if (coordinates.isEmpty() || coordinates.size() > MAX_ARTIFACTS) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Between 1 and " + MAX_ARTIFACTS + " artifacts are supported");
+    }
+    return coordinates;
+  }
+
+  private static VersionPolicy parsePolicy(String policy) {
+    try {
+      return VersionPolicy.parse(policy);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
+
+  private static String etag(List<ArtifactVersionDTO> body) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      for (ArtifactVersionDTO version : body) {
+        digest.update(
+            (version.groupId()
+                    + ':'
+                    + version.artifactId()
+                    + ':'
+                    + version.extension()
+                    + '='
+                    + version.version()
+                    + (version.fallback() ? "!" : "")
+                    + '\n')
+                .getBytes(StandardCharsets.UTF_8));
+      }
+      return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
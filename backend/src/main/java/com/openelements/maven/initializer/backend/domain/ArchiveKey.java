@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Identifies the archive generated for a request: requests with the same key get the same project.
+ *
+ * @param requestFingerprint the hex encoded SHA-256 of the canonical form of the request
+ * @param catalogSnapshotId the {@link VersionCatalog#snapshotId()} of the served catalog
+ */
+public record ArchiveKey(String requestFingerprint, String catalogSnapshotId) {
+
+  /**
+   * @param request the request, before it is changed by the generation
+   * @param catalogSnapshotId the id of the served version catalog
+   * @return the key of the archive of the request
+   */
+  public static ArchiveKey of(ProjectRequestDTO request, String catalogSnapshotId) {
+    return new ArchiveKey(fingerprint(request), catalogSnapshotId);
+  }
+
+  /**
+   * @return a strong entity tag for the archive, as a quoted string
+   */
+  public String etag() {
+    return "\"" + sha256(requestFingerprint + ":" + catalogSnapshotId).substring(0, 32) + "\"";
+  }
+
+  /**
+   * Computes the fingerprint of a request. Every option is written in a fixed order with its
+   * length, so no two different requests share the canonical form; a missing assertion library is
+   * written as {@link AssertionLibrary#NONE}, which the generation uses in its place.
+   *
+   * @param request the request
+   * @return the hex encoded SHA-256 of the canonical form of the request
+   */
+  public static String fingerprint(ProjectRequestDTO request) {
+    AssertionLibrary assertionLibrary =
+        request.getAssertionLibrary() == null
+            ? AssertionLibrary.NONE
+            : request.getAssertionLibrary();
+    StringBuilder canonical = new StringBuilder(256);
+    append(canonical, "groupId", request.getGroupId());
+    append(canonical, "artifactId", request.getArtifactId());
+    append(canonical, "version", request.getVersion());
+    append(canonical, "name", request.getName());
+    append(canonical, "description", request.getDescription());
+    append(canonical, "javaVersion", request.getJavaVersion());
+    append(canonical, "includeMavenWrapper", String.valueOf(request.isIncludeMavenWrapper()));
+    append(canonical, "includeSpotless", String.valueOf(request.isIncludeSpotless()));
+    append(canonical, "includeCheckstyle", String.valueOf(request.isIncludeCheckstyle()));
+    append(canonical, "assertionLibrary", assertionLibrary.name());
+    return sha256(canonical.toString());
+  }
+
+  private static void append(StringBuilder canonical, String option, String value) {
+    canonical.append(option);
+    if (value == null) {
+      canonical.append('!');
+    } else {
+      canonical.append('=').append(value.length()).append(':').append(value);
+    }
+    canonical.append('\n');
+  }
+
+  private static String sha256(String value) {
+    try {
+      return HexFormat.of()
+          .formatHex(
+              MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+import java.util.regex.Pattern;
+
+/**
+ * Identifies an artifact whose version is resolved from a Maven repository.
+ *
+ * <p>All parts are limited to the characters Maven allows in identifiers and are made of non-empty,
+ * dot separated segments, so a coordinate always maps to a path inside the repository.
+ *
+ * @param groupId the group id
+ * @param artifactId the artifact id
+ * @param extension the extension used for resolution ("jar" for plugins and dependencies, "pom" for
+ *     BOMs)
+ */
+public record ArtifactCoordinate(String groupId, String artifactId, String extension) {
+
+  /** The identifier characters accepted by Maven, without empty segments such as {@code ..}. */
+  private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*");
+
+  public ArtifactCoordinate {
+    requireIdentifier("group id", groupId);
+    requireIdentifier("artifact id", artifactId);
+    requireIdentifier("extension", extension);
+  }
+
+  public static ArtifactCoordinate plugin(String groupId, String artifactId) {
+    return new ArtifactCoordinate(groupId, artifactId, "jar");
+  }
+
+  public static ArtifactCoordinate bom(String groupId, String artifactId) {
+    return new ArtifactCoordinate(groupId, artifactId, "pom");
+  }
+
+  public static ArtifactCoordinate dependency(String groupId, String artifactId) {
+    return new ArtifactCoordinate(groupId, artifactId, "jar");
+  }
+
+  /**
+   * Parses {@code groupId:artifactId} or {@code groupId:artifactId:extension}; the extension
+   * defaults to {@code jar}.
+   *
+   * @param value the coordinate to parse
+   * @return the parsed coordinate
+   * @throws IllegalArgumentException if the value is not a valid coordinate
+   */
+  public static ArtifactCoordinate parse(String value) {
+    String[] parts = value == null ? new String[0] : value.trim().split(":", -1);
+    if (parts.length < 2 || parts.length > 3) {
+      throw new IllegalArgumentException("Invalid artifact coordinate: " + value);
+    }
+    return new ArtifactCoordinate(parts[0], parts[1], parts.length == 3 ? parts[2] : "jar");
+  }
+
+  private static void requireIdentifier(String name, String value) {
+    if (value == null || !IDENTIFIER.matcher(value).matches()) {
+      throw new IllegalArgumentException("Invalid " + name + ": " + value);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return groupId + ":" + artifactId + ":" + extension;
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+/**
+ * States that the releases of an artifact from a major version on need a newer Java or Maven.
+ *
+ * @param coordinate the artifact
+ * @param fromMajor the first major version with these requirements
+ * @param minimumJava the minimum Java feature release
+ * @param minimumMavenMajor the minimum Maven major version
+ */
+public record BaselineRequirement(
+    ArtifactCoordinate coordinate, int fromMajor, int minimumJava, int minimumMavenMajor) {
+
+  /**
+   * @param baseline the Java and Maven versions of the project
+   * @return true, if the baseline does not meet these requirements
+   */
+  public boolean isViolatedBy(VersionPolicy.Baseline baseline) {
+    return baseline.javaVersion() < minimumJava || baseline.mavenMajor() < minimumMavenMajor;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+import java.util.List;
+
+/**
+ * The fixed set of artifacts whose versions end up in generated projects.
+ *
+ * <p>This is the single source for the plugins, BOMs and versioned dependencies added to a
+ * generated POM, so that the version catalog can be refreshed ahead of any request.
+ */
+public final class CatalogArtifacts {
+
+  public static final ArtifactCoordinate MAVEN_CLEAN_PLUGIN =
+      ArtifactCoordinate.plugin("org.apache.maven.plugins", "maven-clean-plugin");
+  public static final ArtifactCoordinate MAVEN_COMPILER_PLUGIN =
+      ArtifactCoordinate.plugin("org.apache.maven.plugins", "maven-compiler-plugin");
+  public static final ArtifactCoordinate MAVEN_RESOURCES_PLUGIN =
+      ArtifactCoordinate.plugin("org.apache.maven.plugins", "maven-resources-plugin");
+  public static final ArtifactCoordinate MAVEN_SUREFIRE_PLUGIN =
+      ArtifactCoordinate.plugin("org.apache.maven.plugins", "maven-surefire-plugin");
+  public static final ArtifactCoordinate MAVEN_JAR_PLUGIN =
+      ArtifactCoordinate.plugin("org.apache.maven.plugins", "maven-jar-plugin");
+  public static final ArtifactCoordinate MAVEN_INSTALL_PLUGIN =
+      ArtifactCoordinate.plugin("org.apache.maven.plugins", "maven-install-plugin");
+  public static final ArtifactCoordinate MAVEN_DEPLOY_PLUGIN =
+      ArtifactCoordinate.plugin("org.apache.maven.plugins", "maven-deploy-plugin");
+  public static final ArtifactCoordinate JACOCO_MAVEN_PLUGIN =
+      ArtifactCoordinate.plugin("org.jacoco", "jacoco-maven-plugin");
+  public static final ArtifactCoordinate SPOTLESS_MAVEN_PLUGIN =
+      ArtifactCoordinate.plugin("com.diffplug.spotless", "spotless-maven-plugin");
+  public static final ArtifactCoordinate MAVEN_CHECKSTYLE_PLUGIN =
+      ArtifactCoordinate.plugin("org.apache.maven.plugins", "maven-checkstyle-plugin");
+
+  public static final ArtifactCoordinate JUNIT_BOM =
+      ArtifactCoordinate.bom("org.junit", "junit-bom");
+  public static final ArtifactCoordinate ASSERTJ_BOM =
+      ArtifactCoordinate.bom("org.assertj", "assertj-bom");
+
+  public static final ArtifactCoordinate HAMCREST =
+      ArtifactCoordinate.dependency("org.hamcrest", "hamcrest");
+
+  /** Plugins added to every generated project. */
+  public static final List<ArtifactCoordinate> DEFAULT_PLUGINS =
+      List.of(
+          MAVEN_CLEAN_PLUGIN,
+          MAVEN_COMPILER_PLUGIN,
+          MAVEN_RESOURCES_PLUGIN,
+          MAVEN_SUREFIRE_PLUGIN,
+          MAVEN_JAR_PLUGIN,
+          MAVEN_INSTALL_PLUGIN,
+          MAVEN_DEPLOY_PLUGIN,
+          JACOCO_MAVEN_PLUGIN);
+
+  /** Every artifact whose version may be resolved while generating a project. */
+  public static final List<ArtifactCoordinate> ALL =
+      List.of(
+          MAVEN_CLEAN_PLUGIN,
+          MAVEN_COMPILER_PLUGIN,
+          MAVEN_RESOURCES_PLUGIN,
+          MAVEN_SUREFIRE_PLUGIN,
+          MAVEN_JAR_PLUGIN,
+          MAVEN_INSTALL_PLUGIN,
+          MAVEN_DEPLOY_PLUGIN,
+          JACOCO_MAVEN_PLUGIN,
+          SPOTLESS_MAVEN_PLUGIN,
+          MAVEN_CHECKSTYLE_PLUGIN,
+          JUNIT_BOM,
+          ASSERTJ_BOM,
+          HAMCREST);
+
+  /**
+   * Known Java and Maven requirements of newer major versions, used to select versions for an older
+   * baseline. Artifacts and major versions not listed run on Java 8 and Maven 3.
+   */
+  public static final List<BaselineRequirement> BASELINE_REQUIREMENTS =
+      List.of(
+          mavenFourPlugin(MAVEN_CLEAN_PLUGIN),
+          mavenFourPlugin(MAVEN_COMPILER_PLUGIN),
+          mavenFourPlugin(MAVEN_RESOURCES_PLUGIN),
+          mavenFourPlugin(MAVEN_SUREFIRE_PLUGIN),
+          mavenFourPlugin(MAVEN_JAR_PLUGIN),
+          mavenFourPlugin(MAVEN_INSTALL_PLUGIN),
+          mavenFourPlugin(MAVEN_DEPLOY_PLUGIN),
+          mavenFourPlugin(MAVEN_CHECKSTYLE_PLUGIN),
+          new BaselineRequirement(SPOTLESS_MAVEN_PLUGIN, 3, 17, 3),
+          new BaselineRequirement(JUNIT_BOM, 6, 17, 3),
+          new BaselineRequirement(ASSERTJ_BOM, 4, 17, 3));
+
+  private CatalogArtifacts() {}
+
+  /** The 4.x line of the Apache Maven plugins targets Maven 4, which requires Java 17. */
+  private static BaselineRequirement mavenFourPlugin(ArtifactCoordinate plugin) {
+    return new BaselineRequirement(plugin, 4, 17, 4);
+  }
+}
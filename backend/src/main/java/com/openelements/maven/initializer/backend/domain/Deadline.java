@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+import java.time.Duration;
+
+/**
+ * A point in time by which a request has to be finished, measured on the monotonic clock.
+ *
+ * <p>Stages of a request check the remaining time before they start and bound their own waiting by
+ * it, so the whole request consumes one shared budget.
+ */
+public final class Deadline {
+
+  private final long deadlineNanos;
+
+  private Deadline(long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  public static Deadline after(Duration budget) {
+    return new Deadline(System.nanoTime() + budget.toNanos());
+  }
+
+  /**
+   * @return the time left until the deadline, never negative
+   */
+  public Duration remaining() {
+    return Duration.ofNanos(Math.max(0, deadlineNanos - System.nanoTime()));
+  }
+
+  /**
+   * @param limit the upper bound for a single stage
+   * @return the time left until the deadline, but at most the given limit
+   */
+  public Duration remainingAtMost(Duration limit) {
+    Duration remaining = remaining();
+    return remaining.compareTo(limit) < 0 ? remaining : limit;
+  }
+
+  /**
+   * @param reserve the time to keep for the stages after the ones bound by the returned deadline
+   * @return a deadline that passes the given time before this one
+   */
+  public Deadline earlierBy(Duration reserve) {
+    return new Deadline(deadlineNanos - reserve.toNanos());
+  }
+
+  public boolean isExpired() {
+    return deadlineNanos - System.nanoTime() <= 0;
+  }
+
+  @Override
+  public String toString() {
+    return "Deadline[remaining=" + remaining() + "]";
+  }
+}
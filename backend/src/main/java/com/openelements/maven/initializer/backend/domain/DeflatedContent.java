@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * The content of a file compressed once for reuse in many ZIP archives.
+ *
+ * <p>The data is raw DEFLATE as stored in a ZIP entry, compressed with the same settings as entries
+ * compressed by the archive writer, so that a precompressed entry can be copied into an archive as
+ * it is.
+ *
+ * @param data the compressed content
+ * @param crc the CRC-32 of the uncompressed content
+ * @param size the size of the uncompressed content
+ */
+public record DeflatedContent(byte[] data, long crc, long size) {
+
+  /** The compression level of all archive entries, fixed so that archives are reproducible. */
+  public static final int COMPRESSION_LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+  /**
+   * Compresses content with the {@link #COMPRESSION_LEVEL}.
+   *
+   * @param content the uncompressed content
+   * @return the compressed content
+   */
+  public static DeflatedContent of(byte[] content) {
+    CRC32 crc = new CRC32();
+    crc.update(content);
+    Deflater deflater = new Deflater(COMPRESSION_LEVEL, true);
+    try {
+      deflater.setInput(content);
+      deflater.finish();
+      ByteArrayOutputStream data = new ByteArrayOutputStream(content.length / 2 + 64);
+      byte[] buffer = new byte[8192];
+      while (!deflater.finished()) {
+        data.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return new DeflatedContent(data.toByteArray(), crc.getValue(), content.length);
+    } finally {
+      deflater.end();
+    }
+  }
+}
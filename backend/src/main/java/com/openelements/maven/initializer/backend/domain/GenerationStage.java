@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+/** The stages of generating a project, in execution order. */
+public enum GenerationStage {
+  /** Creating the directory layout and source files. Required. */
+  STRUCTURE,
+  /** Resolving plugin, BOM and dependency versions. Degrades to cached or fallback versions. */
+  RESOLUTION,
+  /** Writing and formatting the POM. Required. */
+  POM,
+  /** Adding the Apache Maven™ Wrapper. Skipped when out of time. */
+  WRAPPER,
+  /** Writing the README. Skipped when out of time. */
+  README,
+  /** Packing the project into a ZIP archive. Required. */
+  ARCHIVE
+}
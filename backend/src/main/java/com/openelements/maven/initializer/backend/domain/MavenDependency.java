@@ -18,66 +18,78 @@
  */
 package com.openelements.maven.initializer.backend.domain;
 
-import com.openelements.maven.initializer.backend.service.ArtifactVersionService;
 import java.util.Objects;
 
-/** Represents a Maven dependency with groupId, artifactId, and version. */
-public final class MavenDependency {
-  private final String groupId;
-  private final String artifactId;
-  private final DependencyType dependencyType;
-  private final ArtifactVersionService artifactVersionService;
-
-  public MavenDependency(
-      String groupId,
-      String artifactId,
-      DependencyType dependencyType,
-      ArtifactVersionService artifactVersionService) {
-    this.groupId = groupId;
-    this.artifactId = artifactId;
-    this.dependencyType = dependencyType;
-    this.artifactVersionService = artifactVersionService;
-  }
+/**
+ * A dependency or imported BOM of the generated POM.
+ *
+ * <p>Dependencies whose version is managed by an imported BOM never carry a version. All others are
+ * created unresolved and receive their version exactly once from the resolution stage via {@link
+ * #withVersion(ResolvedVersion)}. Accessors never trigger a repository lookup.
+ *
+ * @param groupId the dependency group id
+ * @param artifactId the dependency artifact id
+ * @param dependencyType whether this is a BOM import or a jar dependency
+ * @param managedByBom true, if the version is provided by an imported BOM
+ * @param resolvedVersion the resolved version, or {@code null} while unresolved or managed by a BOM
+ */
+public record MavenDependency(
+    String groupId,
+    String artifactId,
+    DependencyType dependencyType,
+    boolean managedByBom,
+    ResolvedVersion resolvedVersion) {
 
-  public String groupId() {
-    return groupId;
+  /** A BOM imported in the dependency management, whose version still has to be resolved. */
+  public static MavenDependency bom(ArtifactCoordinate coordinate) {
+    return new MavenDependency(
+        coordinate.groupId(), coordinate.artifactId(), DependencyType.BOM, false, null);
   }
 
-  public String artifactId() {
-    return artifactId;
+  /** A jar dependency whose version still has to be resolved. */
+  public static MavenDependency unresolved(ArtifactCoordinate coordinate) {
+    return new MavenDependency(
+        coordinate.groupId(), coordinate.artifactId(), DependencyType.JAR, false, null);
   }
 
-  public DependencyType dependencyType() {
-    return dependencyType;
+  /** A jar dependency whose version comes from an imported BOM. */
+  public static MavenDependency managedByBom(String groupId, String artifactId) {
+    return new MavenDependency(groupId, artifactId, DependencyType.JAR, true, null);
   }
 
-  public String version() {
-    if (artifactVersionService != null) {
-      if (dependencyType == DependencyType.BOM) {
-        return artifactVersionService.resolveLatestDependencyBomVersion(groupId, artifactId);
-      } else {
-        return artifactVersionService.resolveLatestDependencyVersion(groupId, artifactId);
-      }
-    }
-    return "";
+  public ArtifactCoordinate coordinate() {
+    return dependencyType == DependencyType.BOM
+        ? ArtifactCoordinate.bom(groupId, artifactId)
+        : ArtifactCoordinate.dependency(groupId, artifactId);
   }
 
   public boolean isManagedByBom() {
-    return artifactVersionService == null;
+    return managedByBom;
   }
 
-  @Override
-  public boolean equals(Object obj) {
-    if (obj == this) return true;
-    if (obj == null || obj.getClass() != this.getClass()) return false;
-    var that = (MavenDependency) obj;
-    return Objects.equals(this.groupId, that.groupId)
-        && Objects.equals(this.artifactId, that.artifactId);
+  public MavenDependency withVersion(ResolvedVersion version) {
+    if (managedByBom) {
+      throw new IllegalStateException("Version of " + coordinate() + " is managed by a BOM");
+    }
+    if (resolvedVersion != null) {
+      throw new IllegalStateException("Version of " + coordinate() + " is already resolved");
+    }
+    return new MavenDependency(
+        groupId, artifactId, dependencyType, false, Objects.requireNonNull(version, "version"));
   }
 
-  @Override
-  public int hashCode() {
-    return Objects.hash(groupId, artifactId);
+  /**
+   * @return the resolved version, or an empty string if the version is managed by a BOM
+   * @throws IllegalStateException if the dependency has not been resolved yet
+   */
+  public String version() {
+    if (managedByBom) {
+      return "";
+    }
+    if (resolvedVersion == null) {
+      throw new IllegalStateException("Version of " + coordinate() + " is not resolved yet");
+    }
+    return resolvedVersion.version();
   }
 
   @Override
@@ -90,7 +102,7 @@ public final class MavenDependency {
         + artifactId
         + ", "
         + "version="
-        + version()
+        + (managedByBom || resolvedVersion == null ? "" : resolvedVersion.version())
         + ']';
   }
 }
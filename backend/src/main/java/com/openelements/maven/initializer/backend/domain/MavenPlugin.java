@@ -18,53 +18,55 @@
  */
 package com.openelements.maven.initializer.backend.domain;
 
-import com.openelements.maven.initializer.backend.service.ArtifactVersionService;
 import java.util.Objects;
 import org.jspecify.annotations.NonNull;
 
-/** Represents a Maven plugin with groupId, artifactId, and version. */
-public final class MavenPlugin {
-  private final String groupId;
-  private final String artifactId;
-  private final ArtifactVersionService artifactVersionService;
+/**
+ * A build plugin of the generated POM.
+ *
+ * <p>Instances are created unresolved from their coordinates and receive their version exactly once
+ * from the resolution stage via {@link #withVersion(ResolvedVersion)}. Accessors never trigger a
+ * repository lookup.
+ *
+ * @param groupId the plugin group id
+ * @param artifactId the plugin artifact id
+ * @param resolvedVersion the resolved version, or {@code null} while unresolved
+ */
+public record MavenPlugin(String groupId, String artifactId, ResolvedVersion resolvedVersion) {
 
-  /** */
-  public MavenPlugin(
-      String groupId, String artifactId, ArtifactVersionService artifactVersionService) {
-    this.groupId = groupId;
-    this.artifactId = artifactId;
-    this.artifactVersionService = artifactVersionService;
+  public static MavenPlugin unresolved(ArtifactCoordinate coordinate) {
+    return new MavenPlugin(coordinate.groupId(), coordinate.artifactId(), null);
   }
 
-  @Override
-  @NonNull
-  public String toString() {
-    return groupId + ":" + artifactId + ":" + version();
+  public ArtifactCoordinate coordinate() {
+    return ArtifactCoordinate.plugin(groupId, artifactId);
   }
 
-  public String groupId() {
-    return groupId;
-  }
-
-  public String artifactId() {
-    return artifactId;
+  public MavenPlugin withVersion(ResolvedVersion version) {
+    if (resolvedVersion != null) {
+      throw new IllegalStateException("Version of " + coordinate() + " is already resolved");
+    }
+    return new MavenPlugin(groupId, artifactId, Objects.requireNonNull(version, "version"));
   }
 
+  /**
+   * @return the resolved version
+   * @throws IllegalStateException if the plugin has not been resolved yet
+   */
   public String version() {
-    return artifactVersionService.resolveLatestPluginVersion(groupId, artifactId);
-  }
-
-  @Override
-  public boolean equals(Object obj) {
-    if (obj == this) return true;
-    if (obj == null || obj.getClass() != this.getClass()) return false;
-    var that = (MavenPlugin) obj;
-    return Objects.equals(this.groupId, that.groupId)
-        && Objects.equals(this.artifactId, that.artifactId);
+    if (resolvedVersion == null) {
+      throw new IllegalStateException("Version of " + coordinate() + " is not resolved yet");
+    }
+    return resolvedVersion.version();
   }
 
   @Override
-  public int hashCode() {
-    return Objects.hash(groupId, artifactId);
+  @NonNull
+  public String toString() {
+    return groupId
+        + ":"
+        + artifactId
+        + ":"
+        + (resolvedVersion == null ? "<unresolved>" : resolvedVersion.version());
   }
 }
@@ -18,10 +18,63 @@
  */
 package com.openelements.maven.initializer.backend.domain;
 
-public record ProjectGenerationResult(Status status, String projectPath) {
-  public static ProjectGenerationResult create(boolean hasResolvedVersion, String projectPath) {
+import java.util.Set;
+
+/**
+ * The outcome of generating a project.
+ *
+ * @param status whether every version could be resolved
+ * @param tree the files of the generated project, kept in memory
+ * @param degradedStages the stages that were skipped or cut short to stay within the deadline
+ * @param fromCatalog whether every version was served from the version catalog
+ */
+public record ProjectGenerationResult(
+    Status status, ProjectTree tree, Set<GenerationStage> degradedStages, boolean fromCatalog) {
+
+  /** The path of the POM in the project tree. */
+  public static final String POM_PATH = "pom.xml";
+
+  public ProjectGenerationResult {
+    degradedStages = Set.copyOf(degradedStages);
+  }
+
+  public static ProjectGenerationResult create(boolean hasResolvedVersion, ProjectTree tree) {
+    return create(hasResolvedVersion, false, tree, Set.of());
+  }
+
+  public static ProjectGenerationResult create(
+      boolean hasResolvedVersion,
+      boolean fromCatalog,
+      ProjectTree tree,
+      Set<GenerationStage> degradedStages) {
     return new ProjectGenerationResult(
-        hasResolvedVersion ? Status.NO_ISSUES : Status.FALLBACK_VERSION, projectPath);
+        hasResolvedVersion ? Status.NO_ISSUES : Status.FALLBACK_VERSION,
+        tree,
+        degradedStages,
+        fromCatalog);
+  }
+
+  /**
+   * @return the formatted POM of the project
+   */
+  public byte[] pom() {
+    ProjectTree.Entry pom = tree.get(POM_PATH);
+    return pom == null ? null : pom.content();
+  }
+
+  public boolean isDegraded() {
+    return !degradedStages.isEmpty();
+  }
+
+  /**
+   * Whether the project is fully determined by its request and the served version catalog, so that
+   * its archive can be cached under the {@link ArchiveKey} of the request. Versions resolved from
+   * the repository or the version cache can change without the catalog changing.
+   *
+   * @return true, if every version came from the catalog and no stage was skipped
+   */
+  public boolean isDeterminedByCatalog() {
+    return fromCatalog && status == Status.NO_ISSUES && !isDegraded();
   }
 
   public enum Status {
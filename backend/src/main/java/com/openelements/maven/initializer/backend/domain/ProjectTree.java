@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * The files of a generated project, kept in memory.
+ *
+ * <p>Every stage of a request adds its files to the tree of the request, and the archive is written
+ * from it directly, so generating a project does not touch the disk. Paths are relative, use {@code
+ * /} as separator and are kept in the order they were added. Adding a path again replaces the file.
+ * A tree belongs to a single request and is not thread-safe.
+ */
+public final class ProjectTree {
+
+  /** Unix mode of regular files. */
+  public static final int FILE_MODE = 0644;
+
+  /** Unix mode of executable files such as {@code mvnw}. */
+  public static final int EXECUTABLE_MODE = 0755;
+
+  /**
+   * A file of the tree.
+   *
+   * @param content the content of the file
+   * @param mode the Unix permissions of the file
+   * @param deflated the content compressed ahead of time, or {@code null} to compress it when the
+   *     archive is written
+   */
+  public record Entry(byte[] content, int mode, DeflatedContent deflated) {
+
+    public Entry(byte[] content, int mode) {
+      this(content, mode, null);
+    }
+
+    /**
+     * Creates a file whose content is compressed once, for content that is the same in many
+     * projects.
+     *
+     * @param content the content of the file
+     * @param mode the Unix permissions of the file
+     * @return the file
+     */
+    public static Entry precompressed(byte[] content, int mode) {
+      return new Entry(content, mode, DeflatedContent.of(content));
+    }
+
+    public boolean isExecutable() {
+      return (mode & 0111) != 0;
+    }
+  }
+
+  private final Map<String, Entry> files = new LinkedHashMap<>();
+  private long size;
+
+  /**
+   * Adds a regular file.
+   *
+   * @param path the relative path of the file
+   * @param content the content of the file
+   */
+  public void add(String path, byte[] content) {
+    add(path, content, FILE_MODE);
+  }
+
+  /**
+   * Adds a file with the given permissions.
+   *
+   * @param path the relative path of the file
+   * @param content the content of the file
+   * @param mode the Unix permissions of the file
+   */
+  public void add(String path, byte[] content, int mode) {
+    add(path, new Entry(content, mode));
+  }
+
+  /**
+   * Adds a file. Entries are immutable and can be shared between trees.
+   *
+   * @param path the relative path of the file
+   * @param entry the file
+   */
+  public void add(String path, Entry entry) {
+    Entry previous = files.put(normalize(path), entry);
+    size += entry.content().length - (previous == null ? 0 : previous.content().length);
+  }
+
+  /**
+   * Adds a regular text file encoded as UTF-8.
+   *
+   * @param path the relative path of the file
+   * @param content the text of the file
+   */
+  public void addText(String path, String content) {
+    add(path, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @param path the relative path of the file
+   * @return the file, or {@code null} if the tree has no file at the path
+   */
+  public Entry get(String path) {
+    return files.get(normalize(path));
+  }
+
+  public boolean contains(String path) {
+    return files.containsKey(normalize(path));
+  }
+
+  /**
+   * @return the files by path, in the order they were added
+   */
+  public Map<String, Entry> files() {
+    return Collections.unmodifiableMap(files);
+  }
+
+  /**
+   * @return the total size of all file contents in bytes
+   */
+  public long size() {
+    return size;
+  }
+
+  private static String normalize(String path) {
+    if (path == null || path.isBlank()) {
+      throw new IllegalArgumentException("Path cannot be empty");
+    }
+    String normalized = path.replace('\\', '/');
+    if (normalized.startsWith("/")
+        || normalized.endsWith("/")
+        || Stream.of(normalized.split("/"))
+            .anyMatch(s -> s.isEmpty() || s.equals(".") || s.equals(".."))) {
+      throw new IllegalArgumentException("Not a relative file path: " + path);
+    }
+    return normalized;
+  }
+}
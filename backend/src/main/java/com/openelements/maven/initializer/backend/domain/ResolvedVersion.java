@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+/**
+ * The outcome of resolving an artifact version.
+ *
+ * @param version the version to write into the POM
+ * @param source where the version came from
+ */
+public record ResolvedVersion(String version, VersionSource source) {
+
+  /** Placeholder written into the POM when a version could not be resolved. */
+  public static final String FALLBACK_VERSION = "TODO";
+
+  public static ResolvedVersion live(String version) {
+    return new ResolvedVersion(version, VersionSource.LIVE);
+  }
+
+  public static ResolvedVersion catalog(String version) {
+    return new ResolvedVersion(version, VersionSource.CATALOG);
+  }
+
+  public static ResolvedVersion cached(String version) {
+    return new ResolvedVersion(version, VersionSource.CACHE);
+  }
+
+  public static ResolvedVersion fallback() {
+    return new ResolvedVersion(FALLBACK_VERSION, VersionSource.FALLBACK);
+  }
+
+  public boolean isFallback() {
+    return source == VersionSource.FALLBACK;
+  }
+
+  public boolean isFromCatalog() {
+    return source == VersionSource.CATALOG;
+  }
+
+  @Override
+  public String toString() {
+    return version + " (" + source + ")";
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of resolved versions for the {@link CatalogArtifacts}.
+ *
+ * <p>A new snapshot is published as a whole by the background refresh, so readers always see a
+ * consistent set of versions.
+ *
+ * @param entries the resolved version per artifact
+ * @param refreshedAt when this snapshot was built, or {@code null} for the empty catalog
+ * @param lastSuccessfulRefresh when every artifact was last resolved without failure, or {@code
+ *     null} if that never happened
+ */
+public record VersionCatalog(
+    Map<ArtifactCoordinate, Entry> entries, Instant refreshedAt, Instant lastSuccessfulRefresh) {
+
+  /**
+   * A resolved version and the time it was resolved.
+   *
+   * @param version the resolved version
+   * @param resolvedAt when the version was last confirmed by the repository
+   */
+  public record Entry(String version, Instant resolvedAt) {
+
+    public Duration staleness(Instant now) {
+      return Duration.between(resolvedAt, now);
+    }
+  }
+
+  public VersionCatalog {
+    entries = Map.copyOf(entries);
+  }
+
+  public static VersionCatalog empty() {
+    return new VersionCatalog(Map.of(), null, null);
+  }
+
+  public Optional<Entry> entry(ArtifactCoordinate coordinate) {
+    return Optional.ofNullable(entries.get(coordinate));
+  }
+
+  /**
+   * Identifies the versions of this snapshot. Snapshots with the same versions have the same id, no
+   * matter when or where they were resolved, so a refresh that finds no new versions keeps the id.
+   *
+   * @return the hex encoded SHA-256 of all coordinates and versions
+   */
+  public String snapshotId() {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      entries.entrySet().stream()
+          .sorted(Comparator.comparing(entry -> entry.getKey().toString()))
+          .forEach(
+              entry ->
+                  digest.update(
+                      (entry.getKey() + "=" + entry.getValue().version() + "\n")
+                          .getBytes(StandardCharsets.UTF_8)));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+import java.time.Duration;
+
+/**
+ * Decides which of the published versions of an artifact is selected. Only releases are ever
+ * selected; snapshots and previews are skipped by every policy.
+ *
+ * <p>Policies have a compact text form used in request parameters, see {@link #parse(String)}.
+ */
+public sealed interface VersionPolicy {
+
+  /** The newest release. */
+  record Newest() implements VersionPolicy {
+    @Override
+    public String toString() {
+      return "newest";
+    }
+  }
+
+  /**
+   * The newest patch release within a pinned minor version.
+   *
+   * @param major the pinned major version
+   * @param minor the pinned minor version
+   */
+  record NewestPatch(int major, int minor) implements VersionPolicy {
+    public NewestPatch {
+      if (major < 0 || minor < 0) {
+        throw new IllegalArgumentException("Invalid minor version: " + major + "." + minor);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "patch:" + major + "." + minor;
+    }
+  }
+
+  /**
+   * The newest release that was published at least the given time ago.
+   *
+   * @param minimumAge the minimum time since publication
+   */
+  record MinimumAge(Duration minimumAge) implements VersionPolicy {
+    public MinimumAge {
+      if (minimumAge.isNegative()) {
+        throw new IllegalArgumentException("Invalid minimum age: " + minimumAge);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "min-age:" + minimumAge.toDays() + "d";
+    }
+  }
+
+  /**
+   * The newest release that still supports the given Java and Maven versions.
+   *
+   * @param javaVersion the Java feature release the project is built with
+   * @param mavenMajor the Maven major version the project is built with
+   * @see CatalogArtifacts#BASELINE_REQUIREMENTS
+   */
+  record Baseline(int javaVersion, int mavenMajor) implements VersionPolicy {
+    @Override
+    public String toString() {
+      return "baseline:java" + javaVersion + ",maven" + mavenMajor;
+    }
+  }
+
+  static VersionPolicy newest() {
+    return new Newest();
+  }
+
+  /**
+   * Parses the text form of a policy: {@code newest}, {@code patch:<major>.<minor>}, {@code
+   * min-age:<days>d} or {@code baseline:java<version>,maven<major>}.
+   *
+   * @param value the text form
+   * @return the parsed policy
+   * @throws IllegalArgumentException if the value is not a valid policy
+   */
+  static VersionPolicy parse(String value) {
+    String text = value == null ? "" : value.trim();
+    try {
+      if (text.equals("newest")) {
+        return newest();
+      }
+      if (text.startsWith("patch:")) {
+        String[] parts = text.substring("patch:".length()).split("\\.", -1);
+        if (parts.length == 2) {
+          return new NewestPatch(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+      } else if (text.startsWith("min-age:") && text.endsWith("d")) {
+        return new MinimumAge(
+            Duration.ofDays(
+                Long.parseLong(text.substring("min-age:".length(), text.length() - 1))));
+      } else if (text.startsWith("baseline:java")) {
+        String[] parts = text.substring("baseline:java".length()).split(",maven", -1);
+        if (parts.length == 2) {
+          return new Baseline(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+        }
+      }
+    } catch (NumberFormatException | ArithmeticException e) {
+      throw new IllegalArgumentException("Invalid version policy: " + value, e);
+    }
+    throw new IllegalArgumentException("Invalid version policy: " + value);
+  }
+}
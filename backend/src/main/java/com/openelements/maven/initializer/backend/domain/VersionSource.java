@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+/** Where a {@link ResolvedVersion} came from. */
+public enum VersionSource {
+  /** Resolved from the remote repository while handling the request. */
+  LIVE,
+  /**
+   * Served from the version catalog. Such versions are fixed by the {@link
+   * VersionCatalog#snapshotId()} of the served catalog.
+   */
+  CATALOG,
+  /** Served from the version cache without a repository lookup. */
+  CACHE,
+  /** The version could not be resolved and the placeholder version is used instead. */
+  FALLBACK
+}
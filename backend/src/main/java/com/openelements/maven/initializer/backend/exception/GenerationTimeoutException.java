@@ -0,0 +1,39 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.exception;
+
+import com.openelements.maven.initializer.backend.domain.GenerationStage;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** Thrown when the request deadline is exhausted before a required generation stage. */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class GenerationTimeoutException extends ProjectServiceException {
+
+  private final GenerationStage stage;
+
+  public GenerationTimeoutException(GenerationStage stage) {
+    super("Request deadline exceeded before stage " + stage, null);
+    this.stage = stage;
+  }
+
+  public GenerationStage getStage() {
+    return stage;
+  }
+}
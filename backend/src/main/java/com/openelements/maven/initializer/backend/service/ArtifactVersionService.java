@@ -18,14 +18,35 @@
  */
 package com.openelements.maven.initializer.backend.service;
 
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.BaselineRequirement;
+import com.openelements.maven.initializer.backend.domain.CatalogArtifacts;
+import com.openelements.maven.initializer.backend.domain.ResolvedVersion;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import com.openelements.maven.initializer.backend.domain.VersionPolicy;
+import com.openelements.maven.initializer.backend.domain.VersionSource;
+import com.openelements.maven.initializer.backend.service.VersionResolutionMetrics.LookupResult;
+import com.openelements.maven.initializer.backend.service.VersionResolutionMetrics.Outcome;
 import eu.maveniverse.maven.toolbox.shared.ArtifactVersionMatcher;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
 import eu.maveniverse.maven.toolbox.shared.ToolboxResolver;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import org.eclipse.aether.artifact.DefaultArtifact;
 import org.eclipse.aether.resolution.VersionRangeResolutionException;
 import org.eclipse.aether.version.Version;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -34,46 +55,383 @@ public class ArtifactVersionService {
   private static final Logger logger = LoggerFactory.getLogger(ArtifactVersionService.class);
   private static final ArtifactVersionMatcher VERSION_MATCHER =
       ArtifactVersionMatcher.noSnapshotsAndPreviews();
+  private static final String VERSION_MATCHER_ID = "noSnapshotsAndPreviews";
+  static final String FALLBACK_VERSION = ResolvedVersion.FALLBACK_VERSION;
+
+  /** Result of a coalesced lookup, shared by all callers waiting for it. */
+  private record Lookup(ResolvedVersion version, Outcome outcome) {}
 
   private final ToolboxResolver toolboxResolver;
+  private final VersionCache versionCache;
+  private final Duration lookupTimeout;
+  private final Optional<MetadataVersionResolver> metadataVersionResolver;
+  private final CircuitBreaker circuitBreaker;
+  private final Map<VersionCache.Key, String> lastKnownGood;
+  private final VersionResolutionMetrics metrics;
+  private final Clock clock;
+  private final SingleFlight<VersionCache.Key, Lookup> lookups = new SingleFlight<>();
+  private final AtomicReference<VersionCatalog> catalog =
+      new AtomicReference<>(VersionCatalog.empty());
 
-  public ArtifactVersionService(ToolboxCommando toolboxCommando) {
+  public ArtifactVersionService(
+      ToolboxCommando toolboxCommando,
+      VersionCache versionCache,
+      @Value("${initializer.version-resolution.lookup-timeout:30s}") Duration lookupTimeout,
+      Optional<MetadataVersionResolver> metadataVersionResolver,
+      CircuitBreaker circuitBreaker,
+      VersionResolutionMetrics metrics,
+      Clock clock) {
     this.toolboxResolver = toolboxCommando.getToolboxResolver();
+    this.versionCache = versionCache;
+    this.lastKnownGood = BoundedMaps.lru(versionCache.maxSize());
+    this.lookupTimeout = lookupTimeout;
+    this.metadataVersionResolver = metadataVersionResolver;
+    this.circuitBreaker = circuitBreaker;
+    this.metrics = metrics;
+    this.clock = clock;
+    metrics.bindCatalog(catalog::get);
   }
 
   public String resolveLatestPluginVersion(String groupId, String artifactId) {
-    return resolveLatestVersion(groupId, artifactId, "", "jar");
+    return resolveLatestVersion(ArtifactCoordinate.plugin(groupId, artifactId));
   }
 
   public String resolveLatestDependencyBomVersion(String groupId, String artifactId) {
-    return resolveLatestVersion(groupId, artifactId, "", "pom");
+    return resolveLatestVersion(ArtifactCoordinate.bom(groupId, artifactId));
   }
 
   public String resolveLatestDependencyVersion(String groupId, String artifactId) {
-    return resolveLatestVersion(groupId, artifactId, "", "jar");
+    return resolveLatestVersion(ArtifactCoordinate.dependency(groupId, artifactId));
   }
 
-  private String resolveLatestVersion(
-      String groupId, String artifactId, String classifier, String extension) {
-    String fallback = "TODO";
-    try {
-      Version newestVersion =
-          toolboxResolver.findNewestVersion(
-              new DefaultArtifact(groupId, artifactId, classifier, extension, "LATEST"),
-              VERSION_MATCHER);
-      if (newestVersion != null) {
-        String versionAsString = newestVersion.toString();
-        logger.debug("Resolved latest version {}:{} -> {}", groupId, artifactId, versionAsString);
-        return versionAsString;
+  /**
+   * Returns the version catalog that is currently served to requests.
+   *
+   * @return the current catalog snapshot, never null
+   */
+  public VersionCatalog currentCatalog() {
+    return catalog.get();
+  }
+
+  /**
+   * Replaces the served version catalog. Request threads switch to the new snapshot atomically.
+   *
+   * @param newCatalog the new catalog snapshot
+   */
+  public void publishCatalog(VersionCatalog newCatalog) {
+    catalog.set(newCatalog);
+  }
+
+  /**
+   * Resolves the latest version of an artifact from the catalog, the cache or the repository, in
+   * that order.
+   *
+   * @param coordinate the artifact to resolve
+   * @return the latest version, or the fallback version if it could not be resolved
+   */
+  public String resolveLatestVersion(ArtifactCoordinate coordinate) {
+    return resolve(coordinate).version();
+  }
+
+  /**
+   * Resolves the latest version of an artifact like {@link #resolveLatestVersion} and reports where
+   * the version came from.
+   *
+   * <p>Concurrent cache misses for the same artifact share a single repository lookup. All callers,
+   * including the one that started it, give up after the lookup timeout; a lookup that exceeds it
+   * is abandoned.
+   *
+   * <p>If the repository cannot deliver a version, the last version successfully resolved for the
+   * artifact is served, or the fallback version if there is none. Such results are cached with the
+   * short fallback time-to-live, so a failing artifact is not looked up on every request.
+   *
+   * @param coordinate the artifact to resolve
+   * @return the resolved version and its source
+   */
+  public ResolvedVersion resolve(ArtifactCoordinate coordinate) {
+    long start = System.nanoTime();
+    Lookup lookup =
+        fromCatalogOrCache(coordinate)
+            .map(version -> new Lookup(version, Outcome.CACHED))
+            .orElseGet(
+                () ->
+                    resolveCoalesced(
+                        coordinate, cacheKey(coordinate), () -> resolveFromRepository(coordinate)));
+    metrics.recordResolution(coordinate, lookup.outcome(), System.nanoTime() - start);
+    return lookup.version();
+  }
+
+  /**
+   * Resolves the version of an artifact selected by the given policy.
+   *
+   * <p>{@link VersionPolicy.Newest} is answered like {@link #resolve(ArtifactCoordinate)}. All
+   * other policies are answered from the version cache or the artifact's {@link VersionIndex},
+   * which is read by the metadata fast path. Index lookups are coalesced and guarded by the circuit
+   * breaker like every other repository lookup. Without the fast path the fallback version is
+   * returned; if the index cannot be read or no version matches, the last version selected by the
+   * policy or the fallback version.
+   *
+   * @param coordinate the artifact to resolve
+   * @param policy selects one of the published versions
+   * @return the selected version and its source
+   */
+  public ResolvedVersion resolve(ArtifactCoordinate coordinate, VersionPolicy policy) {
+    if (policy instanceof VersionPolicy.Newest) {
+      return resolve(coordinate);
+    }
+    long start = System.nanoTime();
+    VersionCache.Key key = cacheKey(coordinate, policy);
+    Lookup lookup;
+    Optional<ResolvedVersion> cached = fromCache(coordinate, key);
+    if (cached.isPresent()) {
+      metrics.cacheHit();
+      lookup = new Lookup(cached.get(), Outcome.CACHED);
+    } else if (metadataVersionResolver.isEmpty()) {
+      lookup = new Lookup(ResolvedVersion.fallback(), Outcome.FALLBACK);
+    } else {
+      metrics.cacheMiss();
+      MetadataVersionResolver resolver = metadataVersionResolver.get();
+      lookup =
+          resolveCoalesced(
+              coordinate,
+              key,
+              () ->
+                  guarded(coordinate, () -> resolver.findVersionIndex(coordinate, VERSION_MATCHER))
+                      .flatMap(index -> select(index, coordinate, policy)));
+    }
+    metrics.recordResolution(coordinate, lookup.outcome(), System.nanoTime() - start);
+    return lookup.version();
+  }
+
+  private Optional<String> select(
+      VersionIndex index, ArtifactCoordinate coordinate, VersionPolicy policy) {
+    return switch (policy) {
+      case VersionPolicy.Newest newest -> index.newest();
+      case VersionPolicy.NewestPatch patch -> index.newestInLine(patch.major(), patch.minor());
+      case VersionPolicy.MinimumAge age ->
+          index.newestPublishedBefore(clock.instant().minus(age.minimumAge()));
+      case VersionPolicy.Baseline baseline -> {
+        OptionalInt firstIncompatibleMajor =
+            CatalogArtifacts.BASELINE_REQUIREMENTS.stream()
+                .filter(requirement -> isSameArtifact(requirement.coordinate(), coordinate))
+                .filter(requirement -> requirement.isViolatedBy(baseline))
+                .mapToInt(BaselineRequirement::fromMajor)
+                .min();
+        yield firstIncompatibleMajor.isPresent()
+            ? index.newestBelowMajor(firstIncompatibleMajor.getAsInt())
+            : index.newest();
       }
-    } catch (VersionRangeResolutionException ex) {
+    };
+  }
+
+  private static boolean isSameArtifact(ArtifactCoordinate a, ArtifactCoordinate b) {
+    return a.groupId().equals(b.groupId()) && a.artifactId().equals(b.artifactId());
+  }
+
+  /**
+   * Returns the best version known without contacting the repository: from the catalog, the cache
+   * or the last successful lookup, in that order.
+   *
+   * @param coordinate the artifact to resolve
+   * @return the known version, or the fallback version if none is known
+   */
+  public ResolvedVersion resolveWithoutLookup(ArtifactCoordinate coordinate) {
+    return fromCatalogOrCache(coordinate).orElseGet(() -> degraded(cacheKey(coordinate)));
+  }
+
+  private Optional<ResolvedVersion> fromCatalogOrCache(ArtifactCoordinate coordinate) {
+    Optional<VersionCatalog.Entry> catalogEntry = catalog.get().entry(coordinate);
+    if (catalogEntry.isPresent()) {
+      metrics.catalogHit();
+      return Optional.of(ResolvedVersion.catalog(catalogEntry.get().version()));
+    }
+    Optional<ResolvedVersion> cached = fromCache(coordinate, cacheKey(coordinate));
+    if (cached.isPresent()) {
+      metrics.cacheHit();
+    } else {
+      metrics.cacheMiss();
+    }
+    return cached;
+  }
+
+  private Optional<ResolvedVersion> fromCache(ArtifactCoordinate coordinate, VersionCache.Key key) {
+    return versionCache
+        .get(key)
+        .map(
+            cached -> {
+              logger.debug("Using cached version {} -> {}", coordinate, cached);
+              return FALLBACK_VERSION.equals(cached)
+                  ? ResolvedVersion.fallback()
+                  : ResolvedVersion.cached(cached);
+            });
+  }
+
+  private Lookup resolveCoalesced(
+      ArtifactCoordinate coordinate,
+      VersionCache.Key key,
+      Supplier<Optional<String>> repositoryLookup) {
+    try {
+      return lookups.execute(
+          key,
+          () ->
+              // A lookup for this key may have completed between the cache miss and this call
+              fromCache(coordinate, key)
+                  .map(
+                      cached ->
+                          new Lookup(
+                              cached,
+                              cached.source() == VersionSource.FALLBACK
+                                  ? Outcome.FALLBACK
+                                  : Outcome.CACHED))
+                  .orElseGet(
+                      () -> {
+                        Optional<String> version = repositoryLookup.get();
+                        if (version.isPresent()) {
+                          lastKnownGood.put(key, version.get());
+                          versionCache.put(key, version.get(), false);
+                          return new Lookup(ResolvedVersion.live(version.get()), Outcome.LIVE);
+                        }
+                        ResolvedVersion degraded = degraded(key);
+                        versionCache.put(key, degraded.version(), true);
+                        return new Lookup(degraded, Outcome.FALLBACK);
+                      }),
+          lookupTimeout);
+    } catch (TimeoutException e) {
+      logger.warn("Lookup of {} timed out after {}", coordinate, lookupTimeout);
+    } catch (ExecutionException e) {
+      logger.warn("Concurrent lookup of {} failed", coordinate, e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return new Lookup(degraded(key), Outcome.ERROR);
+  }
+
+  private static VersionCache.Key cacheKey(ArtifactCoordinate coordinate) {
+    return new VersionCache.Key(
+        coordinate.groupId(), coordinate.artifactId(), coordinate.extension(), VERSION_MATCHER_ID);
+  }
+
+  private static VersionCache.Key cacheKey(ArtifactCoordinate coordinate, VersionPolicy policy) {
+    return new VersionCache.Key(
+        coordinate.groupId(),
+        coordinate.artifactId(),
+        coordinate.extension(),
+        VERSION_MATCHER_ID + "/" + policy);
+  }
+
+  private ResolvedVersion degraded(VersionCache.Key key) {
+    String version = lastKnownGood.get(key);
+    return version != null ? ResolvedVersion.cached(version) : ResolvedVersion.fallback();
+  }
+
+  /**
+   * Resolves the newest version directly from the repository, bypassing catalog and cache.
+   *
+   * <p>If the metadata fast path is enabled, the version is read from {@code maven-metadata.xml}
+   * first; the full resolver is only used if that yields no version. Lookups are guarded by the
+   * circuit breaker: while it is open, no lookup is made and the result is empty. Only lookups that
+   * fail count against the breaker; a repository that answers that it has no version of the
+   * artifact is working as expected.
+   *
+   * @param coordinate the artifact to resolve
+   * @return the newest matching version, or empty if it could not be resolved
+   */
+  public Optional<String> resolveFromRepository(ArtifactCoordinate coordinate) {
+    return guarded(coordinate, () -> findNewestVersion(coordinate));
+  }
+
+  /** A lookup in the repository. */
+  @FunctionalInterface
+  private interface RepositoryLookup<T> {
+    /**
+     * @return the result, or empty if the repository has none
+     */
+    Optional<T> lookup() throws IOException, VersionRangeResolutionException;
+  }
+
+  /**
+   * Makes a repository lookup if the circuit breaker permits it, and reports its outcome to the
+   * breaker and the metrics.
+   *
+   * @return the result, or empty if the lookup was rejected, failed or found nothing
+   */
+  private <T> Optional<T> guarded(ArtifactCoordinate coordinate, RepositoryLookup<T> lookup) {
+    long start = System.nanoTime();
+    if (!circuitBreaker.tryAcquire()) {
+      logger.debug("Circuit breaker is open, skipping lookup of {}", coordinate);
+      metrics.recordLookup(LookupResult.REJECTED, System.nanoTime() - start);
+      return Optional.empty();
+    }
+    LookupResult result = LookupResult.FAILED;
+    try {
+      Optional<T> found = lookup.lookup();
+      result = found.isPresent() ? LookupResult.FOUND : LookupResult.NOT_FOUND;
+      return found;
+    } catch (IllegalArgumentException e) {
+      // The coordinate cannot be expressed as a repository path, so there is nothing to find
+      logger.debug("Not a valid artifact coordinate: {}", coordinate, e);
+      result = LookupResult.NOT_FOUND;
+      return Optional.empty();
+    } catch (IOException | VersionRangeResolutionException e) {
       logger.warn(
-          "Failed to resolve latest version for {}:{} (using fallback {})",
-          groupId,
-          artifactId,
-          fallback,
-          ex);
+          "Failed to look up versions of {} (using fallback {})", coordinate, FALLBACK_VERSION, e);
+      return Optional.empty();
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      if (result == LookupResult.FAILED) {
+        circuitBreaker.onFailure();
+      } else {
+        circuitBreaker.onSuccess(Duration.ofNanos(elapsed));
+      }
+      metrics.recordLookup(result, elapsed);
+    }
+  }
+
+  /**
+   * @return the newest version, or empty if the repository has none
+   * @throws IOException if the metadata could not be fetched and the resolver found no version
+   *     either
+   */
+  private Optional<String> findNewestVersion(ArtifactCoordinate coordinate)
+      throws IOException, VersionRangeResolutionException {
+    IOException metadataFailure = null;
+    if (metadataVersionResolver.isPresent()) {
+      try {
+        Optional<String> version =
+            metadataVersionResolver.get().findNewestVersion(coordinate, VERSION_MATCHER);
+        if (version.isPresent()) {
+          return version;
+        }
+      } catch (InterruptedIOException e) {
+        throw e;
+      } catch (IOException e) {
+        logger.debug("Metadata of {} unavailable, using the resolver", coordinate, e);
+        metadataFailure = e;
+      }
+    }
+    Optional<String> version = resolveWithToolbox(coordinate);
+    if (version.isEmpty() && metadataFailure != null) {
+      throw metadataFailure;
+    }
+    return version;
+  }
+
+  private Optional<String> resolveWithToolbox(ArtifactCoordinate coordinate)
+      throws VersionRangeResolutionException {
+    Version newestVersion =
+        toolboxResolver.findNewestVersion(
+            new DefaultArtifact(
+                coordinate.groupId(),
+                coordinate.artifactId(),
+                "",
+                coordinate.extension(),
+                "LATEST"),
+            VERSION_MATCHER);
+    if (newestVersion == null) {
+      return Optional.empty();
     }
-    return fallback;
+    String versionAsString = newestVersion.toString();
+    logger.debug("Resolved latest version {} -> {}", coordinate, versionAsString);
+    return Optional.of(versionAsString);
   }
 }
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Circuit breaker that stops calls to a failing remote system.
+ *
+ * <p>The breaker opens after a number of consecutive failures, where calls slower than the slow
+ * call threshold count as failures even if they succeeded. While open, no calls are permitted.
+ * After the open duration a limited number of trial calls is permitted (half-open); a successful
+ * trial closes the breaker again, a failed one re-opens it.
+ */
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED,
+    OPEN,
+    HALF_OPEN
+  }
+
+  private final int failureThreshold;
+  private final Duration slowCallThreshold;
+  private final Duration openDuration;
+  private final int halfOpenTrials;
+  private final Clock clock;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private Instant openedAt;
+  private int trialsInFlight;
+
+  public CircuitBreaker(
+      int failureThreshold,
+      Duration slowCallThreshold,
+      Duration openDuration,
+      int halfOpenTrials,
+      Clock clock) {
+    this.failureThreshold = failureThreshold;
+    this.slowCallThreshold = slowCallThreshold;
+    this.openDuration = openDuration;
+    this.halfOpenTrials = halfOpenTrials;
+    this.clock = clock;
+  }
+
+  /**
+   * Asks for permission to make a call. Every permitted call must be followed by {@link #onSuccess}
+   * or {@link #onFailure}.
+   *
+   * @return true, if the call may be made
+   */
+  public synchronized boolean tryAcquire() {
+    if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+      state = State.HALF_OPEN;
+      trialsInFlight = 0;
+    }
+    return switch (state) {
+      case CLOSED -> true;
+      case OPEN -> false;
+      case HALF_OPEN -> {
+        if (trialsInFlight >= halfOpenTrials) {
+          yield false;
+        }
+        trialsInFlight++;
+        yield true;
+      }
+    };
+  }
+
+  /**
+   * Records a successful call.
+   *
+   * @param elapsed how long the call took; calls above the slow call threshold count as failures
+   */
+  public synchronized void onSuccess(Duration elapsed) {
+    if (elapsed.compareTo(slowCallThreshold) > 0) {
+      onFailure();
+      return;
+    }
+    consecutiveFailures = 0;
+    if (state == State.HALF_OPEN) {
+      state = State.CLOSED;
+    }
+  }
+
+  /** Records a failed call. */
+  public synchronized void onFailure() {
+    consecutiveFailures++;
+    if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+      state = State.OPEN;
+      openedAt = clock.instant();
+      consecutiveFailures = 0;
+    }
+  }
+
+  public synchronized State state() {
+    return state;
+  }
+}
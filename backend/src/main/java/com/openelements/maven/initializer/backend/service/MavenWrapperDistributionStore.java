@@ -0,0 +1,438 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.config.MavenWrapperProperties;
+import com.openelements.maven.initializer.backend.config.OfflineProperties;
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperException;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperTimeoutException;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperUnavailableException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the files of the Apache Maven™ Wrapper per distribution, so that a generated project gets
+ * them by copying instead of downloading and unpacking the distribution again.
+ *
+ * <p>A distribution is loaded once per (wrapper version, Maven version) and then served from
+ * memory. It is looked up in the store directory, in the copy bundled on the classpath and in the
+ * local repository in offline mode, and downloaded from Maven Central only if none of them has it.
+ * Every copy is verified against the expected SHA-512 before it is used, and downloaded copies are
+ * written to the store directory so that a restarted instance does not download them again.
+ */
+@Component
+public class MavenWrapperDistributionStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(MavenWrapperDistributionStore.class);
+
+  private static final String REPOSITORY_URL = "https://repo.maven.apache.org/maven2/";
+
+  private static final String WRAPPER_PROPERTIES_PATH = ".mvn/wrapper/maven-wrapper.properties";
+
+  /** Classpath location of the bundled distributions, in repository layout. */
+  static final String BUNDLED_LOCATION = "maven-wrapper/";
+
+  /**
+   * An Apache Maven™ Wrapper "only-script" distribution together with the Maven version it
+   * downloads.
+   *
+   * @param wrapperVersion the version of the wrapper scripts
+   * @param mavenVersion the Apache Maven™ version written to {@code maven-wrapper.properties}
+   * @param sha512 the hex encoded SHA-512 of the distribution archive
+   */
+  public record Distribution(String wrapperVersion, String mavenVersion, String sha512) {
+
+    /**
+     * @return the path of the distribution archive in repository layout
+     */
+    public String repositoryPath() {
+      return "org/apache/maven/wrapper/maven-wrapper-distribution/"
+          + wrapperVersion
+          + "/maven-wrapper-distribution-"
+          + wrapperVersion
+          + "-only-script.zip";
+    }
+
+    /**
+     * @return the URL of the Apache Maven™ binary distribution the wrapper downloads
+     */
+    public String mavenDistributionUrl() {
+      return REPOSITORY_URL
+          + "org/apache/maven/apache-maven/"
+          + mavenVersion
+          + "/apache-maven-"
+          + mavenVersion
+          + "-bin.zip";
+    }
+  }
+
+  /**
+   * The files the wrapper adds to a project, by path.
+   *
+   * @param files the files, compressed ahead of time; their contents are shared and must not be
+   *     modified
+   */
+  public record WrapperFiles(Map<String, ProjectTree.Entry> files) {
+
+    public WrapperFiles {
+      files = Collections.unmodifiableMap(new LinkedHashMap<>(files));
+    }
+
+    /**
+     * Adds all files to the tree of a project.
+     *
+     * @param tree the files of the generated project
+     */
+    public void copyTo(ProjectTree tree) {
+      files.forEach(tree::add);
+    }
+  }
+
+  private final Map<Distribution, WrapperFiles> loaded = new ConcurrentHashMap<>();
+  private final SingleFlight<Distribution, WrapperFiles> loads = new SingleFlight<>();
+
+  private final OfflineProperties offlineProperties;
+  private final HttpClient httpClient;
+  private final Path directory;
+  private final String bundledLocation;
+
+  /**
+   * @param offlineProperties the offline settings
+   * @param properties where distributions are kept and whether bundled ones are used
+   * @param httpClient the shared client for repository requests
+   */
+  public MavenWrapperDistributionStore(
+      OfflineProperties offlineProperties,
+      MavenWrapperProperties properties,
+      HttpClient httpClient) {
+    this.offlineProperties = offlineProperties;
+    this.httpClient = httpClient;
+    this.directory = properties.storeDirectory();
+    this.bundledLocation = properties.bundled() ? BUNDLED_LOCATION : null;
+  }
+
+  /**
+   * Returns the files of a distribution, loading it if this is the first use.
+   *
+   * @param distribution the distribution
+   * @param timeout the maximum time for downloading the distribution or waiting for a load already
+   *     in progress
+   * @return the files of the distribution
+   * @throws MavenWrapperTimeoutException if the distribution could not be loaded in time
+   * @throws MavenWrapperUnavailableException if in offline mode the distribution is not available
+   * @throws MavenWrapperException if the distribution cannot be loaded or fails verification
+   */
+  public WrapperFiles get(Distribution distribution, Duration timeout) {
+    WrapperFiles files = loaded.get(distribution);
+    if (files != null) {
+      return files;
+    }
+    try {
+      return loads.execute(distribution, () -> load(distribution, timeout), timeout);
+    } catch (TimeoutException e) {
+      throw new MavenWrapperTimeoutException(
+          "Loading the Apache Maven™ Wrapper exceeded " + timeout, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MavenWrapperException("Interrupted while loading the Apache Maven™ Wrapper", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    } catch (UncheckedIOException e) {
+      throw unwrap(e);
+    }
+  }
+
+  /**
+   * Loads a distribution ahead of its first use. A distribution available without network access is
+   * loaded right away, otherwise it is downloaded in the background. Failures are only logged.
+   *
+   * @param distribution the distribution
+   * @param timeout the maximum time for downloading the distribution
+   */
+  public void preload(Distribution distribution, Duration timeout) {
+    if (hasLocalCopy(distribution) || offlineProperties.enabled()) {
+      try {
+        get(distribution, timeout);
+      } catch (RuntimeException e) {
+        logger.warn("Cannot preload Apache Maven™ Wrapper {}", distribution.wrapperVersion(), e);
+      }
+      return;
+    }
+    CompletableFuture.runAsync(() -> get(distribution, timeout))
+        .exceptionally(
+            e -> {
+              logger.warn(
+                  "Cannot preload Apache Maven™ Wrapper {}", distribution.wrapperVersion(), e);
+              return null;
+            });
+  }
+
+  /**
+   * @param distribution the distribution
+   * @return true, if the files of the distribution are in memory
+   */
+  public boolean isLoaded(Distribution distribution) {
+    return loaded.containsKey(distribution);
+  }
+
+  private boolean hasLocalCopy(Distribution distribution) {
+    return directory != null
+            && Files.isRegularFile(directory.resolve(distribution.repositoryPath()))
+        || bundledLocation != null
+            && MavenWrapperDistributionStore.class
+                    .getClassLoader()
+                    .getResource(bundledLocation + distribution.repositoryPath())
+                != null;
+  }
+
+  private WrapperFiles load(Distribution distribution, Duration timeout) {
+    WrapperFiles files = loaded.get(distribution);
+    if (files != null) {
+      return files;
+    }
+    try {
+      byte[] archive = loadLocal(distribution);
+      if (archive == null) {
+        archive =
+            offlineProperties.enabled()
+                ? readLocalRepository(distribution)
+                : download(distribution, timeout);
+        verify(distribution, archive);
+        store(distribution, archive);
+      }
+      files = extract(distribution, archive);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    loaded.put(distribution, files);
+    logger.info(
+        "Loaded Apache Maven™ Wrapper {} for Apache Maven™ {}",
+        distribution.wrapperVersion(),
+        distribution.mavenVersion());
+    return files;
+  }
+
+  /**
+   * @return the verified distribution from the store directory or the classpath, or {@code null}
+   */
+  private byte[] loadLocal(Distribution distribution) throws IOException {
+    if (directory != null) {
+      Path stored = directory.resolve(distribution.repositoryPath());
+      if (Files.isRegularFile(stored)) {
+        byte[] archive = Files.readAllBytes(stored);
+        if (matches(distribution, archive)) {
+          return archive;
+        }
+        logger.warn("Deleting corrupt Apache Maven™ Wrapper distribution {}", stored);
+        Files.deleteIfExists(stored);
+      }
+    }
+    if (bundledLocation != null) {
+      try (InputStream in =
+          MavenWrapperDistributionStore.class
+              .getClassLoader()
+              .getResourceAsStream(bundledLocation + distribution.repositoryPath())) {
+        if (in != null) {
+          byte[] archive = in.readAllBytes();
+          verify(distribution, archive);
+          return archive;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the distribution in the local repository, which must be pre-seeded in offline mode
+   * @throws MavenWrapperUnavailableException if the distribution is not in the local repository
+   */
+  private byte[] readLocalRepository(Distribution distribution) throws IOException {
+    Path archive =
+        offlineProperties.localRepositoryOrDefault().resolve(distribution.repositoryPath());
+    if (!Files.isRegularFile(archive)) {
+      throw new MavenWrapperUnavailableException(
+          "Apache Maven™ Wrapper distribution not found in local repository: " + archive, null);
+    }
+    logger.debug("Using offline Apache Maven™ Wrapper distribution from: {}", archive);
+    return Files.readAllBytes(archive);
+  }
+
+  private byte[] download(Distribution distribution, Duration timeout) throws IOException {
+    String url = REPOSITORY_URL + distribution.repositoryPath();
+    logger.debug("Downloading Apache Maven™ Wrapper distribution from: {}", url);
+    HttpRequest request = HttpRequest.newBuilder(URI.create(url)).GET().build();
+    CompletableFuture<HttpResponse<byte[]>> download =
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    try {
+      HttpResponse<byte[]> response = download.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+      if (response.statusCode() != 200) {
+        throw new IOException("Downloading " + url + " returned " + response.statusCode());
+      }
+      return response.body();
+    } catch (TimeoutException e) {
+      download.cancel(true);
+      throw new MavenWrapperTimeoutException(
+          "Downloading the Apache Maven™ Wrapper exceeded " + timeout, e);
+    } catch (InterruptedException e) {
+      download.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while downloading the Apache Maven™ Wrapper", e);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+    }
+  }
+
+  /** Writes a verified distribution to the store directory. Failures are only logged. */
+  private void store(Distribution distribution, byte[] archive) {
+    if (directory == null) {
+      return;
+    }
+    Path target = directory.resolve(distribution.repositoryPath());
+    try {
+      Files.createDirectories(target.getParent());
+      Path tempFile =
+          Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+      try {
+        Files.write(tempFile, archive);
+        try {
+          Files.move(
+              tempFile,
+              target,
+              StandardCopyOption.ATOMIC_MOVE,
+              StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    } catch (IOException e) {
+      logger.warn("Cannot store Apache Maven™ Wrapper distribution in {}", target, e);
+    }
+  }
+
+  private static void verify(Distribution distribution, byte[] archive) {
+    if (!matches(distribution, archive)) {
+      throw new MavenWrapperException(
+          "SHA-512 mismatch for Apache Maven™ Wrapper distribution "
+              + distribution.repositoryPath(),
+          null);
+    }
+  }
+
+  private static boolean matches(Distribution distribution, byte[] archive) {
+    try {
+      byte[] expected = HexFormat.of().parseHex(distribution.sha512());
+      return MessageDigest.isEqual(expected, MessageDigest.getInstance("SHA-512").digest(archive));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-512 not available", e);
+    }
+  }
+
+  /**
+   * Extracts only the executable scripts ({@code mvnw} and {@code mvnw.cmd}) and adds the {@code
+   * maven-wrapper.properties} for the Maven version of the distribution.
+   *
+   * <p>Debug variants ({@code mvnwDebug}, {@code mvnwDebug.cmd}) are intentionally excluded.
+   */
+  private static WrapperFiles extract(Distribution distribution, byte[] archive)
+      throws IOException {
+    Map<String, ProjectTree.Entry> files = new LinkedHashMap<>();
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+      ZipEntry entry;
+      while ((entry = zip.getNextEntry()) != null) {
+        switch (entry.getName()) {
+          // Unix wrapper script
+          case "mvnw" ->
+              files.put(
+                  "mvnw",
+                  ProjectTree.Entry.precompressed(zip.readAllBytes(), ProjectTree.EXECUTABLE_MODE));
+          // Windows wrapper script
+          case "mvnw.cmd" ->
+              files.put(
+                  "mvnw.cmd",
+                  ProjectTree.Entry.precompressed(zip.readAllBytes(), ProjectTree.FILE_MODE));
+          default -> {
+            // Debug scripts and everything else are not needed
+          }
+        }
+      }
+    }
+    files.put(
+        WRAPPER_PROPERTIES_PATH,
+        ProjectTree.Entry.precompressed(wrapperProperties(distribution), ProjectTree.FILE_MODE));
+    return new WrapperFiles(files);
+  }
+
+  /**
+   * Creates the content of {@code maven-wrapper.properties}, which configures the wrapper to use
+   * the "only-script" distribution type and points to the official Apache Maven™ binary
+   * distribution.
+   */
+  private static byte[] wrapperProperties(Distribution distribution) {
+    return ("wrapperVersion="
+            + distribution.wrapperVersion()
+            + "\n"
+            + "distributionType=only-script\n"
+            + "distributionUrl="
+            + distribution.mavenDistributionUrl()
+            + "\n")
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static RuntimeException unwrap(Throwable cause) {
+    if (cause instanceof UncheckedIOException io) {
+      return new MavenWrapperException(
+          "Failed to load Apache Maven™ Wrapper: " + io.getCause().getMessage(), io.getCause());
+    }
+    if (cause instanceof RuntimeException runtime) {
+      return runtime;
+    }
+    return new MavenWrapperException("Failed to load Apache Maven™ Wrapper", cause);
+  }
+}
@@ -18,18 +18,12 @@
  */
 package com.openelements.maven.initializer.backend.service;
 
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
 import com.openelements.maven.initializer.backend.exception.MavenWrapperException;
-import java.io.IOException;
-import java.io.InputStream;
-import java.net.URI;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
-import java.nio.file.attribute.PosixFilePermission;
-import java.util.Collections;
-import java.util.Set;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperTimeoutException;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperUnavailableException;
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -40,146 +34,54 @@ public class MavenWrapperService {
 
   private static final Logger logger = LoggerFactory.getLogger(MavenWrapperService.class);
 
-  private static final String MAVEN_WRAPPER_VERSION = "3.3.4";
-  private static final String MAVEN_VERSION = "3.9.11";
+  /** The wrapper distribution added to generated projects. */
+  static final MavenWrapperDistributionStore.Distribution DISTRIBUTION =
+      new MavenWrapperDistributionStore.Distribution(
+          "3.3.4",
+          "3.9.11",
+          "3680685e1d24744be8b96a7e1b084b169f059530b42165b147c9d28a1dc89795"
+              + "1ca682cbebbb02818e52f7a0bda8fee644e12b8b3ea5f0a456196d6878df629f");
 
-  private static final String MAVEN_WRAPPER_DISTRIBUTION_URL =
-      "https://repo.maven.apache.org/maven2/org/apache/maven/wrapper/maven-wrapper-distribution/"
-          + MAVEN_WRAPPER_VERSION
-          + "/maven-wrapper-distribution-"
-          + MAVEN_WRAPPER_VERSION
-          + "-only-script.zip";
+  private static final Duration DEFAULT_DOWNLOAD_TIMEOUT = Duration.ofMinutes(1);
 
-  private static final String MAVEN_DISTRIBUTION_URL =
-      "https://repo.maven.apache.org/maven2/org/apache/maven/apache-maven/"
-          + MAVEN_VERSION
-          + "/apache-maven-"
-          + MAVEN_VERSION
-          + "-bin.zip";
+  private final MavenWrapperDistributionStore distributionStore;
 
-  /**
-   * Adds Apache Maven™ Wrapper files to the specified project directory.
-   *
-   * <p>This includes:
-   *
-   * <ul>
-   *   <li>Creating the {@code .mvn/wrapper} directory
-   *   <li>Downloading and extracting {@code mvnw} and {@code mvnw.cmd} scripts
-   *   <li>Generating {@code maven-wrapper.properties} with the correct distribution URL
-   * </ul>
-   *
-   * <p>Uses the "only-script" distribution type, which avoids including {@code maven-wrapper.jar}
-   * and downloads Maven directly on first use.
-   *
-   * @param projectRoot the root directory of the generated project
-   * @throws MavenWrapperException if adding the Apache Maven™ Wrapper fails due to I/O or network
-   *     issues
-   * @throws IllegalArgumentException if projectRoot is null
-   */
-  public void addMavenWrapper(Path projectRoot) {
-    if (projectRoot == null) {
-      throw new IllegalArgumentException("Project root cannot be null");
-    }
-    logger.info("Adding Apache Maven™ Wrapper to project at: {}", projectRoot);
-
-    try {
-      Path wrapperDir = projectRoot.resolve(".mvn/wrapper");
-      Files.createDirectories(wrapperDir);
-
-      downloadAndExtractWrapper(projectRoot);
-      createWrapperProperties(wrapperDir);
-
-      logger.info("Apache Maven™ Wrapper added successfully");
-    } catch (IOException e) {
-      logger.error("Failed to add Apache Maven™ Wrapper", e);
-      throw new MavenWrapperException("Failed to add Apache Maven™ Wrapper: " + e.getMessage(), e);
-    }
+  public MavenWrapperService(MavenWrapperDistributionStore distributionStore) {
+    this.distributionStore = distributionStore;
   }
 
-  /**
-   * Downloads the Apache Maven™ Wrapper "only-script" distribution and extracts only the necessary
-   * executable scripts ({@code mvnw} and {@code mvnw.cmd}).
-   *
-   * <p>Debug variants ({@code mvnwDebug}, {@code mvnwDebug.cmd}) are intentionally excluded.
-   *
-   * @param projectRoot the target project root directory
-   * @throws IOException if download or extraction fails
-   */
-  private void downloadAndExtractWrapper(Path projectRoot) throws IOException {
-    logger.debug(
-        "Downloading Apache Maven™ Wrapper distribution from: {}", MAVEN_WRAPPER_DISTRIBUTION_URL);
-
-    Path tempZip = Files.createTempFile("maven-wrapper-", ".zip");
-
-    try (InputStream in = URI.create(MAVEN_WRAPPER_DISTRIBUTION_URL).toURL().openStream()) {
-      Files.copy(in, tempZip, StandardCopyOption.REPLACE_EXISTING);
-    }
-
-    try (FileSystem zipFileSystem =
-        FileSystems.newFileSystem(URI.create("jar:" + tempZip.toUri()), Collections.emptyMap())) {
-      Path zipRoot = zipFileSystem.getPath("/");
-
-      // Extract Unix wrapper script
-      Path mvnwSource = zipRoot.resolve("mvnw");
-      if (Files.exists(mvnwSource)) {
-        Path mvnwTarget = projectRoot.resolve("mvnw");
-        Files.copy(mvnwSource, mvnwTarget, StandardCopyOption.REPLACE_EXISTING);
-        setExecutablePermissions(mvnwTarget);
-      }
-
-      // Extract Windows wrapper script
-      Path mvnwCmdSource = zipRoot.resolve("mvnw.cmd");
-      if (Files.exists(mvnwCmdSource)) {
-        Path mvnwCmdTarget = projectRoot.resolve("mvnw.cmd");
-        Files.copy(mvnwCmdSource, mvnwCmdTarget, StandardCopyOption.REPLACE_EXISTING);
-      }
-    } finally {
-      Files.deleteIfExists(tempZip);
-    }
+  /** Loads the wrapper distribution before the first project is generated. */
+  @PostConstruct
+  void preload() {
+    distributionStore.preload(DISTRIBUTION, DEFAULT_DOWNLOAD_TIMEOUT);
   }
 
   /**
-   * Creates the {@code maven-wrapper.properties} file in the {@code .mvn/wrapper} directory.
+   * Adds the Apache Maven™ Wrapper files to the tree of a project, giving up if the distribution
+   * cannot be loaded within the given time. The distribution is only downloaded on its first use,
+   * after that its files are copied from memory.
    *
-   * <p>Configures the wrapper to use the "only-script" distribution type and points to the official
-   * Apache Maven™ binary distribution.
+   * <p>This adds the {@code mvnw} and {@code mvnw.cmd} scripts and the {@code
+   * .mvn/wrapper/maven-wrapper.properties} with the distribution URL. Uses the "only-script"
+   * distribution type, which avoids including {@code maven-wrapper.jar} and downloads Maven
+   * directly on first use. In offline mode the distribution is read from the local repository
+   * instead.
    *
-   * @param wrapperDir the {@code .mvn/wrapper} directory
-   * @throws IOException if writing the properties file fails
-   */
-  private void createWrapperProperties(Path wrapperDir) throws IOException {
-    Path propertiesFile = wrapperDir.resolve("maven-wrapper.properties");
-    String propertiesContent =
-        "wrapperVersion="
-            + MAVEN_WRAPPER_VERSION
-            + "\n"
-            + "distributionType=only-script\n"
-            + "distributionUrl="
-            + MAVEN_DISTRIBUTION_URL
-            + "\n";
-
-    Files.writeString(propertiesFile, propertiesContent);
-    logger.debug("Created maven-wrapper.properties at: {}", propertiesFile);
-  }
-
-  /**
-   * Sets executable permissions on a file.
-   *
-   * @param filePath the file to make executable
-   * @throws IOException if setting permissions fails
+   * @param tree the files of the generated project
+   * @param downloadTimeout the maximum time for downloading the wrapper distribution
+   * @throws MavenWrapperTimeoutException if the download did not finish in time
+   * @throws MavenWrapperUnavailableException if in offline mode the distribution is not in the
+   *     local repository
+   * @throws MavenWrapperException if adding the Apache Maven™ Wrapper fails due to I/O or network
+   *     issues, or the distribution does not match its SHA-512
+   * @throws IllegalArgumentException if tree is null
    */
-  private void setExecutablePermissions(Path filePath) throws IOException {
-    try {
-      Set<PosixFilePermission> perms = Files.getPosixFilePermissions(filePath);
-      perms.add(PosixFilePermission.OWNER_EXECUTE);
-      perms.add(PosixFilePermission.GROUP_EXECUTE);
-      perms.add(PosixFilePermission.OTHERS_EXECUTE);
-      Files.setPosixFilePermissions(filePath, perms);
-    } catch (UnsupportedOperationException e) {
-      boolean success = filePath.toFile().setExecutable(true, false);
-      if (!success) {
-        logger.warn("Failed to set executable permission for {}", filePath);
-      }
+  public void addMavenWrapper(ProjectTree tree, Duration downloadTimeout) {
+    if (tree == null) {
+      throw new IllegalArgumentException("Project tree cannot be null");
     }
+    logger.info("Adding Apache Maven™ Wrapper to project");
+    distributionStore.get(DISTRIBUTION, downloadTimeout).copyTo(tree);
+    logger.info("Apache Maven™ Wrapper added successfully");
   }
 }
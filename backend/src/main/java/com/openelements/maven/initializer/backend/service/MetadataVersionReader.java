@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactVersionMatcher;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+
+/**
+ * Selects the newest eligible version from a {@code maven-metadata.xml} in a single streaming pass.
+ *
+ * <p>Unlike building a document or metadata model, the reader never holds more than the current
+ * candidate: each {@code versioning/versions/version} entry is parsed, compared with the newest
+ * version seen so far and dropped. Candidates that are not newer are rejected before the matcher is
+ * consulted.
+ */
+public final class MetadataVersionReader {
+
+  private static final GenericVersionScheme VERSION_SCHEME = new GenericVersionScheme();
+  private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+  private static final int VERSIONING_DEPTH = 2;
+  private static final int VERSIONS_DEPTH = 3;
+  private static final int VERSION_DEPTH = 4;
+
+  private MetadataVersionReader() {}
+
+  /**
+   * Reads the newest version accepted by the matcher, using Maven version ordering.
+   *
+   * @param metadataXml the {@code maven-metadata.xml} document; not closed by this method
+   * @param matcher decides which versions are eligible
+   * @return the newest eligible version, or {@code null} if there is none
+   * @throws IOException if the document cannot be parsed
+   */
+  public static String newestVersion(InputStream metadataXml, ArtifactVersionMatcher matcher)
+      throws IOException {
+    Version[] newest = new Version[1];
+    readVersions(metadataXml, text -> newest[0] = newer(newest[0], text, matcher));
+    return newest[0] != null ? newest[0].toString() : null;
+  }
+
+  /**
+   * Passes every {@code versioning/versions/version} entry to the consumer, in document order.
+   *
+   * @param metadataXml the {@code maven-metadata.xml} document; not closed by this method
+   * @param consumer receives each version, trimmed
+   * @throws IOException if the document cannot be parsed
+   */
+  public static void readVersions(InputStream metadataXml, Consumer<String> consumer)
+      throws IOException {
+    XMLStreamReader reader = null;
+    try {
+      reader = XML_INPUT_FACTORY.createXMLStreamReader(metadataXml);
+      int depth = 0;
+      boolean inVersioning = false;
+      boolean inVersions = false;
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          depth++;
+          String name = reader.getLocalName();
+          if (depth == VERSIONING_DEPTH && "versioning".equals(name)) {
+            inVersioning = true;
+          } else if (inVersioning && depth == VERSIONS_DEPTH && "versions".equals(name)) {
+            inVersions = true;
+          } else if (inVersions && depth == VERSION_DEPTH && "version".equals(name)) {
+            // Consumes the element up to and including its end tag
+            consumer.accept(reader.getElementText().trim());
+            depth--;
+          }
+        } else if (event == XMLStreamConstants.END_ELEMENT) {
+          if (depth == VERSIONS_DEPTH) {
+            inVersions = false;
+          } else if (depth == VERSIONING_DEPTH) {
+            inVersioning = false;
+          }
+          depth--;
+        }
+      }
+    } catch (XMLStreamException e) {
+      throw new IOException("Invalid maven-metadata.xml", e);
+    } finally {
+      close(reader);
+    }
+  }
+
+  private static Version newer(Version newest, String text, ArtifactVersionMatcher matcher) {
+    Version candidate;
+    try {
+      candidate = VERSION_SCHEME.parseVersion(text);
+    } catch (InvalidVersionSpecificationException e) {
+      return newest;
+    }
+    if (newest != null && candidate.compareTo(newest) <= 0) {
+      return newest;
+    }
+    return matcher.test(candidate) ? candidate : newest;
+  }
+
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    return factory;
+  }
+
+  private static void close(XMLStreamReader reader) {
+    if (reader != null) {
+      try {
+        reader.close();
+      } catch (XMLStreamException e) {
+        // Nothing left to read
+      }
+    }
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import eu.maveniverse.maven.toolbox.shared.ArtifactVersionMatcher;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the newest version of an artifact by reading its {@code maven-metadata.xml} directly
+ * from the remote repository, bypassing the resolver stack and the local repository.
+ *
+ * <p>The {@code ETag} and {@code Last-Modified} validators of every fetched metadata file are kept
+ * together with the version derived from it. Later lookups are sent as conditional requests, and a
+ * {@code 304 Not Modified} answer reuses the remembered version without transferring the file
+ * again. The fast path is disabled in offline mode.
+ *
+ * <p>For selection policies beyond "newest", the complete version list is kept as a {@link
+ * VersionIndex} per artifact. Validators and indexes are kept for as many artifacts as the version
+ * cache holds, the least recently used are dropped first.
+ */
+@Component
+@ConditionalOnExpression(
+    "${initializer.version-resolution.metadata.enabled:false}"
+        + " and !${initializer.offline.enabled:false}")
+public class MetadataVersionResolver {
+
+  private static final Logger logger = LoggerFactory.getLogger(MetadataVersionResolver.class);
+
+  /** A directory listing entry such as {@code <a href="1.0.0/">1.0.0/</a> 2025-01-01 12:00}. */
+  private static final Pattern LISTING_ENTRY =
+      Pattern.compile(
+          "<a href=\"([^\"/?]+)/\"[^>]*>[^<]*</a>\\s+(\\d{4}-\\d{2}-\\d{2} \\d{2}:\\d{2})");
+
+  private static final DateTimeFormatter LISTING_DATE =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm", Locale.ROOT);
+
+  /** The validators of a fetched metadata file and the newest version derived from it. */
+  private record CachedMetadata(String etag, String lastModified, String newestVersion) {}
+
+  /** The validators of a fetched metadata file and the version index built from it. */
+  private record CachedIndex(
+      String etag, String lastModified, VersionIndex index, long fetchedAt) {}
+
+  private final HttpClient httpClient;
+  private final String repositoryUrl;
+  private final Duration requestTimeout;
+  private final Duration indexTtl;
+  private final Map<URI, CachedMetadata> metadata;
+  private final Map<URI, CachedIndex> indexes;
+
+  public MetadataVersionResolver(
+      HttpClient httpClient,
+      @Value(
+              "${initializer.version-resolution.metadata.repository-url:https://repo.maven.apache.org/maven2}")
+          String repositoryUrl,
+      @Value("${initializer.version-resolution.metadata.request-timeout:5s}")
+          Duration requestTimeout,
+      @Value("${initializer.version-resolution.metadata.index-ttl:1h}") Duration indexTtl,
+      @Value("${initializer.version-cache.max-size:512}") int maxArtifacts) {
+    this.httpClient = httpClient;
+    this.repositoryUrl =
+        repositoryUrl.endsWith("/")
+            ? repositoryUrl.substring(0, repositoryUrl.length() - 1)
+            : repositoryUrl;
+    this.requestTimeout = requestTimeout;
+    this.indexTtl = indexTtl;
+    this.metadata = BoundedMaps.lru(maxArtifacts);
+    this.indexes = BoundedMaps.lru(maxArtifacts);
+  }
+
+  /**
+   * Finds the newest version of an artifact that is accepted by the given matcher.
+   *
+   * <p>The remembered version of a metadata file is only valid for the matcher it was computed
+   * with, so callers must always pass the same matcher.
+   *
+   * @param coordinate the artifact to resolve; the extension is irrelevant for metadata
+   * @param matcher decides which versions are eligible
+   * @return the newest eligible version, or empty if the repository does not know the artifact or
+   *     lists no eligible version
+   * @throws IOException if the repository cannot be reached or answers with an error
+   */
+  public Optional<String> findNewestVersion(
+      ArtifactCoordinate coordinate, ArtifactVersionMatcher matcher) throws IOException {
+    URI uri = metadataUri(coordinate);
+    CachedMetadata cached = metadata.get(uri);
+    HttpResponse<InputStream> response =
+        sendConditional(
+            uri,
+            cached != null ? cached.etag() : null,
+            cached != null ? cached.lastModified() : null);
+    try (InputStream body = response.body()) {
+      if (response.statusCode() == 304 && cached != null) {
+        logger.debug("Metadata of {} not modified -> {}", coordinate, cached.newestVersion());
+        return Optional.ofNullable(cached.newestVersion());
+      }
+      if (isNotFound(response.statusCode())) {
+        logger.debug("No metadata for {} at {}", coordinate, uri);
+        return Optional.empty();
+      }
+      if (response.statusCode() != 200) {
+        throw new IOException("Fetching " + uri + " returned status " + response.statusCode());
+      }
+      String newestVersion = MetadataVersionReader.newestVersion(body, matcher);
+      metadata.put(
+          uri,
+          new CachedMetadata(
+              response.headers().firstValue("ETag").orElse(null),
+              response.headers().firstValue("Last-Modified").orElse(null),
+              newestVersion));
+      logger.debug("Resolved latest version {} from metadata -> {}", coordinate, newestVersion);
+      return Optional.ofNullable(newestVersion);
+    }
+  }
+
+  /**
+   * Returns the index of all published versions of an artifact.
+   *
+   * <p>An index is served from memory for the configured index time-to-live and then revalidated
+   * with a conditional request. When the metadata changed, the publication dates of the versions
+   * are read from the repository's directory listing where the repository offers one.
+   *
+   * @param coordinate the artifact; the extension is irrelevant for metadata
+   * @param matcher decides which versions are eligible; callers must always pass the same matcher
+   * @return the version index, or empty if the repository does not know the artifact
+   * @throws IOException if the repository cannot be reached or answers with an error
+   */
+  public Optional<VersionIndex> findVersionIndex(
+      ArtifactCoordinate coordinate, ArtifactVersionMatcher matcher) throws IOException {
+    URI uri = metadataUri(coordinate);
+    CachedIndex cached = indexes.get(uri);
+    long now = System.nanoTime();
+    if (cached != null && now - cached.fetchedAt() < indexTtl.toNanos()) {
+      return Optional.of(cached.index());
+    }
+    HttpResponse<InputStream> response =
+        sendConditional(
+            uri,
+            cached != null ? cached.etag() : null,
+            cached != null ? cached.lastModified() : null);
+    try (InputStream body = response.body()) {
+      if (response.statusCode() == 304 && cached != null) {
+        indexes.put(
+            uri, new CachedIndex(cached.etag(), cached.lastModified(), cached.index(), now));
+        return Optional.of(cached.index());
+      }
+      if (isNotFound(response.statusCode())) {
+        logger.debug("No metadata for {} at {}", coordinate, uri);
+        return Optional.empty();
+      }
+      if (response.statusCode() != 200) {
+        throw new IOException("Fetching " + uri + " returned status " + response.statusCode());
+      }
+      List<String> versions = new ArrayList<>();
+      MetadataVersionReader.readVersions(body, versions::add);
+      VersionIndex index = VersionIndex.of(versions, fetchPublicationDates(coordinate), matcher);
+      indexes.put(
+          uri,
+          new CachedIndex(
+              response.headers().firstValue("ETag").orElse(null),
+              response.headers().firstValue("Last-Modified").orElse(null),
+              index,
+              now));
+      logger.debug("Indexed {} versions of {}", index.size(), coordinate);
+      return Optional.of(index);
+    }
+  }
+
+  /** The repository answered, it just has no metadata for the artifact. */
+  private static boolean isNotFound(int statusCode) {
+    return statusCode == 404 || statusCode == 410;
+  }
+
+  private HttpResponse<InputStream> sendConditional(URI uri, String etag, String lastModified)
+      throws IOException {
+    HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(requestTimeout).GET();
+    if (etag != null) {
+      request.header("If-None-Match", etag);
+    }
+    if (lastModified != null) {
+      request.header("If-Modified-Since", lastModified);
+    }
+    try {
+      return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while fetching " + uri);
+    }
+  }
+
+  /**
+   * @return the publication dates from the directory listing, or an empty map if there is none
+   */
+  private Map<String, Instant> fetchPublicationDates(ArtifactCoordinate coordinate)
+      throws InterruptedIOException {
+    URI uri = URI.create(artifactUrl(coordinate) + "/");
+    try {
+      HttpResponse<String> response =
+          httpClient.send(
+              HttpRequest.newBuilder(uri).timeout(requestTimeout).GET().build(),
+              HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() == 200) {
+        return parsePublicationDates(response.body());
+      }
+      logger.debug("Fetching {} returned status {}", uri, response.statusCode());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while fetching " + uri);
+    } catch (IOException e) {
+      logger.debug("No directory listing for {}", coordinate, e);
+    }
+    return Map.of();
+  }
+
+  /**
+   * Reads the modification times of the version directories from an HTML directory listing, as
+   * served by Maven Central and most repository managers.
+   *
+   * @param listing the HTML of the artifact directory
+   * @return the publication time per version
+   */
+  static Map<String, Instant> parsePublicationDates(String listing) {
+    Map<String, Instant> dates = new HashMap<>();
+    Matcher entry = LISTING_ENTRY.matcher(listing);
+    while (entry.find()) {
+      try {
+        dates.put(
+            entry.group(1),
+            LocalDateTime.parse(entry.group(2), LISTING_DATE).toInstant(ZoneOffset.UTC));
+      } catch (DateTimeParseException e) {
+        // Not a version directory
+      }
+    }
+    return dates;
+  }
+
+  private String artifactUrl(ArtifactCoordinate coordinate) {
+    return repositoryUrl
+        + "/"
+        + coordinate.groupId().replace('.', '/')
+        + "/"
+        + coordinate.artifactId();
+  }
+
+  private URI metadataUri(ArtifactCoordinate coordinate) {
+    return URI.create(artifactUrl(coordinate) + "/maven-metadata.xml");
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.config.OfflineProperties;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the configured offline catalog file at startup, so that every catalog artifact is
+ * answered without any lookup. Artifacts missing from the file are looked up in the local
+ * repository only.
+ */
+@Component
+@ConditionalOnProperty(prefix = "initializer.offline", name = "enabled", havingValue = "true")
+public class OfflineCatalogLoader {
+
+  private static final Logger logger = LoggerFactory.getLogger(OfflineCatalogLoader.class);
+
+  private final OfflineProperties offlineProperties;
+  private final ArtifactVersionService artifactVersionService;
+
+  public OfflineCatalogLoader(
+      OfflineProperties offlineProperties, ArtifactVersionService artifactVersionService) {
+    this.offlineProperties = offlineProperties;
+    this.artifactVersionService = artifactVersionService;
+  }
+
+  /**
+   * @throws IllegalStateException if a catalog file is configured but cannot be read, so that a
+   *     misconfigured offline instance fails at startup instead of serving fallback versions
+   */
+  @PostConstruct
+  void load() {
+    Path catalogFile = offlineProperties.catalogFile();
+    if (catalogFile == null) {
+      logger.info("Offline mode without catalog file, resolving from the local repository only");
+      return;
+    }
+    try (Reader reader = Files.newBufferedReader(catalogFile, StandardCharsets.UTF_8)) {
+      VersionCatalog catalog =
+          VersionCatalogFile.read(reader, Files.getLastModifiedTime(catalogFile).toInstant());
+      artifactVersionService.publishCatalog(catalog);
+      logger.info(
+          "Offline mode, serving {} versions from {}", catalog.entries().size(), catalogFile);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalStateException("Cannot read offline version catalog " + catalogFile, e);
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.ResolvedVersion;
+import com.openelements.maven.initializer.backend.domain.VersionPolicy;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the versions of all artifacts a request needs concurrently, so that a cold cache costs
+ * the time of the slowest lookup instead of the sum of all lookups.
+ *
+ * <p>Every lookup runs on its own virtual thread. Lookups that do not finish within the deadline
+ * are answered with the best version known without a repository lookup (cached, last known good or
+ * fallback); they keep running in the background so their result still ends up in the cache for the
+ * next request.
+ */
+@Component
+public class ParallelVersionResolver {
+
+  private static final Logger logger = LoggerFactory.getLogger(ParallelVersionResolver.class);
+
+  /**
+   * The versions of one resolution run.
+   *
+   * @param versions the resolved version and its source per artifact, in request order
+   * @param timedOut the artifacts whose lookup did not finish within the deadline
+   */
+  public record Resolution(
+      Map<ArtifactCoordinate, ResolvedVersion> versions, Set<ArtifactCoordinate> timedOut) {
+
+    /**
+     * @return true, if a lookup timed out or a fallback version is used
+     */
+    public boolean isDegraded() {
+      return !timedOut.isEmpty()
+          || versions.values().stream().anyMatch(ResolvedVersion::isFallback);
+    }
+  }
+
+  private final ArtifactVersionService artifactVersionService;
+  private final Duration deadline;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public ParallelVersionResolver(
+      ArtifactVersionService artifactVersionService,
+      @Value("${initializer.version-resolution.deadline:10s}") Duration deadline) {
+    this.artifactVersionService = artifactVersionService;
+    this.deadline = deadline;
+  }
+
+  /**
+   * @return the configured upper bound for one resolution run
+   */
+  public Duration deadline() {
+    return deadline;
+  }
+
+  /**
+   * Resolves the latest versions of the given artifacts within the configured deadline.
+   *
+   * @param coordinates the artifacts to resolve; duplicates are resolved once
+   * @return the resolved versions
+   */
+  public Resolution resolveAll(Collection<ArtifactCoordinate> coordinates) {
+    return resolveAll(coordinates, deadline);
+  }
+
+  /**
+   * Resolves the latest versions of the given artifacts within the given deadline.
+   *
+   * @param coordinates the artifacts to resolve; duplicates are resolved once
+   * @param deadline the maximum time to wait for all lookups together
+   * @return the resolved versions
+   */
+  public Resolution resolveAll(Collection<ArtifactCoordinate> coordinates, Duration deadline) {
+    return resolveAll(coordinates, VersionPolicy.newest(), deadline);
+  }
+
+  /**
+   * Resolves the versions selected by the given policy within the configured deadline.
+   *
+   * @param coordinates the artifacts to resolve; duplicates are resolved once
+   * @param policy selects one of the published versions of each artifact
+   * @return the resolved versions
+   */
+  public Resolution resolveAll(Collection<ArtifactCoordinate> coordinates, VersionPolicy policy) {
+    return resolveAll(coordinates, policy, deadline);
+  }
+
+  private Resolution resolveAll(
+      Collection<ArtifactCoordinate> coordinates, VersionPolicy policy, Duration deadline) {
+    Map<ArtifactCoordinate, Future<ResolvedVersion>> lookups = new LinkedHashMap<>();
+    for (ArtifactCoordinate coordinate : new LinkedHashSet<>(coordinates)) {
+      lookups.put(coordinate, executor.submit(() -> lookup(coordinate, policy)));
+    }
+
+    long deadlineNanos = System.nanoTime() + deadline.toNanos();
+    Map<ArtifactCoordinate, ResolvedVersion> versions = new LinkedHashMap<>();
+    Set<ArtifactCoordinate> timedOut = new LinkedHashSet<>();
+    lookups.forEach(
+        (coordinate, lookup) -> {
+          ResolvedVersion version = await(coordinate, lookup, deadlineNanos);
+          if (version == null) {
+            timedOut.add(coordinate);
+            // Known versions are the newest ones, so other policies can only fall back
+            version =
+                policy instanceof VersionPolicy.Newest
+                    ? artifactVersionService.resolveWithoutLookup(coordinate)
+                    : ResolvedVersion.fallback();
+          }
+          versions.put(coordinate, version);
+        });
+    return new Resolution(versions, timedOut);
+  }
+
+  private ResolvedVersion lookup(ArtifactCoordinate coordinate, VersionPolicy policy) {
+    return policy instanceof VersionPolicy.Newest
+        ? artifactVersionService.resolve(coordinate)
+        : artifactVersionService.resolve(coordinate, policy);
+  }
+
+  /**
+   * @return the looked up version, or {@code null} if the lookup did not finish in time
+   */
+  private ResolvedVersion await(
+      ArtifactCoordinate coordinate, Future<ResolvedVersion> lookup, long deadlineNanos) {
+    try {
+      return lookup.get(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      logger.warn("Resolving {} exceeded the deadline", coordinate);
+      return null;
+    } catch (ExecutionException e) {
+      logger.warn(
+          "Resolving {} failed (using fallback {})",
+          coordinate,
+          ResolvedVersion.FALLBACK_VERSION,
+          e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return ResolvedVersion.fallback();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+}
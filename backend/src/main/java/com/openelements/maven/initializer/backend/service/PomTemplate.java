@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
+import com.openelements.maven.initializer.backend.util.XmlFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A formatted POM with slots for the values that differ between requests with the same options.
+ *
+ * <p>The template is built once with a marker in place of every value. Rendering copies the
+ * formatted text between the markers and inserts the escaped request values, which gives the same
+ * bytes as building and formatting the POM for the request.
+ */
+final class PomTemplate {
+
+  /** The per-request values of a POM. */
+  enum Slot {
+    GROUP_ID(ProjectRequestDTO::getGroupId),
+    ARTIFACT_ID(ProjectRequestDTO::getArtifactId),
+    VERSION(ProjectRequestDTO::getVersion),
+    NAME(ProjectRequestDTO::getName),
+    DESCRIPTION(ProjectRequestDTO::getDescription),
+    JAVA_VERSION(ProjectRequestDTO::getJavaVersion);
+
+    private static final Slot[] SLOTS = values();
+
+    private final Function<ProjectRequestDTO, String> accessor;
+
+    Slot(Function<ProjectRequestDTO, String> accessor) {
+      this.accessor = accessor;
+    }
+
+    String value(ProjectRequestDTO request) {
+      return accessor.apply(request);
+    }
+
+    /**
+     * @return the text that stands in for the value while the template is built
+     */
+    String marker() {
+      return String.valueOf(MARKER) + ordinal() + MARKER;
+    }
+  }
+
+  /** A private use character, it is never part of a generated POM. */
+  private static final char MARKER = '\uE000';
+
+  private final String[] segments;
+  private final Slot[] slots;
+  private final int length;
+
+  private PomTemplate(String[] segments, Slot[] slots) {
+    this.segments = segments;
+    this.slots = slots;
+    int total = 0;
+    for (String segment : segments) {
+      total += segment.length();
+    }
+    this.length = total;
+  }
+
+  /**
+   * Splits a formatted POM at the slot markers.
+   *
+   * @param formattedPom a POM built with {@link Slot#marker()} for every value
+   * @return the template
+   */
+  static PomTemplate compile(String formattedPom) {
+    List<String> segments = new ArrayList<>();
+    List<Slot> slots = new ArrayList<>();
+    int start = 0;
+    int markerStart;
+    while ((markerStart = formattedPom.indexOf(MARKER, start)) >= 0) {
+      int markerEnd = formattedPom.indexOf(MARKER, markerStart + 1);
+      if (markerEnd < 0) {
+        throw new IllegalArgumentException("Unterminated slot marker at " + markerStart);
+      }
+      segments.add(formattedPom.substring(start, markerStart));
+      slots.add(Slot.SLOTS[Integer.parseInt(formattedPom, markerStart + 1, markerEnd, 10)]);
+      start = markerEnd + 1;
+    }
+    segments.add(formattedPom.substring(start));
+    return new PomTemplate(segments.toArray(String[]::new), slots.toArray(Slot[]::new));
+  }
+
+  /**
+   * Checks whether the values of a request can be inserted into a template. Values that are missing
+   * or blank are written as empty elements, and values that XML cannot represent literally are
+   * normalized or rejected when the POM is formatted, so those requests are built in full.
+   *
+   * @param request the request
+   * @return true, if {@link #render(ProjectRequestDTO)} gives the same POM as a full build
+   */
+  static boolean canRender(ProjectRequestDTO request) {
+    for (Slot slot : Slot.SLOTS) {
+      if (!isVerbatim(slot.value(request))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Renders the POM of a request.
+   *
+   * @param request a request accepted by {@link #canRender(ProjectRequestDTO)}
+   * @return the formatted POM
+   */
+  String render(ProjectRequestDTO request) {
+    StringBuilder out = new StringBuilder(length + 256);
+    for (int i = 0; i < slots.length; i++) {
+      out.append(segments[i]);
+      XmlFormatter.appendEscapedText(out, slots[i].value(request));
+    }
+    return out.append(segments[slots.length]).toString();
+  }
+
+  private static boolean isVerbatim(String value) {
+    if (value == null) {
+      return false;
+    }
+    boolean blank = true;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\r' || c == 0xFFFE || c == 0xFFFF || c < 0x20 && c != '\t' && c != '\n') {
+        return false;
+      }
+      if (Character.isHighSurrogate(c)
+          && i + 1 < value.length()
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        i++;
+      } else if (Character.isSurrogate(c)) {
+        return false;
+      }
+      blank &= c == ' ' || c == '\t' || c == '\n';
+    }
+    return !blank;
+  }
+}
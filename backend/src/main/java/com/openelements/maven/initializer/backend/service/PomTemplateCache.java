@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.AssertionLibrary;
+import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps one {@link PomTemplate} per combination of POM options.
+ *
+ * <p>A template is only valid for the versions it was built with. When the resolved versions
+ * change, for example after the version catalog was refreshed, the template of that combination is
+ * built again on its next use. The number of entries is bounded by the number of option
+ * combinations.
+ */
+class PomTemplateCache {
+
+  /** The request options that change the structure of the POM. */
+  record Options(
+      boolean includeSpotless, boolean includeCheckstyle, AssertionLibrary assertionLibrary) {
+
+    static Options of(ProjectRequestDTO request) {
+      return new Options(
+          request.isIncludeSpotless(),
+          request.isIncludeCheckstyle(),
+          request.getAssertionLibrary());
+    }
+  }
+
+  private record Entry(Map<ArtifactCoordinate, String> versions, PomTemplate template) {}
+
+  private final Map<Options, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the template for the given options and versions, building it if there is none yet or
+   * the cached one was built with other versions.
+   *
+   * @param options the options of the request
+   * @param versions the version written into the POM per artifact
+   * @param builder formats the POM with {@link PomTemplate.Slot#marker()} for every value
+   * @return the template
+   */
+  PomTemplate get(
+      Options options, Map<ArtifactCoordinate, String> versions, Supplier<String> builder) {
+    Entry entry = entries.get(options);
+    if (entry == null || !entry.versions().equals(versions)) {
+      entry = new Entry(Map.copyOf(versions), PomTemplate.compile(builder.get()));
+      entries.put(options, entry);
+    }
+    return entry.template();
+  }
+
+  int size() {
+    return entries.size();
+  }
+}
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.config.ArchiveCacheProperties;
+import com.openelements.maven.initializer.backend.domain.ArchiveKey;
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Keeps the most recently used generated archives, so that repeated requests for the same project
+ * are answered without generating it again.
+ *
+ * <p>Archives are keyed by the {@link ArchiveKey} of their request, which includes the id of the
+ * served version catalog; after a refresh with new versions, requests get new keys and the old
+ * archives age out. The key only covers versions from the catalog, so requests with artifacts the
+ * catalog has no version for get no key, and only archives whose versions all came from the catalog
+ * are cached, see {@link
+ * com.openelements.maven.initializer.backend.domain.ProjectGenerationResult#isDeterminedByCatalog()}.
+ * The cache is bounded by the total bytes of its archives and evicts the least recently used ones
+ * first.
+ *
+ * <p>Meters:
+ *
+ * <ul>
+ *   <li>{@code initializer.archive.cache}: lookups, tagged by {@code result} hit or miss
+ *   <li>{@code initializer.archive.cache.hit.ratio}: share of lookups answered from the cache
+ *   <li>{@code initializer.archive.cache.size}: bytes of all cached archives
+ *   <li>{@code initializer.archive.cache.entries}: number of cached archives
+ *   <li>{@code initializer.archive.cache.evictions}: archives evicted to stay within the size
+ * </ul>
+ */
+@Component
+public class ProjectArchiveCache {
+
+  private record CatalogId(VersionCatalog catalog, String id) {}
+
+  private final ArtifactVersionService artifactVersionService;
+  private final boolean enabled;
+  private final long maxBytes;
+  private final long maxEntryBytes;
+  private final Duration httpMaxAge;
+  private final Map<ArchiveKey, byte[]> archives = new LinkedHashMap<>(16, 0.75f, true);
+  private final Counter hits;
+  private final Counter misses;
+  private long bytes;
+  private long evictions;
+  private volatile CatalogId catalogId;
+
+  public ProjectArchiveCache(
+      ArchiveCacheProperties properties,
+      ArtifactVersionService artifactVersionService,
+      MeterRegistry registry) {
+    this.artifactVersionService = artifactVersionService;
+    this.enabled = properties.enabled();
+    this.maxBytes = properties.maxSize().toBytes();
+    this.maxEntryBytes = Math.min(properties.maxEntrySize().toBytes(), maxBytes);
+    this.httpMaxAge = properties.httpMaxAge();
+    this.hits = lookupCounter(registry, "hit");
+    this.misses = lookupCounter(registry, "miss");
+    Gauge.builder("initializer.archive.cache.hit.ratio", this, ProjectArchiveCache::hitRatio)
+        .description("Share of archive lookups answered from the cache")
+        .register(registry);
+    Gauge.builder("initializer.archive.cache.size", this, ProjectArchiveCache::bytes)
+        .description("Bytes of all cached archives")
+        .baseUnit("bytes")
+        .register(registry);
+    Gauge.builder("initializer.archive.cache.entries", this, ProjectArchiveCache::size)
+        .description("Number of cached archives")
+        .register(registry);
+    FunctionCounter.builder(
+            "initializer.archive.cache.evictions", this, ProjectArchiveCache::evictions)
+        .description("Archives evicted to stay within the cache size")
+        .register(registry);
+  }
+
+  /**
+   * Computes the key of a request for the currently served version catalog. Requests with an
+   * artifact the catalog has no version for get no key, since that version may change while the
+   * catalog stays the same.
+   *
+   * @param request the request, before it is changed by the generation
+   * @param artifacts the artifacts whose versions the project of the request needs
+   * @return the key of the archive of the request, or {@code null} if the catalog lacks a version
+   *     of the artifacts
+   */
+  public ArchiveKey key(ProjectRequestDTO request, Collection<ArtifactCoordinate> artifacts) {
+    VersionCatalog catalog = artifactVersionService.currentCatalog();
+    if (!artifacts.stream().allMatch(artifact -> catalog.entry(artifact).isPresent())) {
+      return null;
+    }
+    return ArchiveKey.of(request, catalogId(catalog));
+  }
+
+  /**
+   * Checks whether a key still belongs to the served version catalog. A project generated after its
+   * key was computed used the catalog that was served at that time, which a refresh may have
+   * replaced in between.
+   *
+   * @param key the key of the archive
+   * @return true, if the catalog the key was computed for is still served
+   */
+  public boolean isCurrent(ArchiveKey key) {
+    return key.catalogSnapshotId().equals(catalogId(artifactVersionService.currentCatalog()));
+  }
+
+  private String catalogId(VersionCatalog catalog) {
+    CatalogId current = catalogId;
+    if (current == null || current.catalog() != catalog) {
+      current = new CatalogId(catalog, catalog.snapshotId());
+      catalogId = current;
+    }
+    return current.id();
+  }
+
+  /**
+   * @param key the key of the archive
+   * @return the cached archive, or {@code null} if it is not cached
+   */
+  public byte[] get(ArchiveKey key) {
+    if (!enabled) {
+      return null;
+    }
+    byte[] archive;
+    synchronized (this) {
+      archive = archives.get(key);
+    }
+    (archive == null ? misses : hits).increment();
+    return archive;
+  }
+
+  /**
+   * Caches an archive, evicting the least recently used archives as needed. Archives larger than
+   * the maximum entry size are not cached.
+   *
+   * @param key the key of the archive
+   * @param archive the archive, which must not be modified afterwards
+   */
+  public void put(ArchiveKey key, byte[] archive) {
+    if (!enabled || archive.length > maxEntryBytes) {
+      return;
+    }
+    synchronized (this) {
+      byte[] previous = archives.put(key, archive);
+      bytes += archive.length - (previous == null ? 0 : previous.length);
+      Iterator<byte[]> eldest = archives.values().iterator();
+      while (bytes > maxBytes) {
+        bytes -= eldest.next().length;
+        eldest.remove();
+        evictions++;
+      }
+    }
+  }
+
+  /**
+   * Wraps the body of a response so that the archive it writes is cached once it was written
+   * completely. The copy for the cache is dropped as soon as it outgrows the maximum entry size,
+   * and nothing is cached if writing the body fails.
+   *
+   * @param key the key of the archive
+   * @param body writes the archive
+   * @return the response body
+   */
+  public StreamingResponseBody caching(ArchiveKey key, StreamingResponseBody body) {
+    if (!enabled) {
+      return body;
+    }
+    return out -> {
+      BoundedCopy copy = new BoundedCopy(maxEntryBytes);
+      // An exception leaves this method before the incomplete archive is cached
+      body.writeTo(new TeeOutputStream(out, copy));
+      if (!copy.isOverflowed()) {
+        put(key, copy.toByteArray());
+      }
+    };
+  }
+
+  /** Collects the bytes written to it until they exceed a limit, then drops them. */
+  private static final class BoundedCopy extends ByteArrayOutputStream {
+
+    private final long limit;
+    private boolean overflowed;
+
+    BoundedCopy(long limit) {
+      this.limit = limit;
+    }
+
+    @Override
+    public synchronized void write(int b) {
+      if (fits(1)) {
+        super.write(b);
+      }
+    }
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+      if (fits(len)) {
+        super.write(b, off, len);
+      }
+    }
+
+    private boolean fits(int len) {
+      if (!overflowed && count + (long) len > limit) {
+        overflowed = true;
+        buf = new byte[0];
+        count = 0;
+      }
+      return !overflowed;
+    }
+
+    synchronized boolean isOverflowed() {
+      return overflowed;
+    }
+  }
+
+  /**
+   * @return how long HTTP caches may reuse a downloaded archive before revalidating it
+   */
+  public Duration httpMaxAge() {
+    return httpMaxAge;
+  }
+
+  /**
+   * @return the bytes of all cached archives
+   */
+  public synchronized long bytes() {
+    return bytes;
+  }
+
+  /**
+   * @return the number of cached archives
+   */
+  public synchronized int size() {
+    return archives.size();
+  }
+
+  private synchronized long evictions() {
+    return evictions;
+  }
+
+  private double hitRatio() {
+    double lookups = hits.count() + misses.count();
+    return lookups == 0 ? Double.NaN : hits.count() / lookups;
+  }
+
+  private static Counter lookupCounter(MeterRegistry registry, String result) {
+    return Counter.builder("initializer.archive.cache")
+        .description("Archive lookups answered by the cache")
+        .tag("result", result)
+        .register(registry);
+  }
+}
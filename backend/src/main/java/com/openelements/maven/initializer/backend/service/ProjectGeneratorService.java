@@ -18,83 +18,94 @@
  */
 package com.openelements.maven.initializer.backend.service;
 
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
 import com.openelements.maven.initializer.backend.domain.AssertionLibrary;
-import com.openelements.maven.initializer.backend.domain.DependencyType;
+import com.openelements.maven.initializer.backend.domain.CatalogArtifacts;
+import com.openelements.maven.initializer.backend.domain.Deadline;
+import com.openelements.maven.initializer.backend.domain.DeflatedContent;
+import com.openelements.maven.initializer.backend.domain.GenerationStage;
 import com.openelements.maven.initializer.backend.domain.MavenDependency;
 import com.openelements.maven.initializer.backend.domain.MavenPlugin;
 import com.openelements.maven.initializer.backend.domain.ProjectGenerationResult;
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
+import com.openelements.maven.initializer.backend.domain.ResolvedVersion;
 import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
+import com.openelements.maven.initializer.backend.exception.GenerationTimeoutException;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperException;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperUnavailableException;
 import com.openelements.maven.initializer.backend.exception.ProjectServiceException;
 import com.openelements.maven.initializer.backend.util.XmlFormatter;
 import eu.maveniverse.domtrip.Element;
 import eu.maveniverse.domtrip.maven.Coordinates;
 import eu.maveniverse.domtrip.maven.MavenPomElements;
 import eu.maveniverse.domtrip.maven.PomEditor;
-import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipUtil;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Service
 public class ProjectGeneratorService {
 
   private static final Logger logger = LoggerFactory.getLogger(ProjectGeneratorService.class);
-  private final ToolboxCommando toolboxCommando;
+
+  /**
+   * Modification time of all archive entries, 1980-01-01 00:00 in MS-DOS format. The format has no
+   * time zone, so converting through it gives the same entry bytes in every time zone.
+   */
+  private static final long ENTRY_TIME = ZipUtil.dosToJavaTime(0x00210000L);
+
   private final ProjectStructureService structureService;
   private final MavenWrapperService mavenWrapperService;
-  private final ArtifactVersionService artifactVersionService;
+  private final ParallelVersionResolver versionResolver;
+  private final Duration requestBudget;
+  private final Duration archiveReserve;
+  private final PomTemplateCache pomTemplates = new PomTemplateCache();
 
   public ProjectGeneratorService(
-      ToolboxCommando toolboxCommando,
       ProjectStructureService structureService,
-      ArtifactVersionService artifactVersionService,
-      MavenWrapperService mavenWrapperService) {
-    this.toolboxCommando = toolboxCommando;
+      ParallelVersionResolver versionResolver,
+      MavenWrapperService mavenWrapperService,
+      @Value("${initializer.generation.deadline:30s}") Duration requestBudget,
+      @Value("${initializer.generation.archive-reserve:2s}") Duration archiveReserve) {
     this.structureService = structureService;
     this.mavenWrapperService = mavenWrapperService;
-    this.artifactVersionService = artifactVersionService;
+    this.versionResolver = versionResolver;
+    this.requestBudget = requestBudget;
+    this.archiveReserve = archiveReserve;
   }
 
+  private record GeneratedPom(byte[] content, boolean hasResolvedVersions, boolean fromCatalog) {}
+
   private List<MavenPlugin> fillPlugins(ProjectRequestDTO request) {
     List<MavenPlugin> pluginList =
         new ArrayList<>(
-            List.of(
-                new MavenPlugin(
-                    "org.apache.maven.plugins", "maven-clean-plugin", artifactVersionService),
-                new MavenPlugin(
-                    "org.apache.maven.plugins", "maven-compiler-plugin", artifactVersionService),
-                new MavenPlugin(
-                    "org.apache.maven.plugins", "maven-resources-plugin", artifactVersionService),
-                new MavenPlugin(
-                    "org.apache.maven.plugins", "maven-surefire-plugin", artifactVersionService),
-                new MavenPlugin(
-                    "org.apache.maven.plugins", "maven-jar-plugin", artifactVersionService),
-                new MavenPlugin(
-                    "org.apache.maven.plugins", "maven-install-plugin", artifactVersionService),
-                new MavenPlugin(
-                    "org.apache.maven.plugins", "maven-deploy-plugin", artifactVersionService),
-                new MavenPlugin("org.jacoco", "jacoco-maven-plugin", artifactVersionService)));
+            CatalogArtifacts.DEFAULT_PLUGINS.stream().map(MavenPlugin::unresolved).toList());
 
     // Add code formatting plugins if selected
     if (request.isIncludeSpotless()) {
-      pluginList.add(
-          new MavenPlugin(
-              "com.diffplug.spotless", "spotless-maven-plugin", artifactVersionService));
+      pluginList.add(MavenPlugin.unresolved(CatalogArtifacts.SPOTLESS_MAVEN_PLUGIN));
     }
     if (request.isIncludeCheckstyle()) {
-      pluginList.add(
-          new MavenPlugin(
-              "org.apache.maven.plugins", "maven-checkstyle-plugin", artifactVersionService));
+      pluginList.add(MavenPlugin.unresolved(CatalogArtifacts.MAVEN_CHECKSTYLE_PLUGIN));
     }
 
     return pluginList;
@@ -102,88 +113,188 @@ public class ProjectGeneratorService {
 
   private List<MavenDependency> fillDependencyManagement(ProjectRequestDTO request) {
     List<MavenDependency> deps = new ArrayList<>();
-    deps.add(
-        new MavenDependency("org.junit", "junit-bom", DependencyType.BOM, artifactVersionService));
+    deps.add(MavenDependency.bom(CatalogArtifacts.JUNIT_BOM));
 
     AssertionLibrary assertionLib = request.getAssertionLibrary();
     if (assertionLib == AssertionLibrary.ASSERTJ) {
-      deps.add(
-          new MavenDependency(
-              "org.assertj", "assertj-bom", DependencyType.BOM, artifactVersionService));
+      deps.add(MavenDependency.bom(CatalogArtifacts.ASSERTJ_BOM));
     }
 
     return deps;
   }
 
+  private List<MavenDependency> fillDependencies(ProjectRequestDTO request) {
+    List<MavenDependency> dependencies = new ArrayList<>();
+
+    // Always add JUnit
+    dependencies.add(MavenDependency.managedByBom("org.junit.jupiter", "junit-jupiter"));
+
+    // Add assertion library based on selection
+    AssertionLibrary assertionLib = request.getAssertionLibrary();
+    if (assertionLib == AssertionLibrary.ASSERTJ) {
+      dependencies.add(MavenDependency.managedByBom("org.assertj", "assertj-core"));
+    } else if (assertionLib == AssertionLibrary.HAMCREST) {
+      dependencies.add(MavenDependency.unresolved(CatalogArtifacts.HAMCREST));
+    }
+    // If NONE, only JUnit is added (no assertion library)
+
+    return dependencies;
+  }
+
+  /**
+   * Lists the artifacts whose versions the POM of a request needs, without resolving them.
+   *
+   * @param request the project to generate
+   * @return the artifacts, in the order they are resolved
+   */
+  public List<ArtifactCoordinate> versionedArtifacts(ProjectRequestDTO request) {
+    return collectVersionedArtifacts(
+        fillPlugins(request), fillDependencyManagement(request), fillDependencies(request));
+  }
+
+  /**
+   * Starts the time budget of a new request.
+   *
+   * @return a deadline at the configured request budget from now
+   */
+  public Deadline startDeadline() {
+    return Deadline.after(requestBudget);
+  }
+
   public ProjectGenerationResult generateProject(ProjectRequestDTO request) {
+    return generateProject(request, startDeadline());
+  }
+
+  /**
+   * Generates a project within the given deadline.
+   *
+   * <p>Required stages fail with a {@link GenerationTimeoutException} if the deadline has passed
+   * before they start. Optional stages are skipped or cut short instead and reported in {@link
+   * ProjectGenerationResult#degradedStages()}. They end the configured archive reserve before the
+   * deadline, so a project whose optional stages ran out of time can still be archived.
+   *
+   * @param request the project to generate
+   * @param deadline the deadline shared by all stages of the request
+   * @return the generated project
+   */
+  public ProjectGenerationResult generateProject(ProjectRequestDTO request, Deadline deadline) {
     logger.info("Starting project generation for: {}", request);
 
     if (request == null) {
       throw new IllegalArgumentException("ProjectRequestDTO cannot be null");
     }
+    Set<GenerationStage> degradedStages = EnumSet.noneOf(GenerationStage.class);
+
+    requireTimeLeft(deadline, GenerationStage.STRUCTURE);
+    ProjectTree tree = new ProjectTree();
+    structureService.createStructure(tree, request);
+    GeneratedPom pom = generatePom(request, deadline, degradedStages);
+    tree.add(ProjectGenerationResult.POM_PATH, pom.content());
 
-    Path projectDir = createTempDirectory(request.getArtifactId());
-    structureService.createStructure(projectDir, request);
-    boolean hasResolvedVersion = generatePomFile(projectDir, request);
+    Deadline optionalStages = deadline.earlierBy(archiveReserve);
 
     // Add Apache Maven™ Wrapper if requested
     if (request.isIncludeMavenWrapper()) {
-      mavenWrapperService.addMavenWrapper(projectDir);
+      addMavenWrapper(tree, optionalStages, degradedStages);
     }
 
     // Generate README.md
-    structureService.createReadmeFile(projectDir, request);
+    if (optionalStages.isExpired()) {
+      logger.warn("Skipping README, request deadline exceeded");
+      degradedStages.add(GenerationStage.README);
+    } else {
+      structureService.createReadmeFile(tree, request);
+    }
 
-    logger.info("Project generated successfully at: {}", projectDir);
-    return ProjectGenerationResult.create(hasResolvedVersion, projectDir.toString());
+    logger.info(
+        "Project {} generated successfully ({} files, {} bytes)",
+        request.getArtifactId(),
+        tree.files().size(),
+        tree.size());
+    return ProjectGenerationResult.create(
+        pom.hasResolvedVersions(), pom.fromCatalog(), tree, degradedStages);
   }
 
-  public byte[] createProjectZip(String projectPath) {
-    if (projectPath == null) {
-      throw new IllegalArgumentException("Project path cannot be null");
+  /**
+   * @param deadline the deadline of the optional stages, which leaves time for the archive
+   */
+  private void addMavenWrapper(
+      ProjectTree tree, Deadline deadline, Set<GenerationStage> degradedStages) {
+    if (deadline.isExpired()) {
+      logger.warn("Skipping Apache Maven™ Wrapper, request deadline exceeded");
+      degradedStages.add(GenerationStage.WRAPPER);
+      return;
+    }
+    try {
+      mavenWrapperService.addMavenWrapper(tree, deadline.remaining());
+    } catch (MavenWrapperUnavailableException e) {
+      logger.warn("Skipping Apache Maven™ Wrapper: {}", e.getMessage());
+      degradedStages.add(GenerationStage.WRAPPER);
+    } catch (MavenWrapperException e) {
+      // A corrupt or unreadable distribution must not cost the user the whole project
+      logger.error("Skipping Apache Maven™ Wrapper", e);
+      degradedStages.add(GenerationStage.WRAPPER);
     }
-    Path projectDir = Paths.get(projectPath);
-    if (!Files.exists(projectDir)) {
-      throw new ProjectServiceException("Project directory does not exist: " + projectPath, null);
+  }
+
+  private static void requireTimeLeft(Deadline deadline, GenerationStage stage) {
+    if (deadline.isExpired()) {
+      throw new GenerationTimeoutException(stage);
     }
+  }
 
-    return createZipArchive(projectDir, projectPath);
+  /**
+   * Prepares streaming the archive of a generated project to the client.
+   *
+   * <p>The deadline is checked right away, so a request that ran out of time still gets an error
+   * response. The entries are then written to the response as they are compressed, without holding
+   * the archive in memory.
+   *
+   * @param result the generated project
+   * @param deadline the deadline shared by all stages of the request
+   * @return the response body that writes the ZIP archive
+   */
+  public StreamingResponseBody streamProjectZip(ProjectGenerationResult result, Deadline deadline) {
+    requireTimeLeft(deadline, GenerationStage.ARCHIVE);
+    // The servlet container owns the response stream
+    return out -> writeZipArchive(result.tree(), CloseShieldOutputStream.wrap(out));
   }
 
-  private byte[] createZipArchive(Path projectDir, String projectPath) {
-    try {
-      ByteArrayOutputStream baos = new ByteArrayOutputStream();
-      try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(baos)) {
-        try (var fileStream = Files.walk(projectDir)) {
-          fileStream
-              .filter(Files::isRegularFile)
-              .forEach(
-                  path -> {
-                    try {
-                      Path rel = projectDir.relativize(path);
-                      ZipArchiveEntry entry = new ZipArchiveEntry(rel.toString());
-
-                      setZipEntryPermissions(entry, path);
-
-                      zos.putArchiveEntry(entry);
-                      Files.copy(path, zos);
-                      zos.closeArchiveEntry();
-                    } catch (IOException e) {
-                      logger.error("Failed to add file to ZIP: {}", path, e);
-                      throw new ProjectServiceException("Failed to add file to ZIP: " + path, e);
-                    }
-                  });
+  /**
+   * Writes the archive of a project. Archives are reproducible: the same tree always gives the same
+   * bytes, no matter when, where or in which order its files were added. Entries are sorted by
+   * path, carry a fixed timestamp and the mode of their file, and are compressed with fixed
+   * settings.
+   */
+  private void writeZipArchive(ProjectTree tree, OutputStream out) throws IOException {
+    try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(out)) {
+      zos.setMethod(ZipArchiveOutputStream.DEFLATED);
+      zos.setLevel(DeflatedContent.COMPRESSION_LEVEL);
+      for (Map.Entry<String, ProjectTree.Entry> file : new TreeMap<>(tree.files()).entrySet()) {
+        ProjectTree.Entry content = file.getValue();
+        ZipArchiveEntry entry = new ZipArchiveEntry(file.getKey());
+        entry.setTime(ENTRY_TIME);
+        entry.setUnixMode(content.mode());
+        DeflatedContent deflated = content.deflated();
+        if (deflated != null) {
+          // Static files are copied as they were compressed once, only the others cost CPU here
+          entry.setMethod(ZipArchiveEntry.DEFLATED);
+          entry.setCrc(deflated.crc());
+          entry.setSize(deflated.size());
+          entry.setCompressedSize(deflated.data().length);
+          zos.addRawArchiveEntry(entry, new ByteArrayInputStream(deflated.data()));
+        } else {
+          zos.putArchiveEntry(entry);
+          zos.write(content.content());
+          zos.closeArchiveEntry();
         }
       }
-
-      logger.info("Created ZIP for project: {} ({} bytes)", projectPath, baos.size());
-      return baos.toByteArray();
-    } catch (IOException e) {
-      throw new ProjectServiceException("Failed to create ZIP ", e);
     }
+    logger.debug(
+        "Wrote ZIP with {} files ({} bytes uncompressed)", tree.files().size(), tree.size());
   }
 
-  private String createEmptyPom(String groupId, String artifactId, String version) {
+  private PomEditor createEmptyPom(String groupId, String artifactId, String version) {
     PomEditor pomEditor = new PomEditor();
     pomEditor.createMavenDocument("project");
     pomEditor.insertMavenElement(
@@ -194,70 +305,169 @@ public class ProjectGeneratorService {
     pomEditor.insertMavenElement(
         pomEditor.root(), MavenPomElements.Elements.ARTIFACT_ID, artifactId);
     pomEditor.insertMavenElement(pomEditor.root(), MavenPomElements.Elements.VERSION, version);
-    return pomEditor.toXml();
+    return pomEditor;
   }
 
   /**
-   * @param projectDir
-   * @param request
-   * @return true, if version resolving was successful - false, if a fallback version is used
+   * Builds the POM of the project.
+   *
+   * <p>The POM is edited and formatted entirely in memory. Requests whose values can be inserted
+   * verbatim are rendered from a cached template of their option combination instead.
+   *
+   * @param request the project to generate
+   * @param deadline the request deadline; version resolution is bounded by the remaining time
+   * @param degradedStages collects {@link GenerationStage#RESOLUTION} if resolution was degraded
+   * @return the POM, whether all versions were resolved and whether all came from the catalog
    */
-  private boolean generatePomFile(Path projectDir, ProjectRequestDTO request) {
+  private GeneratedPom generatePom(
+      ProjectRequestDTO request, Deadline deadline, Set<GenerationStage> degradedStages) {
     try {
-      Path pomFile = projectDir.resolve("pom.xml");
-      String pomContent =
-          createEmptyPom(request.getGroupId(), request.getArtifactId(), request.getVersion());
-      Files.writeString(pomFile, pomContent);
-
-      List<MavenPlugin> plugins = fillPlugins(request);
-
-      try (ToolboxCommando.EditSession editSession = toolboxCommando.createEditSession(pomFile)) {
-        toolboxCommando.editPom(
-            editSession,
-            Collections.singletonList(
-                s -> {
-                  s.setPackaging("jar");
-                  s.properties()
-                      .updateProperty(true, "maven.compiler.release", request.getJavaVersion());
-                  s.properties().updateProperty(true, "project.build.sourceEncoding", "UTF-8");
-                  s.insertMavenElement(s.root(), "description", request.getDescription());
-                  s.insertMavenElement(s.root(), "name", request.getName());
-
-                  // Add dependency management
-                  addDependencyManagement(s, request);
-
-                  // Add dependencies
-                  addDependencies(s, request);
-
-                  plugins.forEach(plugin -> s.plugins().updatePlugin(true, toCoordinates(plugin)));
-
-                  // Add jacoco plugin configuration with executions
-                  addJacocoPluginConfiguration(s);
-
-                  if (request.isIncludeSpotless()) {
-                    addSpotlessPluginConfiguration(s);
-                  }
-                  if (request.isIncludeCheckstyle()) {
-                    addCheckstylePluginConfiguration(s);
-                  }
-                }));
+      // Resolve all versions up front, so the POM editing below does no repository lookups
+      ParallelVersionResolver.Resolution resolution =
+          versionResolver.resolveAll(
+              versionedArtifacts(request), deadline.remainingAtMost(versionResolver.deadline()));
+      if (resolution.isDegraded()) {
+        degradedStages.add(GenerationStage.RESOLUTION);
       }
-
-      // Format the XML properly
-      String formattedXml = XmlFormatter.formatXml(Files.readString(pomFile));
-      Files.writeString(pomFile, formattedXml);
-      return !formattedXml.contains("TODO");
+      Map<ArtifactCoordinate, ResolvedVersion> versions = resolution.versions();
+      requireTimeLeft(deadline, GenerationStage.POM);
+
+      String pom =
+          PomTemplate.canRender(request)
+              ? renderPom(request, versions)
+              : buildPom(request, versions);
+      return new GeneratedPom(
+          pom.getBytes(StandardCharsets.UTF_8),
+          versions.values().stream().noneMatch(ResolvedVersion::isFallback),
+          versions.values().stream().allMatch(ResolvedVersion::isFromCatalog));
+    } catch (GenerationTimeoutException e) {
+      throw e;
     } catch (Exception e) {
       throw new ProjectServiceException("Failed to generate POM file: " + e.getMessage(), e);
     }
   }
 
+  /**
+   * Renders the POM from the cached template of the request's options, building the template only
+   * if the options or versions changed.
+   *
+   * @param request a request accepted by {@link PomTemplate#canRender(ProjectRequestDTO)}
+   * @param versions the resolved version of every artifact in {@link #versionedArtifacts}
+   * @return the formatted POM, equal to {@link #buildPom(ProjectRequestDTO, Map)}
+   */
+  String renderPom(ProjectRequestDTO request, Map<ArtifactCoordinate, ResolvedVersion> versions) {
+    Map<ArtifactCoordinate, String> versionNumbers =
+        versions.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().version()));
+    return pomTemplates
+        .get(
+            PomTemplateCache.Options.of(request),
+            versionNumbers,
+            () -> buildPom(request, PomTemplate.Slot::marker, versions))
+        .render(request);
+  }
+
+  /**
+   * Builds and formats the POM with the values of the request.
+   *
+   * @param request the project to generate
+   * @param versions the resolved version of every artifact in {@link #versionedArtifacts}
+   * @return the formatted POM
+   */
+  String buildPom(ProjectRequestDTO request, Map<ArtifactCoordinate, ResolvedVersion> versions) {
+    return buildPom(request, slot -> slot.value(request), versions);
+  }
+
+  /**
+   * Builds and formats the POM.
+   *
+   * @param request the options of the project
+   * @param values the text written for each per-request value
+   * @param versions the resolved version of every artifact in {@link #versionedArtifacts}
+   * @return the formatted POM
+   */
+  private String buildPom(
+      ProjectRequestDTO request,
+      Function<PomTemplate.Slot, String> values,
+      Map<ArtifactCoordinate, ResolvedVersion> versions) {
+    List<MavenPlugin> plugins =
+        fillPlugins(request).stream()
+            .map(plugin -> plugin.withVersion(versions.get(plugin.coordinate())))
+            .toList();
+    List<MavenDependency> dependencyManagement =
+        fillDependencyManagement(request).stream()
+            .map(bom -> bom.withVersion(versions.get(bom.coordinate())))
+            .toList();
+    List<MavenDependency> dependencies =
+        fillDependencies(request).stream()
+            .map(
+                dependency ->
+                    dependency.isManagedByBom()
+                        ? dependency
+                        : dependency.withVersion(versions.get(dependency.coordinate())))
+            .toList();
+
+    PomEditor editor =
+        createEmptyPom(
+            values.apply(PomTemplate.Slot.GROUP_ID),
+            values.apply(PomTemplate.Slot.ARTIFACT_ID),
+            values.apply(PomTemplate.Slot.VERSION));
+    editor.setPackaging("jar");
+    editor
+        .properties()
+        .updateProperty(
+            true, "maven.compiler.release", values.apply(PomTemplate.Slot.JAVA_VERSION));
+    editor.properties().updateProperty(true, "project.build.sourceEncoding", "UTF-8");
+    editor.insertMavenElement(
+        editor.root(), "description", values.apply(PomTemplate.Slot.DESCRIPTION));
+    editor.insertMavenElement(editor.root(), "name", values.apply(PomTemplate.Slot.NAME));
+
+    // Add dependency management
+    addDependencyManagement(editor, dependencyManagement);
+
+    // Add dependencies
+    addDependencies(editor, dependencies);
+
+    plugins.forEach(plugin -> editor.plugins().updatePlugin(true, toCoordinates(plugin)));
+
+    // Add jacoco plugin configuration with executions
+    addJacocoPluginConfiguration(editor);
+
+    if (request.isIncludeSpotless()) {
+      addSpotlessPluginConfiguration(editor);
+    }
+    if (request.isIncludeCheckstyle()) {
+      addCheckstylePluginConfiguration(editor);
+    }
+
+    // Format the XML properly
+    return XmlFormatter.formatXml(editor.toXml());
+  }
+
   private Coordinates toCoordinates(MavenPlugin plugin) {
     return Coordinates.of(
         plugin.groupId(), plugin.artifactId(), plugin.version(), "", "maven-plugin");
   }
 
-  private void addDependencies(PomEditor editor, ProjectRequestDTO request) {
+  /**
+   * Collects every artifact of the POM whose version has to be resolved.
+   *
+   * @return the coordinates of all plugins, BOMs and dependencies not managed by a BOM
+   */
+  private List<ArtifactCoordinate> collectVersionedArtifacts(
+      List<MavenPlugin> plugins,
+      List<MavenDependency> dependencyManagement,
+      List<MavenDependency> dependencies) {
+    List<ArtifactCoordinate> coordinates = new ArrayList<>();
+    plugins.forEach(plugin -> coordinates.add(plugin.coordinate()));
+    dependencyManagement.forEach(bom -> coordinates.add(bom.coordinate()));
+    dependencies.stream()
+        .filter(dependency -> !dependency.isManagedByBom())
+        .forEach(dependency -> coordinates.add(dependency.coordinate()));
+    return coordinates;
+  }
+
+  private void addDependencies(PomEditor editor, List<MavenDependency> dependencies) {
     var root = editor.root();
     var depsTmp = editor.findChildElement(root, MavenPomElements.Elements.DEPENDENCIES);
 
@@ -266,25 +476,6 @@ public class ProjectGeneratorService {
     }
 
     final var deps = depsTmp;
-
-    List<MavenDependency> dependencies = new ArrayList<>();
-
-    // Always add JUnit
-    dependencies.add(
-        new MavenDependency("org.junit.jupiter", "junit-jupiter", DependencyType.JAR, null));
-
-    // Add assertion library based on selection
-    AssertionLibrary assertionLib = request.getAssertionLibrary();
-    if (assertionLib == AssertionLibrary.ASSERTJ) {
-      dependencies.add(
-          new MavenDependency("org.assertj", "assertj-core", DependencyType.JAR, null));
-    } else if (assertionLib == AssertionLibrary.HAMCREST) {
-      dependencies.add(
-          new MavenDependency(
-              "org.hamcrest", "hamcrest", DependencyType.JAR, artifactVersionService));
-    }
-    // If NONE, only JUnit is added (no assertion library)
-
     dependencies.forEach(
         dependency -> {
           var depEl = editor.insertMavenElement(deps, MavenPomElements.Elements.DEPENDENCY);
@@ -301,8 +492,8 @@ public class ProjectGeneratorService {
         });
   }
 
-  private void addDependencyManagement(PomEditor editor, ProjectRequestDTO request) {
-    List<MavenDependency> dependencyManagement = fillDependencyManagement(request);
+  private void addDependencyManagement(
+      PomEditor editor, List<MavenDependency> dependencyManagement) {
     var root = editor.root();
     var dm = editor.findChildElement(root, MavenPomElements.Elements.DEPENDENCY_MANAGEMENT);
 
@@ -395,30 +586,4 @@ public class ProjectGeneratorService {
     configurePlugin(
         editor, "org.apache.maven.plugins", "maven-checkstyle-plugin", List.of("check"), true);
   }
-
-  private Path createTempDirectory(String artifactId) {
-    try {
-      Path projectDir = Files.createTempDirectory("project-" + artifactId + "-");
-      logger.debug("Created temporary project directory at: {}", projectDir);
-      return projectDir;
-    } catch (IOException e) {
-      throw new ProjectServiceException("Failed to create temporary project directory", e);
-    }
-  }
-
-  /**
-   * Sets file permissions in ZIP entry to preserve executable permissions.
-   *
-   * @param entry the ZIP archive entry to set permissions for
-   * @param filePath the file path to check permissions from
-   */
-  private void setZipEntryPermissions(ZipArchiveEntry entry, Path filePath) {
-    try {
-      int mode = Files.isExecutable(filePath) ? 0755 : 0644;
-      entry.setUnixMode(mode);
-    } catch (Exception e) {
-      entry.setUnixMode(0644);
-      logger.debug("Using default permissions for {}", filePath);
-    }
-  }
 }
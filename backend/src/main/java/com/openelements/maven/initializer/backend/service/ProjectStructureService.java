@@ -19,11 +19,9 @@
 package com.openelements.maven.initializer.backend.service;
 
 import com.openelements.maven.initializer.backend.domain.AssertionLibrary;
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
 import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
-import com.openelements.maven.initializer.backend.exception.ProjectServiceException;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -32,98 +30,89 @@ import org.springframework.stereotype.Service;
 public class ProjectStructureService {
 
   private static final Logger logger = LoggerFactory.getLogger(ProjectStructureService.class);
+
+  private static final String GITIGNORE_CONTENT =
+      """
+      target/
+      pom.xml.tag
+      pom.xml.releaseBackup
+      pom.xml.versionsBackup
+      pom.xml.next
+      release.properties
+      dependency-reduced-pom.xml
+      buildNumber.properties
+      """;
+
+  /** The {@code .gitignore} is the same for every project, so it is compressed only once. */
+  private static final ProjectTree.Entry GITIGNORE =
+      ProjectTree.Entry.precompressed(
+          GITIGNORE_CONTENT.getBytes(StandardCharsets.UTF_8), ProjectTree.FILE_MODE);
+
   private final ResourceTemplateEngine resourceTemplateEngine;
 
   public ProjectStructureService(ResourceTemplateEngine resourceTemplateEngine) {
     this.resourceTemplateEngine = resourceTemplateEngine;
   }
 
-  public void createStructure(Path projectRoot, ProjectRequestDTO request) {
+  /**
+   * Adds the project structure, that is the {@code .gitignore} file and the sample main and test
+   * classes, to the tree of the project.
+   *
+   * @param tree the files of the project
+   * @param request the project request data
+   */
+  public void createStructure(ProjectTree tree, ProjectRequestDTO request) {
     logger.info("Creating project structure for: {}", request.getArtifactId());
 
-    try {
-      createDirectories(projectRoot, request.getGroupId(), request.getArtifactId());
-      createGitignoreFile(projectRoot);
-      createMainClass(projectRoot, request);
-      createTestClass(projectRoot, request);
+    createGitignoreFile(tree);
+    createMainClass(tree, request);
+    createTestClass(tree, request);
 
-      logger.info("✅ Project structure created successfully");
-    } catch (IOException e) {
-      throw new ProjectServiceException("Failed to create project structure", e);
-    }
+    logger.info("✅ Project structure created successfully");
   }
 
   /**
    * Creates a README.md file for the project using the JTE template engine. This method handles
-   * business logic such as setting default values and path resolution, then delegates the actual
-   * template rendering to ResourceTemplateEngine.
+   * business logic such as setting default values, then delegates the actual template rendering to
+   * ResourceTemplateEngine.
    *
-   * @param projectRoot the root directory of the project
+   * @param tree the files of the project
    * @param request the project request data
    */
-  public void createReadmeFile(Path projectRoot, ProjectRequestDTO request) {
-    try {
-      if (request.getName() == null || request.getName().isEmpty()) {
-        request.setName(request.getArtifactId());
-      }
-
-      Path readmePath = projectRoot.resolve("README.md");
-      resourceTemplateEngine.createReadmeFile(request, readmePath);
-      logger.debug("Created README.md file using jte template");
-    } catch (IOException e) {
-      throw new ProjectServiceException("Failed to create README.md file", e);
+  public void createReadmeFile(ProjectTree tree, ProjectRequestDTO request) {
+    if (request.getName() == null || request.getName().isEmpty()) {
+      request.setName(request.getArtifactId());
     }
-  }
-
-  private void createDirectories(Path root, String groupId, String artifactId) throws IOException {
-    String packagePath = groupId.replace(".", "/");
-    Path javaDir = root.resolve("src/main/java/" + packagePath);
-    Path testDir = root.resolve("src/test/java/" + packagePath);
 
-    Files.createDirectories(javaDir);
-    Files.createDirectories(testDir);
-
-    logger.debug("Created directory structure for package: {}", packagePath);
+    tree.addText("README.md", resourceTemplateEngine.renderReadme(request));
+    logger.debug("Created README.md file using jte template");
   }
 
-  private void createGitignoreFile(Path root) throws IOException {
-    String content =
-        """
-        target/
-        pom.xml.tag
-        pom.xml.releaseBackup
-        pom.xml.versionsBackup
-        pom.xml.next
-        release.properties
-        dependency-reduced-pom.xml
-        buildNumber.properties
-        """;
-    Files.writeString(root.resolve(".gitignore"), content);
+  private void createGitignoreFile(ProjectTree tree) {
+    tree.add(".gitignore", GITIGNORE);
     logger.debug("Created .gitignore file");
   }
 
-  private void createMainClass(Path root, ProjectRequestDTO request) throws IOException {
+  private void createMainClass(ProjectTree tree, ProjectRequestDTO request) {
     String pkg = request.getGroupId();
     String artifactId = request.getArtifactId();
     String className = convertToJavaClassName(artifactId);
     String packagePath = pkg.replace(".", "/");
-    Path javaDir = root.resolve("src/main/java/" + packagePath);
-    Path mainClassFile = javaDir.resolve(className + ".java");
 
     String content =
         String.format(
             """
-        package %s;
-
-        /**
-         * %s
-         */
-        public class %s {
-            public static void main(String[] args) {
-                System.out.println("Hello, %s!");
+            package %s;
+
+            /**
+             * %s
+             */
+            public class %s {
+                public static void main(String[] args) {
+                    System.out.println("Hello, %s!");
+                }
             }
-        }
-        """,
+            """,
             pkg,
             request.getDescription() != null
                 ? request.getDescription()
@@ -131,24 +120,24 @@ public class ProjectStructureService {
             className,
             className);
 
-    Files.writeString(mainClassFile, content);
+    tree.addText("src/main/java/" + packagePath + "/" + className + ".java", content);
     logger.debug("Created main class: {}", className);
   }
 
-  private void createTestClass(Path root, ProjectRequestDTO request) throws IOException {
+  private void createTestClass(ProjectTree tree, ProjectRequestDTO request) {
     String pkg = request.getGroupId();
     String artifactId = request.getArtifactId();
     String className = convertToJavaClassName(artifactId);
     String packagePath = pkg.replace(".", "/");
-    Path testDir = root.resolve("src/test/java/" + packagePath);
-    Path testClassFile = testDir.resolve(className + "Test.java");
 
     // Ensure default assertion library is set
     if (request.getAssertionLibrary() == null) {
       request.setAssertionLibrary(AssertionLibrary.NONE);
     }
 
-    resourceTemplateEngine.createTestClass(request, className, testClassFile);
+    tree.addText(
+        "src/test/java/" + packagePath + "/" + className + "Test.java",
+        resourceTemplateEngine.renderTestClass(request, className));
     logger.debug(
         "Created sample test class: {}Test with assertion library: {}",
         className,
@@ -21,10 +21,7 @@ package com.openelements.maven.initializer.backend.service;
 import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
 import gg.jte.ContentType;
 import gg.jte.TemplateEngine;
-import gg.jte.output.FileOutput;
-import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.file.Path;
+import gg.jte.output.StringOutput;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,32 +39,29 @@ public class ResourceTemplateEngine {
   }
 
   /**
-   * Renders the README.md template to the specified file path. This is a low-level template
-   * rendering method that handles the technical aspects of template compilation and rendering.
+   * Renders the README.md template. This is a low-level template rendering method that handles the
+   * technical aspects of template compilation and rendering.
    *
    * @param data the project data to render in the template
-   * @param filePath the target file path where the rendered content will be written
-   * @throws IOException if file writing fails
+   * @return the rendered README.md
    */
-  public void createReadmeFile(ProjectRequestDTO data, Path filePath) throws IOException {
-    try (FileOutput output = new FileOutput(filePath, Charset.forName("UTF-8"))) {
-      templateEngine.render("README.md.jte", data, output);
-    }
+  public String renderReadme(ProjectRequestDTO data) {
+    StringOutput output = new StringOutput();
+    templateEngine.render("README.md.jte", data, output);
+    return output.toString();
   }
 
   /**
-   * Renders the test class template to the specified file path.
+   * Renders the test class template.
    *
    * @param data the project data to render in the template
    * @param className the class name for the test class
-   * @param filePath the target file path where the rendered content will be written
-   * @throws IOException if file writing fails
+   * @return the rendered test class
    */
-  public void createTestClass(ProjectRequestDTO data, String className, Path filePath)
-      throws IOException {
-    try (FileOutput output = new FileOutput(filePath, Charset.forName("UTF-8"))) {
-      templateEngine.render(
-          "TestClass.java.jte", Map.of("data", data, "className", className), output);
-    }
+  public String renderTestClass(ProjectRequestDTO data, String className) {
+    StringOutput output = new StringOutput();
+    templateEngine.render(
+        "TestClass.java.jte", Map.of("data", data, "className", className), output);
+    return output.toString();
   }
 }
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single execution.
+ *
+ * <p>The first caller for a key starts the loader on a virtual thread; callers arriving while it is
+ * in flight wait for that result instead of starting their own. A waiting caller that times out or
+ * is interrupted only stops waiting; the shared execution is never cancelled on its behalf. If the
+ * first caller times out, the execution is abandoned: its thread is interrupted, callers still
+ * waiting for it fail with a {@link TimeoutException}, and the next caller starts a new execution.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+  private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+  /**
+   * Runs the loader for the given key, or waits for the execution already in flight for it.
+   *
+   * @param key the key identifying the execution
+   * @param loader computes the result; only called if no execution for the key is in flight
+   * @param timeout how long to wait for the result, whether the execution was started by this or by
+   *     another caller
+   * @return the result of the loader
+   * @throws TimeoutException if the execution did not finish in time
+   * @throws ExecutionException if the execution of another caller failed
+   * @throws InterruptedException if the thread was interrupted while waiting
+   */
+  public V execute(K key, Supplier<V> loader, Duration timeout)
+      throws TimeoutException, ExecutionException, InterruptedException {
+    CompletableFuture<V> own = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+    if (existing != null) {
+      return existing.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+    Thread worker = Thread.ofVirtual().start(() -> load(key, loader, own));
+    try {
+      return own.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      abandon(key, own, worker, timeout);
+      throw e;
+    } catch (ExecutionException e) {
+      // The loader ran for this caller, so its failure is thrown as if it had run on this thread
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * @return the number of keys with an execution in flight
+   */
+  public int inFlightCount() {
+    return inFlight.size();
+  }
+
+  private void load(K key, Supplier<V> loader, CompletableFuture<V> result) {
+    try {
+      result.complete(loader.get());
+    } catch (RuntimeException | Error e) {
+      result.completeExceptionally(e);
+    } finally {
+      inFlight.remove(key, result);
+    }
+  }
+
+  private void abandon(K key, CompletableFuture<V> result, Thread worker, Duration timeout) {
+    inFlight.remove(key, result);
+    if (result.completeExceptionally(
+        new TimeoutException("Execution for " + key + " exceeded " + timeout))) {
+      worker.interrupt();
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded in-memory cache for resolved artifact versions.
+ *
+ * <p>Entries expire after a configurable time-to-live. Fallback results get their own, usually much
+ * shorter, time-to-live so that a temporarily unreachable repository is retried soon. When the
+ * cache grows beyond its maximum size, expired entries are dropped first and then the entries
+ * closest to expiry.
+ */
+public class VersionCache {
+
+  /** Identifies a cached resolution result. */
+  public record Key(String groupId, String artifactId, String extension, String matcher) {}
+
+  private record Entry(String version, Instant expiresAt) {}
+
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final Duration ttl;
+  private final Duration fallbackTtl;
+  private final int maxSize;
+  private final Clock clock;
+
+  public VersionCache(Duration ttl, Duration fallbackTtl, int maxSize, Clock clock) {
+    this.ttl = ttl;
+    this.fallbackTtl = fallbackTtl;
+    this.maxSize = maxSize;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the cached version for the given key.
+   *
+   * @param key the coordinates and matcher of the lookup
+   * @return the cached version, or empty if there is no entry or it has expired
+   */
+  public Optional<String> get(Key key) {
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return Optional.empty();
+    }
+    if (isExpired(entry, clock.instant())) {
+      entries.remove(key, entry);
+      return Optional.empty();
+    }
+    return Optional.of(entry.version());
+  }
+
+  /**
+   * Stores a resolution result.
+   *
+   * @param key the coordinates and matcher of the lookup
+   * @param version the resolved version
+   * @param fallback true, if the version is a fallback value and should expire early
+   */
+  public void put(Key key, String version, boolean fallback) {
+    if (maxSize <= 0) {
+      return;
+    }
+    Instant expiresAt = clock.instant().plus(fallback ? fallbackTtl : ttl);
+    entries.put(key, new Entry(version, expiresAt));
+    if (entries.size() > maxSize) {
+      evict();
+    }
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return the maximum number of cached coordinates
+   */
+  public int maxSize() {
+    return maxSize;
+  }
+
+  private synchronized void evict() {
+    Instant now = clock.instant();
+    entries.values().removeIf(entry -> isExpired(entry, now));
+    while (entries.size() > maxSize) {
+      entries.entrySet().stream()
+          .min(Comparator.comparing(e -> e.getValue().expiresAt()))
+          .ifPresent(e -> entries.remove(e.getKey(), e.getValue()));
+    }
+  }
+
+  private static boolean isExpired(Entry entry, Instant now) {
+    return !now.isBefore(entry.expiresAt());
+  }
+}
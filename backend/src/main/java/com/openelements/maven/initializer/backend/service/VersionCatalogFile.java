@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes the portable text form of a {@link VersionCatalog}.
+ *
+ * <p>Each line holds one {@code groupId:artifactId:extension=version} entry; lines starting with
+ * {@code #} are comments. The format is meant to be exported from a connected instance, reviewed or
+ * edited by hand, and shipped into environments without repository access.
+ */
+public final class VersionCatalogFile {
+
+  private VersionCatalogFile() {}
+
+  /**
+   * Renders the catalog, sorted by coordinate so that exports of equal catalogs are identical.
+   *
+   * @param catalog the catalog to render
+   * @return the text form of the catalog
+   */
+  public static String write(VersionCatalog catalog) {
+    StringBuilder out = new StringBuilder();
+    out.append("# Maven Initializer version catalog\n");
+    if (catalog.refreshedAt() != null) {
+      out.append("# refreshed-at=").append(catalog.refreshedAt()).append('\n');
+    }
+    catalog.entries().entrySet().stream()
+        .sorted(Map.Entry.comparingByKey(Comparator.comparing(ArtifactCoordinate::toString)))
+        .forEach(
+            entry ->
+                out.append(entry.getKey())
+                    .append('=')
+                    .append(entry.getValue().version())
+                    .append('\n'));
+    return out.toString();
+  }
+
+  /**
+   * Parses the text form of a catalog.
+   *
+   * @param reader the text to parse
+   * @param resolvedAt the resolution time assigned to every entry
+   * @return the parsed catalog
+   * @throws IOException if reading fails
+   * @throws IllegalArgumentException if a line is not a valid entry
+   */
+  public static VersionCatalog read(Reader reader, Instant resolvedAt) throws IOException {
+    Map<ArtifactCoordinate, VersionCatalog.Entry> entries = new HashMap<>();
+    BufferedReader lines = new BufferedReader(reader);
+    String line;
+    int lineNumber = 0;
+    while ((line = lines.readLine()) != null) {
+      lineNumber++;
+      line = line.strip();
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      int separator = line.indexOf('=');
+      if (separator < 0 || separator == line.length() - 1) {
+        throw new IllegalArgumentException("Invalid catalog entry in line " + lineNumber);
+      }
+      ArtifactCoordinate coordinate =
+          ArtifactCoordinate.parse(line.substring(0, separator).strip());
+      String version = line.substring(separator + 1).strip();
+      entries.put(coordinate, new VersionCatalog.Entry(version, resolvedAt));
+    }
+    return new VersionCatalog(entries, resolvedAt, resolvedAt);
+  }
+}
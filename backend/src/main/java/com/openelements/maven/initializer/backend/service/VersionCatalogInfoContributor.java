@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+/** Exposes the state of the version catalog through the actuator {@code info} endpoint. */
+@Component
+public class VersionCatalogInfoContributor implements InfoContributor {
+
+  private final ArtifactVersionService artifactVersionService;
+  private final Clock clock;
+
+  public VersionCatalogInfoContributor(ArtifactVersionService artifactVersionService, Clock clock) {
+    this.artifactVersionService = artifactVersionService;
+    this.clock = clock;
+  }
+
+  @Override
+  public void contribute(Info.Builder builder) {
+    VersionCatalog catalog = artifactVersionService.currentCatalog();
+    Instant now = clock.instant();
+
+    Map<String, Object> entries = new TreeMap<>();
+    catalog
+        .entries()
+        .forEach(
+            (coordinate, entry) -> {
+              Map<String, Object> details = new LinkedHashMap<>();
+              details.put("version", entry.version());
+              details.put("resolvedAt", entry.resolvedAt());
+              details.put("stalenessSeconds", entry.staleness(now).toSeconds());
+              entries.put(coordinate.toString(), details);
+            });
+
+    Map<String, Object> details = new LinkedHashMap<>();
+    details.put("lastRefresh", catalog.refreshedAt());
+    details.put("lastSuccessfulRefresh", catalog.lastSuccessfulRefresh());
+    details.put("entries", entries);
+    builder.withDetail("versionCatalog", details);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.CatalogArtifacts;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Re-resolves all {@link CatalogArtifacts} in the background and publishes them as a new {@link
+ * VersionCatalog} snapshot, so request threads never wait for the repository for these artifacts.
+ *
+ * <p>If an artifact cannot be resolved, its previous entry is kept and becomes stale; the entry's
+ * resolution time tells how stale it is. Every published catalog is also persisted through the
+ * {@link VersionCatalogSnapshotStore}. In offline mode the catalog is never refreshed.
+ */
+@Component
+@ConditionalOnExpression(
+    "${initializer.version-catalog.refresh-enabled:true} and !${initializer.offline.enabled:false}")
+public class VersionCatalogRefresher {
+
+  private static final Logger logger = LoggerFactory.getLogger(VersionCatalogRefresher.class);
+
+  private final ArtifactVersionService artifactVersionService;
+  private final VersionCatalogSnapshotStore snapshotStore;
+  private final Clock clock;
+
+  public VersionCatalogRefresher(
+      ArtifactVersionService artifactVersionService,
+      VersionCatalogSnapshotStore snapshotStore,
+      Clock clock) {
+    this.artifactVersionService = artifactVersionService;
+    this.snapshotStore = snapshotStore;
+    this.clock = clock;
+  }
+
+  @Scheduled(
+      initialDelayString = "${initializer.version-catalog.initial-delay:0s}",
+      fixedDelayString = "${initializer.version-catalog.refresh-interval:4h}")
+  public void refresh() {
+    VersionCatalog previous = artifactVersionService.currentCatalog();
+    Map<ArtifactCoordinate, VersionCatalog.Entry> entries = new HashMap<>();
+    List<ArtifactCoordinate> failed = new ArrayList<>();
+
+    for (ArtifactCoordinate coordinate : CatalogArtifacts.ALL) {
+      Optional<String> version = artifactVersionService.resolveFromRepository(coordinate);
+      if (version.isPresent()) {
+        entries.put(coordinate, new VersionCatalog.Entry(version.get(), clock.instant()));
+      } else {
+        failed.add(coordinate);
+        previous.entry(coordinate).ifPresent(stale -> entries.put(coordinate, stale));
+      }
+    }
+
+    Instant refreshedAt = clock.instant();
+    Instant lastSuccessfulRefresh =
+        failed.isEmpty() ? refreshedAt : previous.lastSuccessfulRefresh();
+    VersionCatalog catalog = new VersionCatalog(entries, refreshedAt, lastSuccessfulRefresh);
+    artifactVersionService.publishCatalog(catalog);
+    snapshotStore.save(catalog);
+
+    if (failed.isEmpty()) {
+      logger.info("Refreshed version catalog with {} artifacts", entries.size());
+    } else {
+      logger.warn("Refreshed version catalog, keeping stale versions for {}", failed);
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists the {@link VersionCatalog} to a compact binary snapshot file, so that a restarted
+ * instance serves known versions right away instead of resolving everything on the first requests.
+ *
+ * <p>The snapshot is loaded memory-mapped during context startup, before the application reports
+ * itself as ready. It is written to a temporary file next to the target and moved into place
+ * atomically, so readers never see a partially written snapshot. An empty file name disables
+ * persistence.
+ */
+@Component
+public class VersionCatalogSnapshotStore {
+
+  private static final Logger logger = LoggerFactory.getLogger(VersionCatalogSnapshotStore.class);
+  private static final int MAGIC = 0x4D564353; // "MVCS"
+  private static final byte FORMAT_VERSION = 1;
+  private static final long NO_INSTANT = Long.MIN_VALUE;
+
+  private final Path snapshotFile;
+  private final ArtifactVersionService artifactVersionService;
+
+  public VersionCatalogSnapshotStore(
+      @Value("${initializer.version-catalog.snapshot-file:}") String snapshotFile,
+      ArtifactVersionService artifactVersionService) {
+    this.snapshotFile =
+        snapshotFile == null || snapshotFile.isBlank() ? null : Path.of(snapshotFile);
+    this.artifactVersionService = artifactVersionService;
+  }
+
+  /** Publishes the persisted catalog, unless a catalog has already been published. */
+  @PostConstruct
+  void restore() {
+    if (artifactVersionService.currentCatalog().refreshedAt() != null) {
+      return;
+    }
+    load()
+        .ifPresent(
+            catalog -> {
+              artifactVersionService.publishCatalog(catalog);
+              logger.info(
+                  "Restored version catalog with {} artifacts from {} (refreshed at {})",
+                  catalog.entries().size(),
+                  snapshotFile,
+                  catalog.refreshedAt());
+            });
+  }
+
+  /**
+   * Reads the snapshot file.
+   *
+   * @return the persisted catalog, or empty if persistence is disabled or the file is missing or
+   *     unreadable
+   */
+  public Optional<VersionCatalog> load() {
+    if (snapshotFile == null || !Files.isRegularFile(snapshotFile)) {
+      return Optional.empty();
+    }
+    try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      return Optional.of(decode(buffer));
+    } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+      logger.warn("Ignoring unreadable version catalog snapshot {}", snapshotFile, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Atomically replaces the snapshot file with the given catalog. Failures are logged and do not
+   * affect the served catalog.
+   *
+   * @param catalog the catalog to persist
+   */
+  public void save(VersionCatalog catalog) {
+    if (snapshotFile == null) {
+      return;
+    }
+    try {
+      Path directory = snapshotFile.toAbsolutePath().getParent();
+      Files.createDirectories(directory);
+      Path tempFile =
+          Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+      try {
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+          ByteBuffer content = ByteBuffer.wrap(encode(catalog));
+          while (content.hasRemaining()) {
+            channel.write(content);
+          }
+          channel.force(true);
+        }
+        moveIntoPlace(tempFile);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+      logger.debug("Saved version catalog snapshot to {}", snapshotFile);
+    } catch (IOException e) {
+      logger.warn("Failed to save version catalog snapshot to {}", snapshotFile, e);
+    }
+  }
+
+  private void moveIntoPlace(Path tempFile) throws IOException {
+    try {
+      Files.move(
+          tempFile,
+          snapshotFile,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  static byte[] encode(VersionCatalog catalog) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeInt(MAGIC);
+      out.writeByte(FORMAT_VERSION);
+      writeInstant(out, catalog.refreshedAt());
+      writeInstant(out, catalog.lastSuccessfulRefresh());
+      out.writeInt(catalog.entries().size());
+      for (Map.Entry<ArtifactCoordinate, VersionCatalog.Entry> entry :
+          catalog.entries().entrySet()) {
+        writeString(out, entry.getKey().groupId());
+        writeString(out, entry.getKey().artifactId());
+        writeString(out, entry.getKey().extension());
+        writeString(out, entry.getValue().version());
+        writeInstant(out, entry.getValue().resolvedAt());
+      }
+      CRC32 checksum = new CRC32();
+      checksum.update(bytes.toByteArray());
+      out.writeLong(checksum.getValue());
+    }
+    return bytes.toByteArray();
+  }
+
+  static VersionCatalog decode(ByteBuffer buffer) {
+    int contentLength = buffer.remaining() - Long.BYTES;
+    if (contentLength < 0) {
+      throw new IllegalArgumentException("Snapshot is truncated");
+    }
+    CRC32 checksum = new CRC32();
+    checksum.update(buffer.slice(buffer.position(), contentLength));
+    if (checksum.getValue() != buffer.getLong(buffer.position() + contentLength)) {
+      throw new IllegalArgumentException("Snapshot checksum mismatch");
+    }
+    if (buffer.getInt() != MAGIC || buffer.get() != FORMAT_VERSION) {
+      throw new IllegalArgumentException("Unsupported snapshot format");
+    }
+    Instant refreshedAt = readInstant(buffer);
+    Instant lastSuccessfulRefresh = readInstant(buffer);
+    int size = buffer.getInt();
+    Map<ArtifactCoordinate, VersionCatalog.Entry> entries = new HashMap<>();
+    for (int i = 0; i < size; i++) {
+      ArtifactCoordinate coordinate =
+          new ArtifactCoordinate(readString(buffer), readString(buffer), readString(buffer));
+      entries.put(coordinate, new VersionCatalog.Entry(readString(buffer), readInstant(buffer)));
+    }
+    return new VersionCatalog(entries, refreshedAt, lastSuccessfulRefresh);
+  }
+
+  private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+    out.writeLong(instant == null ? NO_INSTANT : instant.getEpochSecond());
+    out.writeInt(instant == null ? 0 : instant.getNano());
+  }
+
+  private static Instant readInstant(ByteBuffer buffer) {
+    long seconds = buffer.getLong();
+    int nanos = buffer.getInt();
+    return seconds == NO_INSTANT ? null : Instant.ofEpochSecond(seconds, nanos);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeShort(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
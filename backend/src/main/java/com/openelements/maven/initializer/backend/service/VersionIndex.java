@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactVersionMatcher;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.aether.util.version.GenericVersionScheme;
+import org.eclipse.aether.version.InvalidVersionSpecificationException;
+import org.eclipse.aether.version.Version;
+
+/**
+ * All published versions of one artifact, parsed once and kept sorted in Maven version order.
+ *
+ * <p>Everything a selection policy looks at is stored in primitive arrays indexed by position: the
+ * release line ({@code major << 32 | minor}), whether the version is eligible for the matcher the
+ * index was built with, and the publication time. Because Maven ordering compares the numeric
+ * components first, the release lines are non-decreasing, so the versions of one line or below a
+ * major version are found by binary search. The version strings are only touched for the answer.
+ *
+ * <p>Versions that do not start with a number have no release line and are left out.
+ */
+public final class VersionIndex {
+
+  private static final GenericVersionScheme VERSION_SCHEME = new GenericVersionScheme();
+  private static final long UNKNOWN_PUBLICATION = Long.MIN_VALUE;
+
+  private record Parsed(String text, Version version, long line) {}
+
+  private final String[] versions;
+  private final long[] lines;
+  private final boolean[] eligible;
+  private final long[] publishedAt;
+
+  private VersionIndex(String[] versions, long[] lines, boolean[] eligible, long[] publishedAt) {
+    this.versions = versions;
+    this.lines = lines;
+    this.eligible = eligible;
+    this.publishedAt = publishedAt;
+  }
+
+  /**
+   * Builds the index of an artifact.
+   *
+   * @param versions the published versions, in any order
+   * @param publicationDates the publication time per version, where known
+   * @param matcher decides which versions are eligible for selection
+   * @return the index
+   */
+  public static VersionIndex of(
+      Collection<String> versions,
+      Map<String, Instant> publicationDates,
+      ArtifactVersionMatcher matcher) {
+    List<Parsed> parsed = new ArrayList<>(versions.size());
+    for (String text : versions) {
+      long line = releaseLine(text);
+      if (line < 0) {
+        continue;
+      }
+      try {
+        parsed.add(new Parsed(text, VERSION_SCHEME.parseVersion(text), line));
+      } catch (InvalidVersionSpecificationException e) {
+        // Not a usable version
+      }
+    }
+    parsed.sort(Comparator.comparing(Parsed::version));
+
+    int size = parsed.size();
+    String[] texts = new String[size];
+    long[] lines = new long[size];
+    boolean[] eligible = new boolean[size];
+    long[] publishedAt = new long[size];
+    for (int i = 0; i < size; i++) {
+      Parsed version = parsed.get(i);
+      texts[i] = version.text();
+      lines[i] = version.line();
+      eligible[i] = matcher.test(version.version());
+      Instant published = publicationDates.get(version.text());
+      publishedAt[i] = published != null ? published.toEpochMilli() : UNKNOWN_PUBLICATION;
+    }
+    return new VersionIndex(texts, lines, eligible, publishedAt);
+  }
+
+  public int size() {
+    return versions.length;
+  }
+
+  /**
+   * @return the newest eligible version
+   */
+  public Optional<String> newest() {
+    return newestEligibleBefore(versions.length);
+  }
+
+  /**
+   * @param major the major version
+   * @param minor the minor version
+   * @return the newest eligible version of the release line {@code major.minor}
+   */
+  public Optional<String> newestInLine(int major, int minor) {
+    long line = line(major, minor);
+    for (int i = firstAbove(line) - 1; i >= 0 && lines[i] == line; i--) {
+      if (eligible[i]) {
+        return Optional.of(versions[i]);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @param major the first excluded major version
+   * @return the newest eligible version with a smaller major version
+   */
+  public Optional<String> newestBelowMajor(int major) {
+    return newestEligibleBefore(firstAbove(line(major, 0) - 1));
+  }
+
+  /**
+   * Publication times do not follow version order, because older lines keep receiving patch
+   * releases, so this scans from the newest version down.
+   *
+   * @param cutoff the latest accepted publication time
+   * @return the newest eligible version published at or before the cutoff; versions with unknown
+   *     publication time are skipped
+   */
+  public Optional<String> newestPublishedBefore(Instant cutoff) {
+    long cutoffMillis = cutoff.toEpochMilli();
+    for (int i = versions.length - 1; i >= 0; i--) {
+      if (eligible[i] && publishedAt[i] != UNKNOWN_PUBLICATION && publishedAt[i] <= cutoffMillis) {
+        return Optional.of(versions[i]);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private Optional<String> newestEligibleBefore(int end) {
+    for (int i = end - 1; i >= 0; i--) {
+      if (eligible[i]) {
+        return Optional.of(versions[i]);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @return the index of the first version whose release line is greater than the given one
+   */
+  private int firstAbove(long line) {
+    int low = 0;
+    int high = lines.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (lines[middle] <= line) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static long line(int major, int minor) {
+    return (long) major << 32 | minor;
+  }
+
+  /**
+   * Reads the leading {@code major[.minor]} numbers the way Maven orders them: a missing minor
+   * version counts as {@code 0}.
+   *
+   * @return the release line, or {@code -1} if the version does not start with a number
+   */
+  static long releaseLine(String version) {
+    int[] numbers = new int[2];
+    int position = 0;
+    for (int component = 0; component < 2; component++) {
+      int start = position;
+      long value = 0;
+      while (position < version.length() && Character.isDigit(version.charAt(position))) {
+        value = value * 10 + (version.charAt(position) - '0');
+        if (value > Integer.MAX_VALUE) {
+          return -1;
+        }
+        position++;
+      }
+      if (position == start) {
+        return component == 0 ? -1 : line(numbers[0], 0);
+      }
+      numbers[component] = (int) value;
+      if (position >= version.length() || version.charAt(position) != '.') {
+        return line(numbers[0], component == 0 ? 0 : numbers[1]);
+      }
+      position++;
+    }
+    return line(numbers[0], numbers[1]);
+  }
+}
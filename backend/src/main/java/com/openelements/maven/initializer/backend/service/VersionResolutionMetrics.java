@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.CatalogArtifacts;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters for version resolution.
+ *
+ * <ul>
+ *   <li>{@code initializer.version.resolution}: time to resolve one artifact, tagged by coordinate
+ *       and {@link Outcome}
+ *   <li>{@code initializer.version.lookup}: time spent in repository lookups only, tagged by {@link
+ *       LookupResult}; comparing both timers tells whether time goes to the repository or to the
+ *       backend itself
+ *   <li>{@code initializer.version.cache}: catalog and cache hits and misses
+ *   <li>{@code initializer.version.catalog.staleness}: age of the oldest catalog entry
+ * </ul>
+ *
+ * <p>The {@code coordinate} tag is bounded: only {@link CatalogArtifacts#ALL} are tagged by name,
+ * every other artifact is tagged {@value #OTHER_COORDINATE}.
+ */
+public class VersionResolutionMetrics {
+
+  static final String OTHER_COORDINATE = "other";
+
+  /** How a version was obtained. */
+  public enum Outcome {
+    /** Resolved by a repository lookup. */
+    LIVE,
+    /** Served from the catalog or the cache. */
+    CACHED,
+    /** The lookup yielded no version; the last known good or fallback version was served. */
+    FALLBACK,
+    /** The lookup failed or timed out; the last known good or fallback version was served. */
+    ERROR
+  }
+
+  /** Result of a single repository lookup. */
+  public enum LookupResult {
+    FOUND,
+    /** The repository answered, but has no eligible version of the artifact. */
+    NOT_FOUND,
+    /** The repository could not be reached, answered with an error or the lookup failed. */
+    FAILED,
+    /** The circuit breaker was open and no lookup was made. */
+    REJECTED
+  }
+
+  private record TimerKey(String coordinate, Outcome outcome) {}
+
+  private static final Set<ArtifactCoordinate> TAGGED_COORDINATES =
+      Set.copyOf(CatalogArtifacts.ALL);
+
+  private final MeterRegistry registry;
+  private final Clock clock;
+  private final Map<TimerKey, Timer> resolutionTimers = new ConcurrentHashMap<>();
+  private final Map<LookupResult, Timer> lookupTimers = new ConcurrentHashMap<>();
+  private final Counter catalogHits;
+  private final Counter cacheHits;
+  private final Counter cacheMisses;
+
+  public VersionResolutionMetrics(MeterRegistry registry, Clock clock) {
+    this.registry = registry;
+    this.clock = clock;
+    this.catalogHits = cacheCounter("hit", "catalog");
+    this.cacheHits = cacheCounter("hit", "cache");
+    this.cacheMisses = cacheCounter("miss", "cache");
+  }
+
+  /**
+   * @return metrics that are recorded nowhere, for use outside a Spring context
+   */
+  public static VersionResolutionMetrics noop() {
+    return new VersionResolutionMetrics(new CompositeMeterRegistry(), Clock.systemUTC());
+  }
+
+  /**
+   * Registers the staleness gauge for the catalog served by the given supplier.
+   *
+   * @param catalog supplies the currently served catalog
+   */
+  public void bindCatalog(Supplier<VersionCatalog> catalog) {
+    Gauge.builder("initializer.version.catalog.staleness", () -> oldestEntryAge(catalog.get()))
+        .description("Age of the oldest entry of the served version catalog")
+        .baseUnit("seconds")
+        .strongReference(true)
+        .register(registry);
+  }
+
+  public void recordResolution(ArtifactCoordinate coordinate, Outcome outcome, long nanos) {
+    resolutionTimers
+        .computeIfAbsent(
+            new TimerKey(coordinateTag(coordinate), outcome),
+            key ->
+                Timer.builder("initializer.version.resolution")
+                    .description("Time to resolve the newest version of an artifact")
+                    .tag("coordinate", key.coordinate())
+                    .tag("outcome", key.outcome().name().toLowerCase(Locale.ROOT))
+                    .register(registry))
+        .record(Duration.ofNanos(nanos));
+  }
+
+  public void recordLookup(LookupResult result, long nanos) {
+    lookupTimers
+        .computeIfAbsent(
+            result,
+            key ->
+                Timer.builder("initializer.version.lookup")
+                    .description("Time spent in repository lookups")
+                    .tag("result", key.name().toLowerCase(Locale.ROOT))
+                    .register(registry))
+        .record(Duration.ofNanos(nanos));
+  }
+
+  public void catalogHit() {
+    catalogHits.increment();
+  }
+
+  public void cacheHit() {
+    cacheHits.increment();
+  }
+
+  public void cacheMiss() {
+    cacheMisses.increment();
+  }
+
+  static String coordinateTag(ArtifactCoordinate coordinate) {
+    return TAGGED_COORDINATES.contains(coordinate)
+        ? coordinate.groupId() + ":" + coordinate.artifactId()
+        : OTHER_COORDINATE;
+  }
+
+  private double oldestEntryAge(VersionCatalog catalog) {
+    Instant now = clock.instant();
+    return catalog.entries().values().stream()
+        .mapToDouble(entry -> entry.staleness(now).toMillis() / 1000.0)
+        .max()
+        .orElse(Double.NaN);
+  }
+
+  private Counter cacheCounter(String result, String tier) {
+    return Counter.builder("initializer.version.cache")
+        .description("Version lookups answered by the catalog or the cache")
+        .tag("result", result)
+        .tag("tier", tier)
+        .register(registry);
+  }
+}
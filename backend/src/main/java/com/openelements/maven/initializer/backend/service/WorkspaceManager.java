@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import com.openelements.maven.initializer.backend.config.WorkspaceProperties;
+import com.openelements.maven.initializer.backend.exception.WorkspaceQuotaExceededException;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Accounts for the projects that are being generated or sent and cleans up what aborted requests
+ * leave behind.
+ *
+ * <p>Every request holds a {@link Workspace} from before generation until its response has been
+ * written. The bytes of all open workspaces are limited by a global quota; while it is exceeded,
+ * new requests are refused with a {@link WorkspaceQuotaExceededException} instead of piling up more
+ * projects in memory.
+ *
+ * <p>At startup and then periodically, files older than the orphan age are deleted: temporary files
+ * below the workspace root, project directories that earlier versions created in the configured
+ * legacy directory, and reservations of workspaces whose response never completed.
+ */
+@Component
+public class WorkspaceManager {
+
+  private static final Logger logger = LoggerFactory.getLogger(WorkspaceManager.class);
+
+  /** Suggested delay before a refused request is retried. */
+  static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+
+  /** Directories created by {@code Files.createTempDirectory("project-" + artifactId + "-")}. */
+  private static final Pattern LEGACY_PROJECT_DIRECTORY = Pattern.compile("project-.+-\\d+");
+
+  private final Path root;
+  private final Path legacyDirectory;
+  private final long quota;
+  private final long requestEstimate;
+  private final Duration orphanMaxAge;
+  private final Clock clock;
+  private final AtomicLong bytesInUse = new AtomicLong();
+  private final Set<Workspace> open = ConcurrentHashMap.newKeySet();
+
+  public WorkspaceManager(WorkspaceProperties properties, Clock clock) {
+    this.root = properties.rootOrDefault();
+    this.legacyDirectory = properties.legacyDirectory();
+    this.quota = properties.quota().toBytes();
+    this.requestEstimate = properties.requestEstimate().toBytes();
+    this.orphanMaxAge = properties.orphanMaxAge();
+    this.clock = clock;
+  }
+
+  /** A reservation of workspace bytes held by one request until its response is complete. */
+  public final class Workspace implements AutoCloseable {
+
+    private final Instant openedAt = clock.instant();
+    private final AtomicLong reserved;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private Workspace(long reserved) {
+      this.reserved = new AtomicLong(reserved);
+    }
+
+    /**
+     * Replaces the reservation of this workspace with the actual size of its project.
+     *
+     * @param bytes the size of the project
+     */
+    public void reserve(long bytes) {
+      if (!closed.get()) {
+        bytesInUse.addAndGet(bytes - reserved.getAndSet(bytes));
+      }
+    }
+
+    /** Releases the reservation. Closing a workspace again has no effect. */
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        bytesInUse.addAndGet(-reserved.getAndSet(0));
+        open.remove(this);
+      }
+    }
+  }
+
+  /** Creates the workspace root and removes what earlier runs left behind. */
+  @PostConstruct
+  void start() {
+    try {
+      Files.createDirectories(root);
+    } catch (IOException e) {
+      logger.warn("Cannot create workspace root {}", root, e);
+    }
+    reapOrphans();
+  }
+
+  /**
+   * Opens a workspace for a request.
+   *
+   * @return the workspace, to be closed when the response is complete
+   * @throws WorkspaceQuotaExceededException if the open workspaces use the whole quota
+   */
+  public Workspace open() {
+    // Check and reserve in one step, so concurrent requests cannot all pass the same check
+    long inUse;
+    do {
+      inUse = bytesInUse.get();
+      if (inUse >= quota) {
+        throw new WorkspaceQuotaExceededException(inUse, quota, RETRY_AFTER);
+      }
+    } while (!bytesInUse.compareAndSet(inUse, inUse + requestEstimate));
+    Workspace workspace = new Workspace(requestEstimate);
+    open.add(workspace);
+    return workspace;
+  }
+
+  /**
+   * @return the directory for files written by the service
+   */
+  public Path root() {
+    return root;
+  }
+
+  /**
+   * @return the bytes reserved by all open workspaces
+   */
+  public long bytesInUse() {
+    return bytesInUse.get();
+  }
+
+  /**
+   * Deletes orphaned files and releases reservations of workspaces that were never closed.
+   *
+   * @return the number of deleted files and directories and released workspaces
+   */
+  @Scheduled(
+      initialDelayString = "${initializer.workspace.reap-interval:15m}",
+      fixedDelayString = "${initializer.workspace.reap-interval:15m}")
+  public int reapOrphans() {
+    Instant cutoff = clock.instant().minus(orphanMaxAge);
+    int reaped = 0;
+    for (Workspace workspace : List.copyOf(open)) {
+      if (workspace.openedAt.isBefore(cutoff)) {
+        workspace.close();
+        reaped++;
+      }
+    }
+    reaped += deleteOlderThan(root, cutoff, path -> path.getFileName().toString().endsWith(".tmp"));
+    if (legacyDirectory != null) {
+      reaped +=
+          deleteOlderThan(
+              legacyDirectory,
+              cutoff,
+              path ->
+                  Files.isDirectory(path)
+                      && LEGACY_PROJECT_DIRECTORY.matcher(path.getFileName().toString()).matches());
+    }
+    if (reaped > 0) {
+      logger.info("Reaped {} orphaned workspace entries", reaped);
+    }
+    return reaped;
+  }
+
+  private static int deleteOlderThan(Path directory, Instant cutoff, Predicate<Path> filter) {
+    if (!Files.isDirectory(directory)) {
+      return 0;
+    }
+    List<Path> candidates;
+    try (Stream<Path> list = Files.list(directory)) {
+      candidates = list.filter(filter).toList();
+    } catch (IOException e) {
+      logger.warn("Cannot list {}", directory, e);
+      return 0;
+    }
+    int deleted = 0;
+    for (Path candidate : candidates) {
+      try {
+        if (Files.getLastModifiedTime(candidate).toInstant().isBefore(cutoff)) {
+          deleteRecursively(candidate);
+          deleted++;
+        }
+      } catch (IOException e) {
+        logger.warn("Cannot delete orphaned {}", candidate, e);
+      }
+    }
+    return deleted;
+  }
+
+  private static void deleteRecursively(Path path) throws IOException {
+    List<Path> paths;
+    try (Stream<Path> walk = Files.walk(path)) {
+      paths = walk.sorted(Comparator.reverseOrder()).toList();
+    }
+    for (Path entry : paths) {
+      Files.deleteIfExists(entry);
+    }
+  }
+}
@@ -20,18 +20,40 @@ package com.openelements.maven.initializer.backend.util;
 
 import com.openelements.maven.initializer.backend.exception.ProjectServiceException;
 import java.io.StringReader;
-import java.io.StringWriter;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
-import javax.xml.transform.TransformerException;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
-
-/** Utility class for formatting XML content with custom formatting rules. */
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Utility class for formatting XML content with custom formatting rules.
+ *
+ * <p>The document is indented by four spaces per level in a single streaming pass. Elements that
+ * only contain text stay on one line; every other child starts on its own line. Whitespace-only
+ * text is dropped. The POM specific rules add a blank line after the {@code modelVersion}, {@code
+ * description}, {@code properties} and {@code dependencies} end tags, and exactly one blank line
+ * after, but none directly before, the {@code dependencyManagement} end tag.
+ *
+ * <p>Formatting is thread-safe. Each thread reuses its own output buffer.
+ */
 public class XmlFormatter {
 
+  private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+  private static final int INDENT = 4;
+  private static final String DEPENDENCY_MANAGEMENT = "dependencyManagement";
+  private static final Set<String> BLANK_LINE_AFTER =
+      Set.of("modelVersion", "description", "properties", "dependencies");
+
+  /** Buffers above this size are not kept for reuse, so one large document does not pin memory. */
+  private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+  private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+  private static final ThreadLocal<Formatter> FORMATTERS = ThreadLocal.withInitial(Formatter::new);
+
   /**
    * Formats XML content with proper indentation and custom formatting rules.
    *
@@ -43,65 +65,421 @@ public class XmlFormatter {
       throw new IllegalArgumentException("Input source cannot be empty");
     }
 
-    String xslt =
-        """
-                <xsl:stylesheet version="1.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">
-                    <xsl:strip-space elements="*"/>
-                    <xsl:output method="xml" encoding="UTF-8" indent="yes"/>
-                    <xsl:template match="@*|node()">
-                        <xsl:copy>
-                            <xsl:apply-templates select="@*|node()"/>
-                        </xsl:copy>
-                    </xsl:template>
-                </xsl:stylesheet>
-                """;
-
-    Transformer transformer;
-    try {
-      TransformerFactory factory = TransformerFactory.newInstance();
-      transformer = factory.newTransformer(new StreamSource(new StringReader(xslt)));
-      transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-      transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-      transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-      transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-    } catch (TransformerConfigurationException e) {
-      throw new ProjectServiceException("Failed to configure XML transformer", e);
-    }
-
-    StringWriter writer = new StringWriter();
+    XMLStreamReader reader = null;
+    Formatter formatter = FORMATTERS.get();
     try {
-      transformer.transform(new StreamSource(new StringReader(xml)), new StreamResult(writer));
-    } catch (TransformerException e) {
+      reader = XML_INPUT_FACTORY.createXMLStreamReader(new StringReader(xml));
+      return formatter.format(reader);
+    } catch (XMLStreamException e) {
       throw new ProjectServiceException("Invalid XML content", e);
+    } finally {
+      formatter.reset();
+      close(reader);
     }
+  }
 
-    // Apply custom formatting rules
-    String formatted = writer.toString();
-    return applyCustomFormatting(formatted);
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    // Adjacent text and CDATA sections form a single text node, as in the XPath data model
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    return factory;
   }
 
   /**
-   * Applies custom formatting rules to the XML content.
+   * Appends text content escaped the way {@link #formatXml(String)} writes it, so that values can
+   * be inserted into formatted output without formatting it again.
    *
-   * @param xml the XML content to apply custom formatting to
-   * @return the XML content with custom formatting applied
+   * @param out the output to append to
+   * @param text the unescaped text
    */
-  private static String applyCustomFormatting(String xml) {
-    // Ensure <project> tag is on its own line
-    xml = xml.replaceFirst("(<project[^>]*>)", "\n$1");
+  public static void appendEscapedText(StringBuilder out, String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '&' -> out.append("&amp;");
+        case '<' -> out.append("&lt;");
+        case '>' -> out.append("&gt;");
+        case '\r' -> out.append("&#13;");
+        default -> {
+          if (c >= 0x7F && c <= 0x9F) {
+            appendCharacterReference(out, c);
+          } else {
+            i = appendCharacter(out, text, i);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Appends the character at the given index. Characters outside the Basic Multilingual Plane are
+   * written as character references.
+   *
+   * @return the index of the last character consumed
+   */
+  private static int appendCharacter(StringBuilder out, String text, int index) {
+    char c = text.charAt(index);
+    if (Character.isHighSurrogate(c)
+        && index + 1 < text.length()
+        && Character.isLowSurrogate(text.charAt(index + 1))) {
+      appendCharacterReference(out, Character.toCodePoint(c, text.charAt(index + 1)));
+      return index + 1;
+    }
+    out.append(c);
+    return index;
+  }
+
+  private static void appendCharacterReference(StringBuilder out, int codePoint) {
+    out.append("&#").append(codePoint).append(';');
+  }
+
+  private static void close(XMLStreamReader reader) {
+    if (reader != null) {
+      try {
+        reader.close();
+      } catch (XMLStreamException e) {
+        // Nothing left to read
+      }
+    }
+  }
+
+  /** The per-thread state of a formatting pass. */
+  private static final class Formatter {
+
+    private StringBuilder out = new StringBuilder(8 * 1024);
+
+    /** Whether an element at the given depth has a child on its own line. */
+    private boolean[] blockContent = new boolean[16];
 
-    // Add empty lines after specific elements for readability
-    xml = xml.replace("</modelVersion>", "</modelVersion>\n");
-    xml = xml.replace("</description>", "</description>\n");
-    xml = xml.replace("</properties>", "</properties>\n");
-    xml = xml.replace("</dependencies>", "</dependencies>\n");
+    /**
+     * Prefix and URI pairs of the namespaces in scope of each open element, outermost element
+     * first.
+     */
+    private String[] namespaces = new String[16];
 
-    // Remove extra blank line directly BEFORE </dependencyManagement>
-    xml = xml.replaceAll("\\n\\s*\\n(\\s*</dependencyManagement>)", "\n$1");
+    /** Where the namespaces in scope of the element at the given depth start. */
+    private int[] namespaceMarks = new int[16];
 
-    // Ensure exactly one blank line AFTER </dependencyManagement>
-    xml = xml.replaceAll("(</dependencyManagement>)(\\s*\\n)+", "$1\n\n");
+    private int namespaceCount;
+
+    /** Positions right after each {@code </dependencyManagement>} end tag. */
+    private int[] dependencyManagementEnds = new int[4];
+
+    private int dependencyManagementEndCount;
+    private int depth;
+    private boolean startTagOpen;
+    private String pendingText;
+    private boolean projectOnOwnLine;
+
+    String format(XMLStreamReader reader) throws XMLStreamException {
+      out.append(XML_DECLARATION);
+      while (reader.hasNext()) {
+        switch (reader.next()) {
+          case XMLStreamConstants.START_ELEMENT -> startElement(reader);
+          case XMLStreamConstants.END_ELEMENT -> endElement(reader);
+          case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> text(reader);
+          case XMLStreamConstants.COMMENT -> {
+            startChild();
+            out.append("<!--").append(reader.getText()).append("-->");
+          }
+          case XMLStreamConstants.PROCESSING_INSTRUCTION -> {
+            startChild();
+            out.append("<?").append(reader.getPITarget());
+            String data = reader.getPIData();
+            if (data != null && !data.isEmpty()) {
+              out.append(' ').append(data);
+            }
+            out.append("?>");
+          }
+          default -> {
+            // The declaration is always written as UTF-8, DOCTYPE and ignorable whitespace are
+            // dropped
+          }
+        }
+      }
+      out.append('\n');
+      addBlankLinesAfterDependencyManagement();
+      return out.toString();
+    }
+
+    private void startElement(XMLStreamReader reader) {
+      String name = qualifiedName(reader.getPrefix(), reader.getLocalName());
+      startChild();
+      if (!projectOnOwnLine && name.startsWith("project")) {
+        // Ensure <project> tag is on its own line
+        out.append('\n');
+        projectOnOwnLine = true;
+      }
+      out.append('<').append(name);
+      int parentStart = depth == 0 ? 0 : namespaceMarks[depth];
+      int namespaceMark = namespaceCount;
+      inheritNamespaces(parentStart, namespaceMark, reader);
+      // The namespace of the element itself is declared first, then all namespaces that are new
+      // or rebound, in the order of the namespaces in scope
+      String elementPrefix = Objects.requireNonNullElse(reader.getPrefix(), "");
+      String elementUri = Objects.requireNonNullElse(reader.getNamespaceURI(), "");
+      if (!elementUri.isEmpty()) {
+        appendNamespace(elementPrefix, elementUri, parentStart, namespaceMark);
+      }
+      for (int i = namespaceMark; i < namespaceCount; i++) {
+        String prefix = namespaces[2 * i];
+        if (elementUri.isEmpty() || !prefix.equals(elementPrefix)) {
+          appendNamespace(prefix, namespaces[2 * i + 1], parentStart, namespaceMark);
+        }
+      }
+      for (int i = 0; i < reader.getAttributeCount(); i++) {
+        out.append(' ')
+            .append(qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)));
+        appendAttributeValue(reader.getAttributeValue(i));
+      }
+      startTagOpen = true;
+      depth++;
+      if (depth == blockContent.length) {
+        blockContent = Arrays.copyOf(blockContent, depth * 2);
+        namespaceMarks = Arrays.copyOf(namespaceMarks, depth * 2);
+      }
+      blockContent[depth] = false;
+      namespaceMarks[depth] = namespaceMark;
+    }
+
+    private void endElement(XMLStreamReader reader) {
+      String name = qualifiedName(reader.getPrefix(), reader.getLocalName());
+      namespaceCount = namespaceMarks[depth];
+      if (startTagOpen) {
+        out.append("/>");
+        startTagOpen = false;
+        depth--;
+        return;
+      }
+      if (pendingText != null) {
+        appendText(pendingText);
+        pendingText = null;
+      } else {
+        newLine(depth - 1);
+      }
+      boolean dependencyManagement = DEPENDENCY_MANAGEMENT.equals(name);
+      if (dependencyManagement) {
+        removeBlankLinesBeforeEndTag();
+      }
+      out.append("</").append(name).append('>');
+      depth--;
+
+      if (dependencyManagement) {
+        recordDependencyManagementEnd();
+      } else if (BLANK_LINE_AFTER.contains(name)) {
+        // Add empty lines after specific elements for readability
+        out.append('\n');
+      }
+    }
 
-    return xml;
+    private void text(XMLStreamReader reader) {
+      if (depth == 0
+          || isWhitespace(
+              reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength())) {
+        return;
+      }
+      String text = reader.getText();
+      if (blockContent[depth]) {
+        newLine(depth);
+        appendIndentedText(text);
+      } else if (pendingText != null) {
+        pendingText = pendingText + text;
+      } else {
+        closeStartTag();
+        // Held back until it is known whether the text is the only content of the element
+        pendingText = text;
+      }
+    }
+
+    /** Moves the next child of the current element to its own line. */
+    private void startChild() {
+      if (depth == 0) {
+        return;
+      }
+      closeStartTag();
+      if (pendingText != null) {
+        newLine(depth);
+        appendIndentedText(pendingText);
+        pendingText = null;
+      }
+      blockContent[depth] = true;
+      newLine(depth);
+    }
+
+    private void closeStartTag() {
+      if (startTagOpen) {
+        out.append('>');
+        startTagOpen = false;
+      }
+    }
+
+    private void newLine(int level) {
+      out.append('\n');
+      for (int i = level * INDENT; i > 0; i--) {
+        out.append(' ');
+      }
+    }
+
+    /**
+     * Collapses the blank lines directly before {@code </dependencyManagement>}, keeping the
+     * indentation of the end tag.
+     */
+    private void removeBlankLinesBeforeEndTag() {
+      int first = -1;
+      int last = -1;
+      for (int i = out.length() - 1; i >= 0 && isWhitespace(out.charAt(i)); i--) {
+        if (out.charAt(i) == '\n') {
+          last = last < 0 ? i : last;
+          first = i;
+        }
+      }
+      if (first >= 0 && first < last) {
+        out.delete(first + 1, last + 1);
+      }
+    }
+
+    private void recordDependencyManagementEnd() {
+      if (dependencyManagementEndCount == dependencyManagementEnds.length) {
+        dependencyManagementEnds =
+            Arrays.copyOf(dependencyManagementEnds, dependencyManagementEndCount * 2);
+      }
+      dependencyManagementEnds[dependencyManagementEndCount++] = out.length();
+    }
+
+    /**
+     * Ensures exactly one blank line after each {@code </dependencyManagement>}. The whitespace
+     * that follows an end tag is only complete once the document is written, so this runs last,
+     * from the end of the document backwards to keep the recorded positions valid.
+     */
+    private void addBlankLinesAfterDependencyManagement() {
+      for (int n = dependencyManagementEndCount - 1; n >= 0; n--) {
+        int start = dependencyManagementEnds[n];
+        int lastNewLine = -1;
+        for (int i = start; i < out.length() && isWhitespace(out.charAt(i)); i++) {
+          if (out.charAt(i) == '\n') {
+            lastNewLine = i;
+          }
+        }
+        if (lastNewLine >= 0) {
+          out.replace(start, lastNewLine + 1, "\n\n");
+        }
+      }
+    }
+
+    /**
+     * Adds the namespaces in scope of the current element after those of its parent. Declarations
+     * of the element rebind a prefix in place or are added at the end.
+     */
+    private void inheritNamespaces(int parentStart, int parentEnd, XMLStreamReader reader) {
+      for (int i = parentStart; i < parentEnd; i++) {
+        addNamespace(namespaces[2 * i], namespaces[2 * i + 1]);
+      }
+      for (int i = 0; i < reader.getNamespaceCount(); i++) {
+        String prefix = Objects.requireNonNullElse(reader.getNamespacePrefix(i), "");
+        String uri = Objects.requireNonNullElse(reader.getNamespaceURI(i), "");
+        int index = indexOfNamespace(prefix, parentEnd, namespaceCount);
+        if (index >= 0) {
+          namespaces[2 * index + 1] = uri;
+        } else {
+          addNamespace(prefix, uri);
+        }
+      }
+    }
+
+    private void addNamespace(String prefix, String uri) {
+      if (2 * namespaceCount == namespaces.length) {
+        namespaces = Arrays.copyOf(namespaces, namespaces.length * 2);
+      }
+      namespaces[2 * namespaceCount] = prefix;
+      namespaces[2 * namespaceCount + 1] = uri;
+      namespaceCount++;
+    }
+
+    /** Writes a namespace declaration, unless the parent already binds the prefix to the URI. */
+    private void appendNamespace(String prefix, String uri, int parentStart, int parentEnd) {
+      int index = indexOfNamespace(prefix, parentStart, parentEnd);
+      // The default namespace is empty unless declared otherwise
+      String inherited = index >= 0 ? namespaces[2 * index + 1] : prefix.isEmpty() ? "" : null;
+      if (!uri.equals(inherited)) {
+        out.append(' ').append(prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix);
+        appendAttributeValue(uri);
+      }
+    }
+
+    private int indexOfNamespace(String prefix, int start, int end) {
+      for (int i = start; i < end; i++) {
+        if (namespaces[2 * i].equals(prefix)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /** Appends text that starts on its own line, without its leading line breaks. */
+    private void appendIndentedText(String text) {
+      int start = 0;
+      while (start < text.length() && text.charAt(start) == '\n') {
+        start++;
+      }
+      appendText(start == 0 ? text : text.substring(start));
+    }
+
+    private void appendText(String text) {
+      appendEscapedText(out, text);
+    }
+
+    private void appendAttributeValue(String value) {
+      out.append("=\"");
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '&' -> out.append("&amp;");
+          case '<' -> out.append("&lt;");
+          case '>' -> out.append("&gt;");
+          case '"' -> out.append("&quot;");
+          case '\n' -> out.append("&#10;");
+          case '\t' -> out.append("&#9;");
+          case '\r' -> out.append("&#13;");
+          default -> i = appendCharacter(out, value, i);
+        }
+      }
+      out.append('"');
+    }
+
+    void reset() {
+      if (out.capacity() > MAX_RETAINED_CAPACITY) {
+        out = new StringBuilder(8 * 1024);
+      } else {
+        out.setLength(0);
+      }
+      dependencyManagementEndCount = 0;
+      Arrays.fill(namespaces, 0, 2 * namespaceCount, null);
+      namespaceCount = 0;
+      depth = 0;
+      startTagOpen = false;
+      pendingText = null;
+      projectOnOwnLine = false;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+      return prefix == null || prefix.isEmpty() ? localName : prefix + ':' + localName;
+    }
+
+    private static boolean isWhitespace(char[] text, int start, int length) {
+      for (int i = start; i < start + length; i++) {
+        if (!isWhitespace(text[i])) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /** Matches the {@code \s} character class of {@link java.util.regex.Pattern}. */
+    private static boolean isWhitespace(char c) {
+      return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
   }
 }
@@ -19,39 +19,89 @@
 package com.openelements.maven.initializer.backend.controller;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.openelements.maven.initializer.backend.domain.ArchiveKey;
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.AssertionLibrary;
+import com.openelements.maven.initializer.backend.domain.Deadline;
+import com.openelements.maven.initializer.backend.domain.GenerationStage;
+import com.openelements.maven.initializer.backend.domain.ProjectGenerationResult;
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
 import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
+import com.openelements.maven.initializer.backend.exception.WorkspaceQuotaExceededException;
+import com.openelements.maven.initializer.backend.service.ArtifactVersionService;
+import com.openelements.maven.initializer.backend.service.ProjectArchiveCache;
+import com.openelements.maven.initializer.backend.service.ProjectGeneratorService;
+import com.openelements.maven.initializer.backend.service.WorkspaceManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mockito;
+import org.springframework.beans.MutablePropertyValues;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-@SpringBootTest
+// The catalog is published by the tests, not by a refresh at startup
+@SpringBootTest(properties = "initializer.version-catalog.initial-delay=1h")
 @ActiveProfiles("test")
 class ProjectControllerTest {
 
   @Autowired private ProjectController projectController;
+  @Autowired private ProjectArchiveCache archiveCache;
+  @Autowired private ProjectGeneratorService projectGeneratorService;
+  @Autowired private ArtifactVersionService artifactVersionService;
+  @Autowired private WorkspaceManager workspaceManager;
   private ProjectRequestDTO validRequest;
+  private VersionCatalog previousCatalog;
 
   @BeforeEach
   void setUp() {
     validRequest = createValidRequest();
+    previousCatalog = artifactVersionService.currentCatalog();
+    artifactVersionService.publishCatalog(catalogFor(validRequest));
+  }
+
+  @AfterEach
+  void restoreCatalog() {
+    artifactVersionService.publishCatalog(previousCatalog);
   }
 
   @Test
   void testProjectGenerationSuccess() {
     // When
-    ResponseEntity<byte[]> response = projectController.generateProject(validRequest);
+    ResponseEntity<StreamingResponseBody> response =
+        projectController.generateProject(validRequest);
 
     // Then
     assertAll(
@@ -60,7 +110,7 @@ class ProjectControllerTest {
         () -> assertNotNull(response.getBody(), "Response body should not be null"),
         () -> {
           assertNotNull(response.getBody());
-          assertTrue(response.getBody().length > 0, "Response body should contain ZIP data");
+          assertTrue(body(response).length > 0, "Response body should contain ZIP data");
         },
         () ->
             assertTrue(
@@ -93,7 +143,7 @@ class ProjectControllerTest {
     request.setArtifactId(artifactId);
 
     // When
-    ResponseEntity<byte[]> response = projectController.generateProject(request);
+    ResponseEntity<StreamingResponseBody> response = projectController.generateProject(request);
 
     // Then
     assertAll(
@@ -102,7 +152,7 @@ class ProjectControllerTest {
         () -> assertNotNull(response.getBody(), "Response body should not be null"),
         () -> {
           assertNotNull(response.getBody());
-          assertTrue(response.getBody().length > 0, "Response body should contain ZIP data");
+          assertTrue(body(response).length > 0, "Response body should contain ZIP data");
         },
         () ->
             assertTrue(
@@ -111,6 +161,197 @@ class ProjectControllerTest {
                 "Filename should match artifact ID: " + artifactId));
   }
 
+  @Test
+  void testStreamedArchiveContainsProjectFiles() throws IOException {
+    // When
+    ResponseEntity<StreamingResponseBody> response =
+        projectController.generateProject(validRequest);
+
+    // Then
+    Set<String> entries = new HashSet<>();
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(body(response)))) {
+      ZipEntry entry;
+      while ((entry = zip.getNextEntry()) != null) {
+        entries.add(entry.getName());
+      }
+    }
+    assertEquals(MediaType.APPLICATION_OCTET_STREAM, response.getHeaders().getContentType());
+    assertTrue(entries.contains("pom.xml"), "Archive should contain the POM");
+    assertTrue(entries.contains("README.md"), "Archive should contain the README");
+  }
+
+  @Test
+  void testDownloadRespondsNotModifiedForMatchingETag() {
+    // Given
+    String etag = key(validRequest).etag();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects/generate");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+    // When
+    ResponseEntity<StreamingResponseBody> response =
+        projectController.downloadProject(
+            validRequest, new ServletWebRequest(request, new MockHttpServletResponse()));
+
+    // Then
+    assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    assertEquals(etag, response.getHeaders().getETag());
+    assertNull(response.getBody());
+  }
+
+  @Test
+  void testDownloadedArchiveCarriesETagAndCacheControl() throws IOException {
+    // Given
+    ProjectRequestDTO request = createValidRequest();
+    request.setArtifactId("cached-project");
+    ArchiveKey key = key(request);
+    byte[] archive = {'P', 'K', 5, 6};
+    archiveCache.put(key, archive);
+
+    // When
+    ResponseEntity<StreamingResponseBody> response =
+        projectController.downloadProject(
+            request,
+            new ServletWebRequest(
+                new MockHttpServletRequest("GET", "/projects/generate"),
+                new MockHttpServletResponse()));
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(key.etag(), response.getHeaders().getETag());
+    assertEquals("max-age=3600, public", response.getHeaders().getCacheControl());
+    assertArrayEquals(archive, body(response));
+  }
+
+  @Test
+  void testDownloadIgnoresETagIfTheCatalogLacksAVersion() {
+    // Given
+    String etag = key(validRequest).etag();
+    artifactVersionService.publishCatalog(VersionCatalog.empty());
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/projects/generate");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+    MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+    // When
+    ResponseEntity<StreamingResponseBody> response =
+        projectController.downloadProject(
+            validRequest, new ServletWebRequest(request, servletResponse));
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertNull(response.getHeaders().getETag());
+    assertNull(servletResponse.getHeader(HttpHeaders.ETAG));
+    assertEquals("no-store", response.getHeaders().getCacheControl());
+  }
+
+  @Test
+  void testDegradedArchiveCarriesNoETag() {
+    // Given
+    ProjectRequestDTO request = createValidRequest();
+    request.setArtifactId("degraded-project");
+    ProjectController controller =
+        controllerGenerating(
+            ProjectGenerationResult.create(
+                true, true, new ProjectTree(), Set.of(GenerationStage.WRAPPER)));
+    MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+    // When
+    ResponseEntity<StreamingResponseBody> response =
+        controller.downloadProject(
+            request,
+            new ServletWebRequest(
+                new MockHttpServletRequest("GET", "/projects/generate"), servletResponse));
+
+    // Then
+    assertNotNull(key(request));
+    assertNull(response.getHeaders().getETag());
+    assertNull(servletResponse.getHeader(HttpHeaders.ETAG));
+    assertEquals("no-store", response.getHeaders().getCacheControl());
+  }
+
+  @Test
+  void testArchiveWithVersionsFromOutsideTheCatalogIsNeitherTaggedNorCached() throws IOException {
+    // Given
+    ProjectRequestDTO request = createValidRequest();
+    request.setArtifactId("uncataloged-project");
+    ProjectController controller =
+        controllerGenerating(
+            ProjectGenerationResult.create(true, false, new ProjectTree(), Set.of()));
+    MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+    // When
+    ResponseEntity<StreamingResponseBody> response =
+        controller.downloadProject(
+            request,
+            new ServletWebRequest(
+                new MockHttpServletRequest("GET", "/projects/generate"), servletResponse));
+    body(response);
+
+    // Then
+    assertNotNull(key(request));
+    assertNull(archiveCache.get(key(request)));
+    assertNull(response.getHeaders().getETag());
+    assertNull(servletResponse.getHeader(HttpHeaders.ETAG));
+    assertEquals("no-store", response.getHeaders().getCacheControl());
+  }
+
+  @Test
+  void testAssertionLibraryIsBoundFromQueryParameters() {
+    // Given
+    ProjectRequestDTO request = new ProjectRequestDTO();
+    WebDataBinder binder = new WebDataBinder(request);
+    projectController.registerEditors(binder);
+
+    // When
+    binder.bind(new MutablePropertyValues(Map.of("assertionLibrary", "assertj")));
+
+    // Then
+    assertEquals(AssertionLibrary.ASSERTJ, request.getAssertionLibrary());
+  }
+
+  @Test
+  void testQuotaExceededRespondsWithRetryAfter() {
+    // When
+    ResponseEntity<Void> response =
+        projectController.handleWorkspaceQuotaExceeded(
+            new WorkspaceQuotaExceededException(1024, 1024, Duration.ofSeconds(5)));
+
+    // Then
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+    assertEquals("5", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+  }
+
+  /** A controller whose generator returns the given result for every request. */
+  private ProjectController controllerGenerating(ProjectGenerationResult result) {
+    ProjectGeneratorService generator = Mockito.mock(ProjectGeneratorService.class);
+    Mockito.when(generator.versionedArtifacts(Mockito.any()))
+        .thenAnswer(call -> projectGeneratorService.versionedArtifacts(call.getArgument(0)));
+    Mockito.when(generator.startDeadline()).thenReturn(Deadline.after(Duration.ofMinutes(1)));
+    Mockito.when(generator.generateProject(Mockito.any(), Mockito.any())).thenReturn(result);
+    Mockito.when(generator.streamProjectZip(Mockito.any(), Mockito.any())).thenReturn(out -> {});
+    return new ProjectController(generator, workspaceManager, archiveCache);
+  }
+
+  private ArchiveKey key(ProjectRequestDTO request) {
+    return archiveCache.key(request, projectGeneratorService.versionedArtifacts(request));
+  }
+
+  /** A catalog with a version for every artifact of the request. */
+  private VersionCatalog catalogFor(ProjectRequestDTO request) {
+    Instant now = Instant.now();
+    Map<ArtifactCoordinate, VersionCatalog.Entry> entries = new HashMap<>();
+    projectGeneratorService
+        .versionedArtifacts(request)
+        .forEach(artifact -> entries.put(artifact, new VersionCatalog.Entry("1.0.0", now)));
+    return new VersionCatalog(entries, now, now);
+  }
+
+  private static byte[] body(ResponseEntity<StreamingResponseBody> response) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Objects.requireNonNull(response.getBody()).writeTo(out);
+    return out.toByteArray();
+  }
+
   private ProjectRequestDTO createValidRequest() {
     ProjectRequestDTO request = new ProjectRequestDTO();
     request.setGroupId("com.example");
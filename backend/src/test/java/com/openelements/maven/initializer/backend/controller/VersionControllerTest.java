@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.CatalogArtifacts;
+import com.openelements.maven.initializer.backend.domain.ResolvedVersion;
+import com.openelements.maven.initializer.backend.domain.VersionPolicy;
+import com.openelements.maven.initializer.backend.dto.ArtifactVersionDTO;
+import com.openelements.maven.initializer.backend.service.ParallelVersionResolver;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith(MockitoExtension.class)
+class VersionControllerTest {
+
+  @Mock private ParallelVersionResolver versionResolver;
+
+  private VersionController versionController;
+
+  @BeforeEach
+  void setUp() {
+    versionController = new VersionController(versionResolver);
+  }
+
+  @Test
+  void returnsVersionsInRequestOrder() {
+    // Given
+    stubVersions(
+        Map.of(
+            CatalogArtifacts.JACOCO_MAVEN_PLUGIN, ResolvedVersion.cached("0.8.13"),
+            CatalogArtifacts.JUNIT_BOM, ResolvedVersion.fallback()));
+
+    // When
+    ResponseEntity<List<ArtifactVersionDTO>> response =
+        versionController.lookupVersions(
+            List.of("org.jacoco:jacoco-maven-plugin", "org.junit:junit-bom:pom"),
+            "newest",
+            webRequest(null));
+
+    // Then
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertNotNull(response.getHeaders().getETag());
+    assertEquals(
+        List.of(
+            new ArtifactVersionDTO("org.jacoco", "jacoco-maven-plugin", "jar", "0.8.13", false),
+            new ArtifactVersionDTO("org.junit", "junit-bom", "pom", "TODO", true)),
+        response.getBody());
+  }
+
+  @Test
+  void answersNotModifiedForMatchingEtag() {
+    // Given
+    stubVersions(Map.of(CatalogArtifacts.JACOCO_MAVEN_PLUGIN, ResolvedVersion.live("0.8.13")));
+    String etag =
+        versionController
+            .lookupVersions(List.of("org.jacoco:jacoco-maven-plugin"), "newest", webRequest(null))
+            .getHeaders()
+            .getETag();
+
+    // When
+    ResponseEntity<List<ArtifactVersionDTO>> response =
+        versionController.lookupVersions(
+            List.of("org.jacoco:jacoco-maven-plugin"), "newest", webRequest(etag));
+
+    // Then
+    assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    assertNull(response.getBody());
+  }
+
+  @Test
+  void rejectsInvalidCoordinates() {
+    assertThrows(
+        ResponseStatusException.class,
+        () -> versionController.lookupVersions(List.of("org.jacoco"), "newest", webRequest(null)));
+  }
+
+  @Test
+  void rejectsCoordinatesThatAreNoRepositoryPath() {
+    for (String artifact :
+        List.of("org/jacoco:jacoco-maven-plugin", "org..jacoco:plugin", "org.jacoco:..", "g:a b")) {
+      assertThrows(
+          ResponseStatusException.class,
+          () -> versionController.lookupVersions(List.of(artifact), "newest", webRequest(null)),
+          artifact);
+    }
+    Mockito.verifyNoInteractions(versionResolver);
+  }
+
+  @Test
+  void resolvesWithRequestedPolicy() {
+    // Given
+    Mockito.when(
+            versionResolver.resolveAll(
+                Mockito.anyCollection(), Mockito.eq(new VersionPolicy.NewestPatch(5, 12))))
+        .thenReturn(
+            new ParallelVersionResolver.Resolution(
+                Map.of(CatalogArtifacts.JUNIT_BOM, ResolvedVersion.live("5.12.2")), Set.of()));
+
+    // When
+    ResponseEntity<List<ArtifactVersionDTO>> response =
+        versionController.lookupVersions(
+            List.of("org.junit:junit-bom:pom"), "patch:5.12", webRequest(null));
+
+    // Then
+    assertEquals(
+        List.of(new ArtifactVersionDTO("org.junit", "junit-bom", "pom", "5.12.2", false)),
+        response.getBody());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"patch:5", "min-age:-1d", "min-age:9223372036854775807d"})
+  void rejectsInvalidPolicy(String policy) {
+    // When
+    ResponseStatusException exception =
+        assertThrows(
+            ResponseStatusException.class,
+            () ->
+                versionController.lookupVersions(
+                    List.of("org.junit:junit-bom:pom"), policy, webRequest(null)));
+
+    // Then
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+  }
+
+  private void stubVersions(Map<ArtifactCoordinate, ResolvedVersion> versions) {
+    Mockito.when(versionResolver.resolveAll(Mockito.anyCollection()))
+        .thenAnswer(
+            invocation -> {
+              Map<ArtifactCoordinate, ResolvedVersion> ordered = new LinkedHashMap<>();
+              for (Object coordinate : invocation.getArgument(0, Collection.class)) {
+                ordered.put((ArtifactCoordinate) coordinate, versions.get(coordinate));
+              }
+              return new ParallelVersionResolver.Resolution(ordered, Set.of());
+            });
+  }
+
+  private static ServletWebRequest webRequest(String ifNoneMatch) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/versions");
+    if (ifNoneMatch != null) {
+      request.addHeader("If-None-Match", ifNoneMatch);
+    }
+    return new ServletWebRequest(request, new MockHttpServletResponse());
+  }
+}
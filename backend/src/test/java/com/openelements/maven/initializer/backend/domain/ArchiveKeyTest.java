@@ -0,0 +1,76 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
+import org.junit.jupiter.api.Test;
+
+class ArchiveKeyTest {
+
+  @Test
+  void equalRequestsHaveTheSameFingerprint() {
+    assertEquals(ArchiveKey.fingerprint(createRequest()), ArchiveKey.fingerprint(createRequest()));
+  }
+
+  @Test
+  void missingAssertionLibraryIsTheSameAsNone() {
+    // Given
+    ProjectRequestDTO withoutLibrary = createRequest();
+    withoutLibrary.setAssertionLibrary(null);
+    ProjectRequestDTO none = createRequest();
+    none.setAssertionLibrary(AssertionLibrary.NONE);
+
+    // Then
+    assertEquals(ArchiveKey.fingerprint(none), ArchiveKey.fingerprint(withoutLibrary));
+  }
+
+  @Test
+  void everyOptionChangesTheFingerprint() {
+    String fingerprint = ArchiveKey.fingerprint(createRequest());
+
+    ProjectRequestDTO emptyName = createRequest();
+    emptyName.setName("");
+    ProjectRequestDTO missingName = createRequest();
+    missingName.setName(null);
+    ProjectRequestDTO movedSeparator = createRequest();
+    movedSeparator.setGroupId("com.exampled");
+    movedSeparator.setArtifactId("emo");
+    ProjectRequestDTO spotless = createRequest();
+    spotless.setIncludeSpotless(true);
+    ProjectRequestDTO assertj = createRequest();
+    assertj.setAssertionLibrary(AssertionLibrary.ASSERTJ);
+
+    assertNotEquals(fingerprint, ArchiveKey.fingerprint(emptyName));
+    assertNotEquals(ArchiveKey.fingerprint(emptyName), ArchiveKey.fingerprint(missingName));
+    assertNotEquals(fingerprint, ArchiveKey.fingerprint(movedSeparator));
+    assertNotEquals(fingerprint, ArchiveKey.fingerprint(spotless));
+    assertNotEquals(fingerprint, ArchiveKey.fingerprint(assertj));
+  }
+
+  private static ProjectRequestDTO createRequest() {
+    ProjectRequestDTO request = new ProjectRequestDTO();
+    request.setGroupId("com.example");
+    request.setArtifactId("demo");
+    request.setName("Demo");
+    return request;
+  }
+}
@@ -19,9 +19,32 @@
 package com.openelements.maven.initializer.backend.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.CatalogArtifacts;
+import com.openelements.maven.initializer.backend.domain.ResolvedVersion;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import com.openelements.maven.initializer.backend.domain.VersionPolicy;
+import com.openelements.maven.initializer.backend.domain.VersionSource;
+import eu.maveniverse.maven.toolbox.shared.ArtifactVersionMatcher;
 import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
 import eu.maveniverse.maven.toolbox.shared.ToolboxResolver;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.aether.resolution.VersionRangeResolutionException;
 import org.eclipse.aether.version.Version;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,12 +62,26 @@ class ArtifactVersionServiceTest {
   @Mock private ToolboxResolver toolboxResolver;
   @Mock private Version version;
 
+  private MutableClock clock;
+  private CircuitBreaker circuitBreaker;
   private ArtifactVersionService artifactVersionService;
 
   @BeforeEach
   void setUp() {
     Mockito.when(toolboxCommando.getToolboxResolver()).thenReturn(toolboxResolver);
-    artifactVersionService = new ArtifactVersionService(toolboxCommando);
+    clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    circuitBreaker = new CircuitBreaker(2, Duration.ofSeconds(5), Duration.ofSeconds(30), 1, clock);
+    VersionCache versionCache =
+        new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 16, clock);
+    artifactVersionService =
+        new ArtifactVersionService(
+            toolboxCommando,
+            versionCache,
+            Duration.ofSeconds(30),
+            Optional.empty(),
+            circuitBreaker,
+            VersionResolutionMetrics.noop(),
+            clock);
   }
 
   @Test
@@ -73,4 +110,331 @@ class ArtifactVersionServiceTest {
 
     assertEquals("TODO", resolved);
   }
+
+  @Test
+  void servesRepeatedLookupsFromCache() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenReturn(version);
+    Mockito.when(version.toString()).thenReturn("1.2.3");
+
+    artifactVersionService.resolveLatestPluginVersion("g", "a");
+    String resolved = artifactVersionService.resolveLatestPluginVersion("g", "a");
+
+    assertEquals("1.2.3", resolved);
+    Mockito.verify(toolboxResolver, Mockito.times(1))
+        .findNewestVersion(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void cachesPluginAndBomLookupsSeparately() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenReturn(version);
+    Mockito.when(version.toString()).thenReturn("1.2.3");
+
+    artifactVersionService.resolveLatestPluginVersion("g", "a");
+    artifactVersionService.resolveLatestDependencyBomVersion("g", "a");
+
+    Mockito.verify(toolboxResolver, Mockito.times(2))
+        .findNewestVersion(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void servesPublishedCatalogWithoutRepositoryLookup() throws Exception {
+    artifactVersionService.publishCatalog(
+        new VersionCatalog(
+            Map.of(
+                ArtifactCoordinate.plugin("g", "a"),
+                new VersionCatalog.Entry("4.5.6", Instant.now())),
+            Instant.now(),
+            Instant.now()));
+
+    String resolved = artifactVersionService.resolveLatestPluginVersion("g", "a");
+
+    assertEquals("4.5.6", resolved);
+    Mockito.verify(toolboxResolver, Mockito.never())
+        .findNewestVersion(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void reportsWhereAVersionCameFrom() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenReturn(version);
+    Mockito.when(version.toString()).thenReturn("1.2.3");
+    ArtifactCoordinate coordinate = ArtifactCoordinate.plugin("g", "a");
+
+    ResolvedVersion first = artifactVersionService.resolve(coordinate);
+    ResolvedVersion second = artifactVersionService.resolve(coordinate);
+
+    assertEquals(ResolvedVersion.live("1.2.3"), first);
+    assertEquals(ResolvedVersion.cached("1.2.3"), second);
+  }
+
+  @Test
+  void reportsCachedFailuresAsFallback() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenThrow(new VersionRangeResolutionException(null, "resolution failed"));
+    ArtifactCoordinate coordinate = ArtifactCoordinate.bom("g", "a");
+
+    artifactVersionService.resolve(coordinate);
+    ResolvedVersion resolved = artifactVersionService.resolve(coordinate);
+
+    assertEquals(VersionSource.FALLBACK, resolved.source());
+  }
+
+  @Test
+  void coalescesConcurrentLookupsOfTheSameArtifact() throws Exception {
+    int callers = 8;
+    CountDownLatch lookupStarted = new CountDownLatch(1);
+    CountDownLatch releaseLookup = new CountDownLatch(1);
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenAnswer(
+            invocation -> {
+              lookupStarted.countDown();
+              releaseLookup.await(5, TimeUnit.SECONDS);
+              return version;
+            });
+    Mockito.when(version.toString()).thenReturn("1.2.3");
+    ArtifactCoordinate coordinate = ArtifactCoordinate.plugin("g", "a");
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<ResolvedVersion>> results = new ArrayList<>();
+      results.add(executor.submit(() -> artifactVersionService.resolve(coordinate)));
+      assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+      for (int i = 1; i < callers; i++) {
+        results.add(executor.submit(() -> artifactVersionService.resolve(coordinate)));
+      }
+      Thread.sleep(100);
+      releaseLookup.countDown();
+
+      for (Future<ResolvedVersion> result : results) {
+        assertEquals("1.2.3", result.get(5, TimeUnit.SECONDS).version());
+      }
+    }
+    Mockito.verify(toolboxResolver, Mockito.times(1))
+        .findNewestVersion(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void prefersMetadataFastPathAndFallsBackToResolver() throws Exception {
+    MetadataVersionResolver metadataVersionResolver = Mockito.mock(MetadataVersionResolver.class);
+    ArtifactVersionService withMetadata =
+        new ArtifactVersionService(
+            toolboxCommando,
+            new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 16, Clock.systemUTC()),
+            Duration.ofSeconds(30),
+            Optional.of(metadataVersionResolver),
+            circuitBreaker,
+            VersionResolutionMetrics.noop(),
+            clock);
+    ArtifactCoordinate fromMetadata = ArtifactCoordinate.plugin("g", "metadata");
+    ArtifactCoordinate fromResolver = ArtifactCoordinate.plugin("g", "resolver");
+    Mockito.when(metadataVersionResolver.findNewestVersion(Mockito.eq(fromMetadata), Mockito.any()))
+        .thenReturn(Optional.of("2.0.0"));
+    Mockito.when(metadataVersionResolver.findNewestVersion(Mockito.eq(fromResolver), Mockito.any()))
+        .thenReturn(Optional.empty());
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenReturn(version);
+    Mockito.when(version.toString()).thenReturn("1.2.3");
+
+    assertEquals(Optional.of("2.0.0"), withMetadata.resolveFromRepository(fromMetadata));
+    assertEquals(Optional.of("1.2.3"), withMetadata.resolveFromRepository(fromResolver));
+    Mockito.verify(toolboxResolver, Mockito.times(1))
+        .findNewestVersion(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void servesLastKnownGoodVersionWhenRepositoryFails() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenReturn(version)
+        .thenThrow(new VersionRangeResolutionException(null, "resolution failed"));
+    Mockito.when(version.toString()).thenReturn("1.2.3");
+    ArtifactCoordinate coordinate = ArtifactCoordinate.plugin("g", "a");
+
+    artifactVersionService.resolve(coordinate);
+    clock.advance(Duration.ofHours(2));
+    ResolvedVersion resolved = artifactVersionService.resolve(coordinate);
+
+    assertEquals(ResolvedVersion.cached("1.2.3"), resolved);
+  }
+
+  @Test
+  void skipsRepositoryWhileCircuitBreakerIsOpen() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenThrow(new VersionRangeResolutionException(null, "resolution failed"));
+
+    artifactVersionService.resolve(ArtifactCoordinate.plugin("g", "a"));
+    artifactVersionService.resolve(ArtifactCoordinate.plugin("g", "b"));
+    ResolvedVersion resolved = artifactVersionService.resolve(ArtifactCoordinate.plugin("g", "c"));
+
+    assertEquals(ResolvedVersion.fallback(), resolved);
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+    Mockito.verify(toolboxResolver, Mockito.times(2))
+        .findNewestVersion(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void unknownArtifactsDoNotOpenTheCircuitBreaker() throws Exception {
+    // Given
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any())).thenReturn(null);
+
+    // When
+    for (int i = 0; i < 5; i++) {
+      artifactVersionService.resolve(ArtifactCoordinate.plugin("g", "missing-" + i));
+    }
+
+    // Then
+    assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.state());
+    Mockito.verify(toolboxResolver, Mockito.times(5))
+        .findNewestVersion(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void metadataFailureCountsOnlyIfTheResolverFindsNothingEither() throws Exception {
+    // Given
+    MetadataVersionResolver metadataVersionResolver = Mockito.mock(MetadataVersionResolver.class);
+    ArtifactVersionService withMetadata =
+        new ArtifactVersionService(
+            toolboxCommando,
+            new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 16, clock),
+            Duration.ofSeconds(30),
+            Optional.of(metadataVersionResolver),
+            circuitBreaker,
+            VersionResolutionMetrics.noop(),
+            clock);
+    Mockito.when(metadataVersionResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenThrow(new IOException("Service Unavailable"));
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenReturn(version)
+        .thenReturn(null);
+    Mockito.when(version.toString()).thenReturn("1.2.3");
+
+    // When
+    Optional<String> resolved =
+        withMetadata.resolveFromRepository(ArtifactCoordinate.plugin("g", "a"));
+    withMetadata.resolveFromRepository(ArtifactCoordinate.plugin("g", "b"));
+    withMetadata.resolveFromRepository(ArtifactCoordinate.plugin("g", "c"));
+
+    // Then
+    assertEquals(Optional.of("1.2.3"), resolved);
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+  }
+
+  @Test
+  void selectsVersionsByPolicyFromIndex() throws Exception {
+    MetadataVersionResolver metadataVersionResolver = Mockito.mock(MetadataVersionResolver.class);
+    ArtifactVersionService withMetadata =
+        new ArtifactVersionService(
+            toolboxCommando,
+            new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 16, clock),
+            Duration.ofSeconds(30),
+            Optional.of(metadataVersionResolver),
+            circuitBreaker,
+            VersionResolutionMetrics.noop(),
+            clock);
+    Mockito.when(metadataVersionResolver.findVersionIndex(Mockito.any(), Mockito.any()))
+        .thenReturn(
+            Optional.of(
+                VersionIndex.of(
+                    List.of("5.12.2", "5.13.4", "6.0.0"),
+                    Map.of(
+                        "5.12.2", Instant.parse("2024-12-01T00:00:00Z"),
+                        "5.13.4", Instant.parse("2024-12-20T00:00:00Z")),
+                    ArtifactVersionMatcher.noSnapshotsAndPreviews())));
+
+    assertEquals(
+        ResolvedVersion.live("5.12.2"),
+        withMetadata.resolve(CatalogArtifacts.JUNIT_BOM, new VersionPolicy.NewestPatch(5, 12)));
+    assertEquals(
+        ResolvedVersion.live("5.12.2"),
+        withMetadata.resolve(
+            CatalogArtifacts.JUNIT_BOM, new VersionPolicy.MinimumAge(Duration.ofDays(14))));
+    assertEquals(
+        ResolvedVersion.live("5.13.4"),
+        withMetadata.resolve(CatalogArtifacts.JUNIT_BOM, new VersionPolicy.Baseline(11, 3)));
+    assertEquals(
+        ResolvedVersion.live("6.0.0"),
+        withMetadata.resolve(CatalogArtifacts.JUNIT_BOM, new VersionPolicy.Baseline(17, 3)));
+    assertEquals(
+        ResolvedVersion.fallback(),
+        withMetadata.resolve(CatalogArtifacts.JUNIT_BOM, new VersionPolicy.NewestPatch(4, 0)));
+  }
+
+  @Test
+  void policyLookupsAreCachedAndGuardedByTheCircuitBreaker() throws Exception {
+    // Given
+    MetadataVersionResolver metadataVersionResolver = Mockito.mock(MetadataVersionResolver.class);
+    ArtifactVersionService withMetadata =
+        new ArtifactVersionService(
+            toolboxCommando,
+            new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 16, clock),
+            Duration.ofSeconds(30),
+            Optional.of(metadataVersionResolver),
+            circuitBreaker,
+            VersionResolutionMetrics.noop(),
+            clock);
+    Mockito.when(
+            metadataVersionResolver.findVersionIndex(
+                Mockito.eq(CatalogArtifacts.JUNIT_BOM), Mockito.any()))
+        .thenReturn(
+            Optional.of(
+                VersionIndex.of(
+                    List.of("5.12.2"), Map.of(), ArtifactVersionMatcher.noSnapshotsAndPreviews())));
+    Mockito.when(
+            metadataVersionResolver.findVersionIndex(
+                Mockito.eq(CatalogArtifacts.ASSERTJ_BOM), Mockito.any()))
+        .thenThrow(new IOException("Service Unavailable"));
+    VersionPolicy policy = new VersionPolicy.NewestPatch(5, 12);
+
+    // When
+    ResolvedVersion first = withMetadata.resolve(CatalogArtifacts.JUNIT_BOM, policy);
+    ResolvedVersion second = withMetadata.resolve(CatalogArtifacts.JUNIT_BOM, policy);
+    for (int i = 0; i < 3; i++) {
+      withMetadata.resolve(CatalogArtifacts.ASSERTJ_BOM, new VersionPolicy.NewestPatch(i, 0));
+    }
+
+    // Then
+    assertEquals(ResolvedVersion.live("5.12.2"), first);
+    assertEquals(ResolvedVersion.cached("5.12.2"), second);
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.state());
+    Mockito.verify(metadataVersionResolver, Mockito.times(1))
+        .findVersionIndex(Mockito.eq(CatalogArtifacts.JUNIT_BOM), Mockito.any());
+    Mockito.verify(metadataVersionResolver, Mockito.times(2))
+        .findVersionIndex(Mockito.eq(CatalogArtifacts.ASSERTJ_BOM), Mockito.any());
+  }
+
+  @Test
+  void fallsBackForPoliciesWithoutVersionIndex() {
+    assertEquals(
+        ResolvedVersion.fallback(),
+        artifactVersionService.resolve(
+            CatalogArtifacts.JUNIT_BOM, new VersionPolicy.NewestPatch(5, 12)));
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
 }
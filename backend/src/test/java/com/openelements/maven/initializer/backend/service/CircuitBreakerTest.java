@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private MutableClock clock;
+  private CircuitBreaker breaker;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    breaker = new CircuitBreaker(2, Duration.ofSeconds(1), Duration.ofSeconds(30), 1, clock);
+  }
+
+  @Test
+  void opensAfterConsecutiveFailures() {
+    breaker.tryAcquire();
+    breaker.onFailure();
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+
+    breaker.tryAcquire();
+    breaker.onFailure();
+    assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    assertFalse(breaker.tryAcquire());
+  }
+
+  @Test
+  void countsSlowCallsAsFailures() {
+    breaker.onSuccess(Duration.ofSeconds(2));
+    breaker.onSuccess(Duration.ofSeconds(2));
+
+    assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+  }
+
+  @Test
+  void successResetsFailureCount() {
+    breaker.onFailure();
+    breaker.onSuccess(Duration.ofMillis(10));
+    breaker.onFailure();
+
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+  }
+
+  @Test
+  void permitsOneTrialAfterOpenDurationAndClosesOnSuccess() {
+    breaker.onFailure();
+    breaker.onFailure();
+    clock.advance(Duration.ofSeconds(30));
+
+    assertTrue(breaker.tryAcquire());
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.state());
+    assertFalse(breaker.tryAcquire(), "Only one trial call is permitted");
+
+    breaker.onSuccess(Duration.ofMillis(10));
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+  }
+
+  @Test
+  void reopensWhenTrialFails() {
+    breaker.onFailure();
+    breaker.onFailure();
+    clock.advance(Duration.ofSeconds(30));
+
+    breaker.tryAcquire();
+    breaker.onFailure();
+
+    assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    assertFalse(breaker.tryAcquire());
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.openelements.maven.initializer.backend.config.MavenWrapperProperties;
+import com.openelements.maven.initializer.backend.config.OfflineProperties;
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperException;
+import com.openelements.maven.initializer.backend.service.MavenWrapperDistributionStore.Distribution;
+import com.openelements.maven.initializer.backend.service.MavenWrapperDistributionStore.WrapperFiles;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MavenWrapperDistributionStoreTest {
+
+  private static final Distribution DISTRIBUTION = MavenWrapperService.DISTRIBUTION;
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+  @TempDir private Path tempDir;
+
+  @Test
+  void bundledDistributionIsServedFromMemoryAfterTheFirstUse() {
+    // Given
+    MavenWrapperDistributionStore store =
+        new MavenWrapperDistributionStore(
+            offline(tempDir.resolve("repository")),
+            new MavenWrapperProperties(null, true),
+            HttpClient.newHttpClient());
+
+    // When
+    WrapperFiles first = store.get(DISTRIBUTION, TIMEOUT);
+    WrapperFiles second = store.get(DISTRIBUTION, TIMEOUT);
+
+    // Then
+    assertSame(first, second);
+    assertTrue(store.isLoaded(DISTRIBUTION));
+    assertEquals(ProjectTree.EXECUTABLE_MODE, first.files().get("mvnw").mode());
+    assertEquals(ProjectTree.FILE_MODE, first.files().get("mvnw.cmd").mode());
+    assertEquals(3, first.files().size());
+  }
+
+  @Test
+  void verifiedDistributionIsKeptInTheStoreDirectory() throws IOException {
+    // Given
+    Path localRepository = tempDir.resolve("repository");
+    MavenWrapperServiceTest.seedLocalDistribution(localRepository);
+    Path storeDirectory = tempDir.resolve("store");
+    store(localRepository, storeDirectory).get(DISTRIBUTION, TIMEOUT);
+    Files.delete(localRepository.resolve(DISTRIBUTION.repositoryPath()));
+
+    // When
+    MavenWrapperDistributionStore restarted = store(localRepository, storeDirectory);
+    ProjectTree tree = new ProjectTree();
+    restarted.get(DISTRIBUTION, TIMEOUT).copyTo(tree);
+
+    // Then
+    assertTrue(Files.isRegularFile(storeDirectory.resolve(DISTRIBUTION.repositoryPath())));
+    assertTrue(tree.get("mvnw").isExecutable());
+    assertEquals(
+        "wrapperVersion=3.3.4\n"
+            + "distributionType=only-script\n"
+            + "distributionUrl=https://repo.maven.apache.org/maven2/org/apache/maven/"
+            + "apache-maven/3.9.11/apache-maven-3.9.11-bin.zip\n",
+        new String(
+            tree.get(".mvn/wrapper/maven-wrapper.properties").content(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void distributionThatDoesNotMatchItsChecksumIsRejected() throws IOException {
+    // Given
+    Path localRepository = tempDir.resolve("repository");
+    Path distribution = localRepository.resolve(DISTRIBUTION.repositoryPath());
+    Files.createDirectories(distribution.getParent());
+    Files.write(distribution, new byte[] {'P', 'K', 3, 4});
+    Path storeDirectory = tempDir.resolve("store");
+    MavenWrapperDistributionStore store = store(localRepository, storeDirectory);
+
+    // When
+    MavenWrapperException exception =
+        assertThrows(MavenWrapperException.class, () -> store.get(DISTRIBUTION, TIMEOUT));
+
+    // Then
+    assertTrue(exception.getMessage().contains("SHA-512"));
+    assertFalse(store.isLoaded(DISTRIBUTION));
+    assertFalse(Files.exists(storeDirectory.resolve(DISTRIBUTION.repositoryPath())));
+  }
+
+  @Test
+  void corruptCopyInTheStoreDirectoryIsReplaced() throws IOException {
+    // Given
+    Path storeDirectory = tempDir.resolve("store");
+    Path stored = storeDirectory.resolve(DISTRIBUTION.repositoryPath());
+    Files.createDirectories(stored.getParent());
+    Files.write(stored, new byte[] {1, 2, 3});
+    Path localRepository = tempDir.resolve("repository");
+    MavenWrapperServiceTest.seedLocalDistribution(localRepository);
+
+    // When
+    store(localRepository, storeDirectory).get(DISTRIBUTION, TIMEOUT);
+
+    // Then
+    assertEquals(
+        Files.size(localRepository.resolve(DISTRIBUTION.repositoryPath())), Files.size(stored));
+  }
+
+  /** A store without bundled distributions, so that they come from the local repository. */
+  private static MavenWrapperDistributionStore store(Path localRepository, Path storeDirectory) {
+    return new MavenWrapperDistributionStore(
+        offline(localRepository),
+        new MavenWrapperProperties(storeDirectory, false),
+        HttpClient.newHttpClient());
+  }
+
+  private static OfflineProperties offline(Path localRepository) {
+    return new OfflineProperties(true, null, localRepository);
+  }
+}
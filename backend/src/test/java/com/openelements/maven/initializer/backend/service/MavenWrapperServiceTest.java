@@ -19,105 +19,84 @@
 package com.openelements.maven.initializer.backend.service;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import com.openelements.maven.initializer.backend.exception.MavenWrapperException;
+import com.openelements.maven.initializer.backend.config.MavenWrapperProperties;
+import com.openelements.maven.initializer.backend.config.OfflineProperties;
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperUnavailableException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.stream.Stream;
+import java.time.Duration;
+import java.util.Objects;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 class MavenWrapperServiceTest {
 
+  private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
   private MavenWrapperService mavenWrapperService;
 
   @BeforeEach
   void setUp() {
-    mavenWrapperService = new MavenWrapperService();
+    mavenWrapperService =
+        new MavenWrapperService(
+            new MavenWrapperDistributionStore(
+                new OfflineProperties(false, null, null),
+                new MavenWrapperProperties(null, true),
+                HttpClient.newHttpClient()));
   }
 
   @Test
-  void testAddMavenWrapperSuccess(@TempDir Path tempDir) throws IOException {
+  void testAddMavenWrapperSuccess() {
     // Given
-    copyValidTestProject(tempDir);
+    ProjectTree tree = new ProjectTree();
 
     // When
-    mavenWrapperService.addMavenWrapper(tempDir);
+    mavenWrapperService.addMavenWrapper(tree, TIMEOUT);
 
     // Then
     assertAll(
-        () -> assertTrue(Files.exists(tempDir.resolve("mvnw")), "mvnw file should exist"),
-        () -> assertTrue(Files.exists(tempDir.resolve("mvnw.cmd")), "mvnw.cmd file should exist"),
+        () -> assertTrue(tree.contains("mvnw"), "mvnw file should exist"),
+        () -> assertTrue(tree.contains("mvnw.cmd"), "mvnw.cmd file should exist"),
         () ->
             assertTrue(
-                Files.exists(tempDir.resolve(".mvn/wrapper/maven-wrapper.properties")),
+                tree.contains(".mvn/wrapper/maven-wrapper.properties"),
                 "maven-wrapper.properties should exist"),
-        () ->
-            assertTrue(
-                Files.isDirectory(tempDir.resolve(".mvn/wrapper")),
-                ".mvn/wrapper directory should exist"));
-
-    // The jar file may or may not exist depending on Apache Maven™ Wrapper plugin version
-    // Newer versions may download it on-demand
-    Path jarPath = tempDir.resolve(".mvn/wrapper/maven-wrapper.jar");
-    if (Files.exists(jarPath)) {
-      assertTrue(
-          Files.isRegularFile(jarPath), "maven-wrapper.jar should be a regular file if it exists");
-    }
+        () -> assertTrue(tree.get("mvnw").isExecutable(), "mvnw should be executable"),
+        () -> assertFalse(tree.contains(".mvn/wrapper/maven-wrapper.jar"), "No jar is added"));
   }
 
   @Test
-  void testAddMavenWrapperWithNonExistentDirectory() {
-    // Given
-    Path nonExistentPath = Paths.get("/non/existent/directory/path");
-
-    // When & Then
-    MavenWrapperException exception =
-        assertThrows(
-            MavenWrapperException.class,
-            () -> mavenWrapperService.addMavenWrapper(nonExistentPath),
-            "Should throw MavenWrapperException for non-existent directory");
-
-    assertNotNull(exception.getMessage());
-    assertTrue(
-        exception.getMessage().contains("Failed"), "Exception message should indicate failure");
-  }
-
-  @Test
-  void testAddMavenWrapperWithNullPath() {
+  void testAddMavenWrapperWithNullTree() {
     // When & Then
     assertThrows(
         IllegalArgumentException.class,
-        () -> mavenWrapperService.addMavenWrapper(null),
-        "Should throw IllegalArgumentException for null path");
+        () -> mavenWrapperService.addMavenWrapper(null, TIMEOUT),
+        "Should throw IllegalArgumentException for null tree");
   }
 
   @Test
-  void testAddMavenWrapperCreatesCorrectWrapperStructure(@TempDir Path tempDir) throws IOException {
+  void testAddMavenWrapperCreatesCorrectWrapperStructure() {
     // Given
-    copyValidTestProject(tempDir);
+    ProjectTree tree = new ProjectTree();
 
     // When
-    mavenWrapperService.addMavenWrapper(tempDir);
+    mavenWrapperService.addMavenWrapper(tree, TIMEOUT);
 
-    // Then - Verify wrapper directory structure
-    Path wrapperDir = tempDir.resolve(".mvn/wrapper");
-    assertAll(
-        () -> assertTrue(Files.isDirectory(wrapperDir), ".mvn/wrapper directory should exist"),
-        () ->
-            assertTrue(
-                Files.exists(wrapperDir.resolve("maven-wrapper.properties")),
-                "maven-wrapper.properties should exist in .mvn/wrapper"));
-
-    // Verify wrapper properties file content
-    String propertiesContent = Files.readString(wrapperDir.resolve("maven-wrapper.properties"));
+    // Then
+    String propertiesContent =
+        new String(
+            tree.get(".mvn/wrapper/maven-wrapper.properties").content(), StandardCharsets.UTF_8);
     assertTrue(
         propertiesContent.contains("wrapperVersion")
             || propertiesContent.contains("distributionUrl"),
@@ -125,61 +104,77 @@ class MavenWrapperServiceTest {
   }
 
   @Test
-  void testAddMavenWrapperWithExistingWrapperFiles(@TempDir Path tempDir) throws IOException {
+  void testAddMavenWrapperWithExistingWrapperFiles() {
     // Given
-    copyValidTestProject(tempDir);
-    mavenWrapperService.addMavenWrapper(tempDir);
+    ProjectTree tree = new ProjectTree();
+    tree.addText("pom.xml", "<project/>");
+    mavenWrapperService.addMavenWrapper(tree, TIMEOUT);
 
     // When - Add wrapper again (should overwrite/update)
-    mavenWrapperService.addMavenWrapper(tempDir);
+    mavenWrapperService.addMavenWrapper(tree, TIMEOUT);
 
     // Then
     assertAll(
+        () -> assertTrue(tree.contains("mvnw"), "mvnw should still exist after re-run"),
+        () -> assertTrue(tree.contains("mvnw.cmd"), "mvnw.cmd should still exist after re-run"),
         () ->
             assertTrue(
-                Files.exists(tempDir.resolve("mvnw")), "mvnw should still exist after re-run"),
-        () ->
-            assertTrue(
-                Files.exists(tempDir.resolve("mvnw.cmd")),
-                "mvnw.cmd should still exist after re-run"),
-        () ->
-            assertTrue(
-                Files.exists(tempDir.resolve(".mvn/wrapper/maven-wrapper.properties")),
-                "maven-wrapper.properties should still exist after re-run"));
+                tree.contains(".mvn/wrapper/maven-wrapper.properties"),
+                "maven-wrapper.properties should still exist after re-run"),
+        () -> assertEquals(4, tree.files().size(), "Files should be replaced, not duplicated"));
   }
 
-  /**
-   * Copies the valid test project from test resources to the target directory.
-   *
-   * @param projectDir the directory where the project should be copied
-   * @throws IOException if file copy fails
-   */
-  private void copyValidTestProject(Path projectDir) throws IOException {
-    Path testProjectPath =
-        Paths.get("src/test/resources/validTestProject").toAbsolutePath().normalize();
-
-    if (!Files.exists(testProjectPath)) {
-      throw new IOException(
-          "Test project not found at: "
-              + testProjectPath
-              + ". Make sure validTestProject exists in test resources.");
-    }
+  @Test
+  void testAddMavenWrapperOfflineToProjectTree(@TempDir Path tempDir) throws IOException {
+    // Given
+    Path localRepository = tempDir.resolve("repository");
+    seedLocalDistribution(localRepository);
+    MavenWrapperService offlineService =
+        new MavenWrapperService(
+            new MavenWrapperDistributionStore(
+                new OfflineProperties(true, null, localRepository),
+                new MavenWrapperProperties(null, false),
+                HttpClient.newHttpClient()));
+    ProjectTree tree = new ProjectTree();
+
+    // When
+    offlineService.addMavenWrapper(tree, TIMEOUT);
+
+    // Then
+    assertAll(
+        () -> assertTrue(new String(tree.get("mvnw").content()).startsWith("#!/bin/sh\n")),
+        () -> assertEquals(ProjectTree.EXECUTABLE_MODE, tree.get("mvnw").mode()),
+        () -> assertEquals(ProjectTree.FILE_MODE, tree.get("mvnw.cmd").mode()),
+        () -> assertTrue(tree.contains(".mvn/wrapper/maven-wrapper.properties")),
+        () -> assertEquals(3, tree.files().size()));
+  }
+
+  @Test
+  void testAddMavenWrapperOfflineWithoutDistribution(@TempDir Path tempDir) {
+    // Given
+    MavenWrapperService offlineService =
+        new MavenWrapperService(
+            new MavenWrapperDistributionStore(
+                new OfflineProperties(true, null, tempDir.resolve("repository")),
+                new MavenWrapperProperties(null, false),
+                HttpClient.newHttpClient()));
+
+    // When & Then
+    assertThrows(
+        MavenWrapperUnavailableException.class,
+        () -> offlineService.addMavenWrapper(new ProjectTree(), TIMEOUT));
+  }
 
-    // Copy the entire directory structure
-    try (Stream<Path> paths = Files.walk(testProjectPath)) {
-      paths.forEach(
-          source -> {
-            try {
-              Path target = projectDir.resolve(testProjectPath.relativize(source));
-              if (Files.isDirectory(source)) {
-                Files.createDirectories(target);
-              } else {
-                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
-              }
-            } catch (IOException e) {
-              throw new RuntimeException("Failed to copy test project files", e);
-            }
-          });
+  /** Seeds the local repository with the distribution bundled on the classpath. */
+  static void seedLocalDistribution(Path localRepository) throws IOException {
+    String path = MavenWrapperService.DISTRIBUTION.repositoryPath();
+    Path distribution = localRepository.resolve(path);
+    Files.createDirectories(distribution.getParent());
+    try (InputStream in =
+        MavenWrapperServiceTest.class
+            .getClassLoader()
+            .getResourceAsStream(MavenWrapperDistributionStore.BUNDLED_LOCATION + path)) {
+      Files.copy(Objects.requireNonNull(in), distribution);
     }
   }
 }
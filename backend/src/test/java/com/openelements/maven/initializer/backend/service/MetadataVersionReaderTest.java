@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactVersionMatcher;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class MetadataVersionReaderTest {
+
+  private static final ArtifactVersionMatcher MATCHER =
+      ArtifactVersionMatcher.noSnapshotsAndPreviews();
+
+  @Test
+  void selectsNewestEligibleVersionInAnyOrder() throws IOException {
+    String metadata =
+        metadata(
+            "<latest>6.0.0-M1</latest>",
+            "<release>6.0.0-M1</release>",
+            "<versions>",
+            "<version>5.10.0</version>",
+            "<version> 5.13.4 </version>",
+            "<version>5.9.3</version>",
+            "<version>6.0.0-M1</version>",
+            "<version>6.0.0-SNAPSHOT</version>",
+            "</versions>");
+
+    assertEquals("5.13.4", MetadataVersionReader.newestVersion(stream(metadata), MATCHER));
+  }
+
+  @Test
+  void ignoresVersionElementsOutsideVersionList() throws IOException {
+    String metadata =
+        """
+        <metadata>
+          <version>9.9.9</version>
+          <versioning>
+            <versions><version>1.0.0</version></versions>
+          </versioning>
+        </metadata>
+        """;
+
+    assertEquals("1.0.0", MetadataVersionReader.newestVersion(stream(metadata), MATCHER));
+  }
+
+  @Test
+  void returnsNullWithoutEligibleVersion() throws IOException {
+    String metadata = metadata("<versions>", "<version>1.0.0-SNAPSHOT</version>", "</versions>");
+
+    assertNull(MetadataVersionReader.newestVersion(stream(metadata), MATCHER));
+  }
+
+  @Test
+  void rejectsMalformedDocuments() {
+    assertThrows(
+        IOException.class,
+        () -> MetadataVersionReader.newestVersion(stream("<metadata><versioning>"), MATCHER));
+  }
+
+  @Test
+  void rejectsDocumentTypeDeclarations() {
+    String metadata =
+        """
+        <!DOCTYPE metadata [<!ENTITY v SYSTEM "file:///etc/hostname">]>
+        <metadata><versioning><versions><version>&v;</version></versions></versioning></metadata>
+        """;
+
+    assertThrows(
+        IOException.class, () -> MetadataVersionReader.newestVersion(stream(metadata), MATCHER));
+  }
+
+  private static String metadata(String... versioning) {
+    return "<metadata><groupId>g</groupId><artifactId>a</artifactId><versioning>"
+        + String.join("", versioning)
+        + "</versioning></metadata>";
+  }
+
+  private static InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eu.maveniverse.maven.toolbox.shared.ArtifactVersionMatcher;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MetadataVersionResolverTest {
+
+  private static final String METADATA_PATH =
+      "/org/apache/maven/plugins/maven-compiler-plugin/maven-metadata.xml";
+  private static final String METADATA =
+      """
+      <?xml version="1.0" encoding="UTF-8"?>
+      <metadata>
+        <groupId>org.apache.maven.plugins</groupId>
+        <artifactId>maven-compiler-plugin</artifactId>
+        <versioning>
+          <latest>4.0.0-beta-2</latest>
+          <release>4.0.0-beta-2</release>
+          <versions>
+            <version>3.9.0</version>
+            <version>3.14.0</version>
+            <version>3.14.1-SNAPSHOT</version>
+            <version>4.0.0-beta-2</version>
+          </versions>
+          <lastUpdated>20250101000000</lastUpdated>
+        </versioning>
+      </metadata>
+      """;
+  private static final String LISTING_PATH = "/org/apache/maven/plugins/maven-compiler-plugin/";
+  private static final String LISTING =
+      """
+      <html><body><pre>
+      <a href="../">../</a>
+      <a href="3.14.0/" title="3.14.0/">3.14.0/</a>                 2025-03-06 20:01         -
+      <a href="3.9.0/" title="3.9.0/">3.9.0/</a>                   2023-02-07 08:15         -
+      <a href="maven-metadata.xml" title="maven-metadata.xml">maven-metadata.xml</a>  2025-03-06 20:02  1234
+      </pre></body></html>
+      """;
+  private static final ArtifactCoordinate COMPILER_PLUGIN =
+      ArtifactCoordinate.plugin("org.apache.maven.plugins", "maven-compiler-plugin");
+
+  private final List<String> receivedIfNoneMatch = new ArrayList<>();
+  private HttpServer server;
+  private MetadataVersionResolver resolver;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/", this::handle);
+    server.start();
+    resolver =
+        new MetadataVersionResolver(
+            HttpClient.newHttpClient(),
+            "http://127.0.0.1:" + server.getAddress().getPort() + "/",
+            Duration.ofSeconds(5),
+            Duration.ofHours(1),
+            16);
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void picksNewestReleaseVersion() throws IOException {
+    Optional<String> version =
+        resolver.findNewestVersion(
+            COMPILER_PLUGIN, ArtifactVersionMatcher.noSnapshotsAndPreviews());
+
+    assertEquals(Optional.of("3.14.0"), version);
+  }
+
+  @Test
+  void revalidatesWithEtagAndReusesVersionOnNotModified() throws IOException {
+    ArtifactVersionMatcher matcher = ArtifactVersionMatcher.noSnapshotsAndPreviews();
+
+    resolver.findNewestVersion(COMPILER_PLUGIN, matcher);
+    Optional<String> version = resolver.findNewestVersion(COMPILER_PLUGIN, matcher);
+
+    assertEquals(Optional.of("3.14.0"), version);
+    assertEquals(List.of("", "\"v1\""), receivedIfNoneMatch);
+  }
+
+  @Test
+  void returnsEmptyForUnknownArtifact() throws IOException {
+    Optional<String> version =
+        resolver.findNewestVersion(
+            ArtifactCoordinate.plugin("org.example", "missing"),
+            ArtifactVersionMatcher.noSnapshotsAndPreviews());
+
+    assertTrue(version.isEmpty());
+  }
+
+  @Test
+  void failsWhenRepositoryAnswersWithAnError() {
+    assertThrows(
+        IOException.class,
+        () ->
+            resolver.findNewestVersion(
+                ArtifactCoordinate.plugin("org.example", "broken"),
+                ArtifactVersionMatcher.noSnapshotsAndPreviews()));
+  }
+
+  @Test
+  void indexesAllVersionsWithPublicationDates() throws IOException {
+    ArtifactVersionMatcher matcher = ArtifactVersionMatcher.noSnapshotsAndPreviews();
+
+    VersionIndex index = resolver.findVersionIndex(COMPILER_PLUGIN, matcher).orElseThrow();
+    resolver.findVersionIndex(COMPILER_PLUGIN, matcher);
+
+    assertEquals(4, index.size());
+    assertEquals(Optional.of("3.9.0"), index.newestInLine(3, 9));
+    assertEquals(
+        Optional.of("3.9.0"), index.newestPublishedBefore(Instant.parse("2024-01-01T00:00:00Z")));
+    assertEquals(List.of(""), receivedIfNoneMatch, "Index should be served from memory");
+  }
+
+  @Test
+  void parsesPublicationDatesFromDirectoryListing() {
+    assertEquals(
+        Map.of(
+            "3.9.0", Instant.parse("2023-02-07T08:15:00Z"),
+            "3.14.0", Instant.parse("2025-03-06T20:01:00Z")),
+        MetadataVersionResolver.parsePublicationDates(LISTING));
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    if (LISTING_PATH.equals(exchange.getRequestURI().getPath())) {
+      byte[] body = LISTING.getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+      return;
+    }
+    if (exchange.getRequestURI().getPath().startsWith("/org/example/broken/")) {
+      exchange.sendResponseHeaders(503, -1);
+      exchange.close();
+      return;
+    }
+    if (!METADATA_PATH.equals(exchange.getRequestURI().getPath())) {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+      return;
+    }
+    String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+    receivedIfNoneMatch.add(ifNoneMatch == null ? "" : ifNoneMatch);
+    exchange.getResponseHeaders().add("ETag", "\"v1\"");
+    if ("\"v1\"".equals(ifNoneMatch)) {
+      exchange.sendResponseHeaders(304, -1);
+      exchange.close();
+      return;
+    }
+    byte[] body = METADATA.getBytes(StandardCharsets.UTF_8);
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+}
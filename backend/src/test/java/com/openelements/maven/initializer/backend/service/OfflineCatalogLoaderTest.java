@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.openelements.maven.initializer.backend.config.OfflineProperties;
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.ResolvedVersion;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import eu.maveniverse.maven.toolbox.shared.ToolboxResolver;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OfflineCatalogLoaderTest {
+
+  @Mock private ToolboxCommando toolboxCommando;
+  @Mock private ToolboxResolver toolboxResolver;
+  @TempDir private Path tempDir;
+
+  private ArtifactVersionService artifactVersionService;
+
+  @BeforeEach
+  void setUp() {
+    Mockito.when(toolboxCommando.getToolboxResolver()).thenReturn(toolboxResolver);
+    artifactVersionService =
+        new ArtifactVersionService(
+            toolboxCommando,
+            new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 16, Clock.systemUTC()),
+            Duration.ofSeconds(30),
+            Optional.empty(),
+            new CircuitBreaker(
+                5, Duration.ofSeconds(5), Duration.ofSeconds(30), 1, Clock.systemUTC()),
+            VersionResolutionMetrics.noop(),
+            Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC));
+  }
+
+  @Test
+  void servesCatalogFileWithoutLookups() throws IOException {
+    Path catalogFile = tempDir.resolve("version-catalog.txt");
+    Files.writeString(catalogFile, "org.jacoco:jacoco-maven-plugin:jar=0.8.13\n");
+
+    new OfflineCatalogLoader(new OfflineProperties(true, catalogFile, null), artifactVersionService)
+        .load();
+
+    assertEquals(
+        ResolvedVersion.catalog("0.8.13"),
+        artifactVersionService.resolve(
+            ArtifactCoordinate.plugin("org.jacoco", "jacoco-maven-plugin")));
+    verifyNoInteractions(toolboxResolver);
+  }
+
+  @Test
+  void failsOnUnreadableCatalogFile() {
+    OfflineCatalogLoader loader =
+        new OfflineCatalogLoader(
+            new OfflineProperties(true, tempDir.resolve("missing.txt"), null),
+            artifactVersionService);
+
+    assertThrows(IllegalStateException.class, loader::load);
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.CatalogArtifacts;
+import com.openelements.maven.initializer.backend.domain.ResolvedVersion;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ParallelVersionResolverTest {
+
+  @Mock private ArtifactVersionService artifactVersionService;
+
+  @Test
+  void resolvesAllCoordinatesConcurrently() {
+    // Every lookup blocks until all lookups have started, which only works if they run in parallel
+    List<ArtifactCoordinate> coordinates = CatalogArtifacts.DEFAULT_PLUGINS;
+    CountDownLatch allStarted = new CountDownLatch(coordinates.size());
+    Mockito.when(artifactVersionService.resolve(Mockito.any()))
+        .thenAnswer(
+            invocation -> {
+              allStarted.countDown();
+              allStarted.await(5, TimeUnit.SECONDS);
+              return ResolvedVersion.live("1.0.0");
+            });
+    ParallelVersionResolver resolver =
+        new ParallelVersionResolver(artifactVersionService, Duration.ofSeconds(2));
+
+    Map<ArtifactCoordinate, ResolvedVersion> versions = resolver.resolveAll(coordinates).versions();
+
+    assertEquals(coordinates, List.copyOf(versions.keySet()));
+    assertTrue(versions.values().stream().allMatch(ResolvedVersion.live("1.0.0")::equals));
+  }
+
+  @Test
+  void usesKnownVersionForLookupsExceedingTheDeadline() {
+    Mockito.when(artifactVersionService.resolve(CatalogArtifacts.JUNIT_BOM))
+        .thenReturn(ResolvedVersion.live("6.0.0"));
+    Mockito.when(artifactVersionService.resolve(CatalogArtifacts.ASSERTJ_BOM))
+        .thenAnswer(
+            invocation -> {
+              Thread.sleep(5_000);
+              return ResolvedVersion.live("3.27.0");
+            });
+    ParallelVersionResolver resolver =
+        new ParallelVersionResolver(artifactVersionService, Duration.ofMillis(200));
+
+    Mockito.when(artifactVersionService.resolveWithoutLookup(CatalogArtifacts.ASSERTJ_BOM))
+        .thenReturn(ResolvedVersion.cached("3.26.0"));
+
+    ParallelVersionResolver.Resolution resolution =
+        resolver.resolveAll(List.of(CatalogArtifacts.JUNIT_BOM, CatalogArtifacts.ASSERTJ_BOM));
+
+    assertEquals(
+        ResolvedVersion.live("6.0.0"), resolution.versions().get(CatalogArtifacts.JUNIT_BOM));
+    assertEquals(
+        ResolvedVersion.cached("3.26.0"), resolution.versions().get(CatalogArtifacts.ASSERTJ_BOM));
+    assertEquals(Set.of(CatalogArtifacts.ASSERTJ_BOM), resolution.timedOut());
+    assertTrue(resolution.isDegraded());
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.AssertionLibrary;
+import com.openelements.maven.initializer.backend.domain.ResolvedVersion;
+import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
+import com.openelements.maven.initializer.backend.util.XmlFormatter;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class PomTemplateTest {
+
+  private static final ArtifactCoordinate JUNIT_BOM =
+      new ArtifactCoordinate("org.junit", "junit-bom", "pom");
+
+  @Test
+  void renderedPomEqualsFormattedPom() {
+    // Given
+    ProjectRequestDTO request = createRequest();
+    request.setName("Tom & Jerry <3 \uD83D\uDE00");
+    request.setDescription("line one\nline two\twith tab and \u0085");
+    PomTemplate template =
+        PomTemplate.compile(XmlFormatter.formatXml(pom(PomTemplate.Slot::marker)));
+
+    // When
+    String rendered = template.render(request);
+
+    // Then
+    assertTrue(PomTemplate.canRender(request));
+    assertEquals(XmlFormatter.formatXml(pom(slot -> escape(slot.value(request)))), rendered);
+  }
+
+  @Test
+  void renderedPomEqualsPomBuiltWithThePomEditor() {
+    // Given
+    ProjectGeneratorService generator =
+        new ProjectGeneratorService(null, null, null, Duration.ofSeconds(30), Duration.ZERO);
+    ProjectRequestDTO request = createRequest();
+    request.setGroupId("com.example&co<\"'");
+    request.setName("Tom & Jerry <3 \"quoted\" 'single'");
+    request.setDescription("a < b && c > d\nsee \"README\" & 'NOTICE'");
+    request.setIncludeSpotless(true);
+    request.setAssertionLibrary(AssertionLibrary.ASSERTJ);
+    Map<ArtifactCoordinate, ResolvedVersion> versions = new HashMap<>();
+    generator
+        .versionedArtifacts(request)
+        .forEach(artifact -> versions.put(artifact, ResolvedVersion.live("1.0.0")));
+
+    // When
+    String rendered = generator.renderPom(request, versions);
+
+    // Then
+    assertTrue(PomTemplate.canRender(request));
+    assertEquals(generator.buildPom(request, versions), rendered);
+  }
+
+  @Test
+  void requestsWithValuesThatAreNotWrittenVerbatimAreNotRendered() {
+    assertTrue(PomTemplate.canRender(createRequest()));
+
+    ProjectRequestDTO withoutDescription = createRequest();
+    withoutDescription.setDescription(null);
+    assertFalse(PomTemplate.canRender(withoutDescription));
+
+    ProjectRequestDTO blankName = createRequest();
+    blankName.setName(" \n ");
+    assertFalse(PomTemplate.canRender(blankName));
+
+    ProjectRequestDTO carriageReturn = createRequest();
+    carriageReturn.setDescription("first\r\nsecond");
+    assertFalse(PomTemplate.canRender(carriageReturn));
+
+    ProjectRequestDTO controlCharacter = createRequest();
+    controlCharacter.setName("bell\u0007");
+    assertFalse(PomTemplate.canRender(controlCharacter));
+  }
+
+  @Test
+  void cacheRebuildsTemplateWhenVersionsChange() {
+    // Given
+    PomTemplateCache cache = new PomTemplateCache();
+    PomTemplateCache.Options options = new PomTemplateCache.Options(false, false, null);
+    AtomicInteger builds = new AtomicInteger();
+    Function<String, PomTemplate> get =
+        version ->
+            cache.get(
+                options,
+                Map.of(JUNIT_BOM, version),
+                () -> {
+                  builds.incrementAndGet();
+                  return XmlFormatter.formatXml(pom(PomTemplate.Slot::marker));
+                });
+
+    // When
+    PomTemplate first = get.apply("6.0.0");
+    PomTemplate cached = get.apply("6.0.0");
+    PomTemplate rebuilt = get.apply("6.0.1");
+
+    // Then
+    assertSame(first, cached);
+    assertNotSame(first, rebuilt);
+    assertEquals(2, builds.get());
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  void optionsAreTakenFromTheRequest() {
+    ProjectRequestDTO request = createRequest();
+    request.setIncludeSpotless(true);
+    request.setAssertionLibrary(AssertionLibrary.ASSERTJ);
+
+    assertEquals(
+        new PomTemplateCache.Options(true, false, AssertionLibrary.ASSERTJ),
+        PomTemplateCache.Options.of(request));
+  }
+
+  private static String pom(Function<PomTemplate.Slot, String> values) {
+    return "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">"
+        + "<modelVersion>4.0.0</modelVersion>"
+        + "<groupId>"
+        + values.apply(PomTemplate.Slot.GROUP_ID)
+        + "</groupId><artifactId>"
+        + values.apply(PomTemplate.Slot.ARTIFACT_ID)
+        + "</artifactId><version>"
+        + values.apply(PomTemplate.Slot.VERSION)
+        + "</version><name>"
+        + values.apply(PomTemplate.Slot.NAME)
+        + "</name><description>"
+        + values.apply(PomTemplate.Slot.DESCRIPTION)
+        + "</description><properties><maven.compiler.release>"
+        + values.apply(PomTemplate.Slot.JAVA_VERSION)
+        + "</maven.compiler.release></properties></project>";
+  }
+
+  private static String escape(String value) {
+    return value.replace("&", "&amp;").replace("<", "&lt;");
+  }
+
+  private static ProjectRequestDTO createRequest() {
+    ProjectRequestDTO request = new ProjectRequestDTO();
+    request.setGroupId("com.example");
+    request.setArtifactId("test-project");
+    request.setVersion("1.0.0-SNAPSHOT");
+    request.setName("Test Project");
+    request.setDescription("Test project description");
+    request.setJavaVersion("17");
+    return request;
+  }
+}
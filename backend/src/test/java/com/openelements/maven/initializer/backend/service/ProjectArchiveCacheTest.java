@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import com.openelements.maven.initializer.backend.config.ArchiveCacheProperties;
+import com.openelements.maven.initializer.backend.domain.ArchiveKey;
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectArchiveCacheTest {
+
+  private static final ArtifactCoordinate JUNIT_BOM =
+      ArtifactCoordinate.bom("org.junit", "junit-bom");
+
+  @Mock private ArtifactVersionService artifactVersionService;
+
+  private SimpleMeterRegistry registry;
+  private ProjectArchiveCache archiveCache;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    archiveCache =
+        new ProjectArchiveCache(
+            new ArchiveCacheProperties(
+                true, DataSize.ofBytes(100), DataSize.ofBytes(60), Duration.ofHours(1)),
+            artifactVersionService,
+            registry);
+  }
+
+  @Test
+  void leastRecentlyUsedArchivesAreEvictedByTotalSize() {
+    // Given
+    ArchiveKey first = key("first");
+    ArchiveKey second = key("second");
+    ArchiveKey third = key("third");
+    archiveCache.put(first, new byte[40]);
+    archiveCache.put(second, new byte[40]);
+    archiveCache.get(first);
+
+    // When
+    archiveCache.put(third, new byte[40]);
+
+    // Then
+    assertEquals(80, archiveCache.bytes());
+    assertEquals(2, archiveCache.size());
+    assertNull(archiveCache.get(second));
+    assertEquals(40, archiveCache.get(first).length);
+    assertEquals(1, registry.get("initializer.archive.cache.evictions").functionCounter().count());
+  }
+
+  @Test
+  void archivesLargerThanTheEntryLimitAreNotCached() {
+    // When
+    archiveCache.put(key("large"), new byte[61]);
+
+    // Then
+    assertNull(archiveCache.get(key("large")));
+    assertEquals(0, archiveCache.bytes());
+  }
+
+  @Test
+  void hitsAndMissesAreMeasured() {
+    // Given
+    archiveCache.put(key("cached"), new byte[10]);
+
+    // When
+    archiveCache.get(key("cached"));
+    archiveCache.get(key("cached"));
+    archiveCache.get(key("missing"));
+
+    // Then
+    assertEquals(
+        2, registry.get("initializer.archive.cache").tag("result", "hit").counter().count());
+    assertEquals(
+        1, registry.get("initializer.archive.cache").tag("result", "miss").counter().count());
+    assertEquals(
+        2.0 / 3, registry.get("initializer.archive.cache.hit.ratio").gauge().value(), 1e-9);
+    assertEquals(10, registry.get("initializer.archive.cache.size").gauge().value());
+  }
+
+  @Test
+  void archiveIsCachedOnceTheResponseWasWritten() throws IOException {
+    // Given
+    ArchiveKey key = key("streamed");
+    byte[] archive = {1, 2, 3};
+    ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+    // When
+    archiveCache.caching(key, out -> out.write(archive)).writeTo(response);
+
+    // Then
+    assertArrayEquals(archive, response.toByteArray());
+    assertArrayEquals(archive, archiveCache.get(key));
+  }
+
+  @Test
+  void archiveLargerThanTheEntryLimitIsNotCopiedForTheCache() throws IOException {
+    // Given
+    ArchiveKey key = key("large");
+    ByteArrayOutputStream response = new ByteArrayOutputStream();
+
+    // When
+    archiveCache
+        .caching(
+            key,
+            out -> {
+              out.write(new byte[40]);
+              out.write(new byte[40]);
+            })
+        .writeTo(response);
+
+    // Then
+    assertEquals(80, response.size());
+    assertNull(archiveCache.get(key));
+    assertEquals(0, archiveCache.bytes());
+  }
+
+  @Test
+  void archiveIsNotCachedIfWritingTheResponseFails() {
+    // Given
+    ArchiveKey key = key("failed");
+
+    // When
+    assertThrows(
+        IOException.class,
+        () ->
+            archiveCache
+                .caching(
+                    key,
+                    out -> {
+                      out.write(new byte[10]);
+                      throw new IOException("Client went away");
+                    })
+                .writeTo(new ByteArrayOutputStream()));
+
+    // Then
+    assertNull(archiveCache.get(key));
+  }
+
+  @Test
+  void keyChangesWithTheVersionsOfTheCatalog() {
+    // Given
+    ProjectRequestDTO request = new ProjectRequestDTO();
+    request.setGroupId("com.example");
+    request.setArtifactId("demo");
+    when(artifactVersionService.currentCatalog())
+        .thenReturn(catalog("5.13.4", Instant.parse("2025-01-01T00:00:00Z")))
+        .thenReturn(catalog("5.13.4", Instant.parse("2025-01-02T00:00:00Z")))
+        .thenReturn(catalog("6.0.0", Instant.parse("2025-01-03T00:00:00Z")));
+
+    // When
+    ArchiveKey first = archiveCache.key(request, List.of(JUNIT_BOM));
+    ArchiveKey refreshed = archiveCache.key(request, List.of(JUNIT_BOM));
+    ArchiveKey updated = archiveCache.key(request, List.of(JUNIT_BOM));
+
+    // Then
+    assertEquals(first, refreshed);
+    assertNotEquals(first, updated);
+    assertEquals(first.requestFingerprint(), updated.requestFingerprint());
+  }
+
+  @Test
+  void requestWithArtifactsMissingFromTheCatalogHasNoKey() {
+    // Given
+    ProjectRequestDTO request = new ProjectRequestDTO();
+    request.setGroupId("com.example");
+    request.setArtifactId("demo");
+    when(artifactVersionService.currentCatalog())
+        .thenReturn(catalog("5.13.4", Instant.parse("2025-01-01T00:00:00Z")));
+
+    // When
+    ArchiveKey key =
+        archiveCache.key(
+            request, List.of(JUNIT_BOM, ArtifactCoordinate.bom("org.assertj", "assertj-bom")));
+
+    // Then
+    assertNull(key);
+  }
+
+  @Test
+  void keyIsNoLongerCurrentOnceTheCatalogHasNewVersions() {
+    // Given
+    ProjectRequestDTO request = new ProjectRequestDTO();
+    request.setGroupId("com.example");
+    request.setArtifactId("demo");
+    when(artifactVersionService.currentCatalog())
+        .thenReturn(catalog("5.13.4", Instant.parse("2025-01-01T00:00:00Z")))
+        .thenReturn(catalog("5.13.4", Instant.parse("2025-01-02T00:00:00Z")))
+        .thenReturn(catalog("6.0.0", Instant.parse("2025-01-03T00:00:00Z")));
+    ArchiveKey key = archiveCache.key(request, List.of(JUNIT_BOM));
+
+    // When
+    boolean afterRefresh = archiveCache.isCurrent(key);
+    boolean afterUpdate = archiveCache.isCurrent(key);
+
+    // Then
+    assertTrue(afterRefresh);
+    assertFalse(afterUpdate);
+  }
+
+  private static VersionCatalog catalog(String junitVersion, Instant resolvedAt) {
+    return new VersionCatalog(
+        Map.of(JUNIT_BOM, new VersionCatalog.Entry(junitVersion, resolvedAt)), resolvedAt, null);
+  }
+
+  private static ArchiveKey key(String artifactId) {
+    ProjectRequestDTO request = new ProjectRequestDTO();
+    request.setGroupId("com.example");
+    request.setArtifactId(artifactId);
+    return ArchiveKey.of(request, "catalog");
+  }
+}
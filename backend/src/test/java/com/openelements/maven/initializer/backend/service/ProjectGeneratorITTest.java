@@ -19,17 +19,19 @@
 package com.openelements.maven.initializer.backend.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.openelements.maven.initializer.backend.domain.AssertionLibrary;
 import com.openelements.maven.initializer.backend.domain.ProjectGenerationResult;
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
 import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -47,12 +49,11 @@ class ProjectGeneratorITTest {
 
     // When
     ProjectGenerationResult result = projectGeneratorService.generateProject(request);
-    Path projectPath = Paths.get(result.projectPath());
-    Path mvnw = projectPath.resolve("mvnw");
+    ProjectTree.Entry mvnw = result.tree().get("mvnw");
 
     // Then
-    assertTrue(Files.exists(mvnw), "mvnw should exist");
-    assertTrue(Files.isExecutable(mvnw), "mvnw should have executable permissions");
+    assertNotNull(mvnw, "mvnw should exist");
+    assertTrue(mvnw.isExecutable(), "mvnw should have executable permissions");
   }
 
   @Test
@@ -63,7 +64,7 @@ class ProjectGeneratorITTest {
 
     // When - Generate project
     ProjectGenerationResult result = projectGeneratorService.generateProject(request);
-    Path projectPath = Paths.get(result.projectPath());
+    Path projectPath = writeProject(result);
 
     // Then
     int exitCode = executeMavenBuild(projectPath);
@@ -80,7 +81,7 @@ class ProjectGeneratorITTest {
 
     // When - Generate project
     ProjectGenerationResult result = projectGeneratorService.generateProject(request);
-    Path projectPath = Paths.get(result.projectPath());
+    Path projectPath = writeProject(result);
 
     // Then
     int exitCode = executeMavenBuild(projectPath);
@@ -97,7 +98,7 @@ class ProjectGeneratorITTest {
 
     // When - Generate project
     ProjectGenerationResult result = projectGeneratorService.generateProject(request);
-    Path projectPath = Paths.get(result.projectPath());
+    Path projectPath = writeProject(result);
 
     // Then
     int exitCode = executeMavenBuild(projectPath);
@@ -114,13 +115,27 @@ class ProjectGeneratorITTest {
 
     // When - Generate project
     ProjectGenerationResult result = projectGeneratorService.generateProject(request);
-    Path projectPath = Paths.get(result.projectPath());
+    Path projectPath = writeProject(result);
 
     // Then
     int exitCode = executeMavenBuild(projectPath);
     assertEquals(0, exitCode, "Maven build with JUnit only should succeed with exit code 0");
   }
 
+  /** The project is only kept in memory, so it has to be written out before Maven can build. */
+  private Path writeProject(ProjectGenerationResult result) throws IOException {
+    Path projectPath = Files.createTempDirectory("project-it-");
+    for (Map.Entry<String, ProjectTree.Entry> file : result.tree().files().entrySet()) {
+      Path target = projectPath.resolve(file.getKey());
+      Files.createDirectories(target.getParent());
+      Files.write(target, file.getValue().content());
+      if (file.getValue().isExecutable()) {
+        assertTrue(target.toFile().setExecutable(true, false), "Cannot make executable: " + target);
+      }
+    }
+    return projectPath;
+  }
+
   private ProjectRequestDTO createValidRequest() {
     final ProjectRequestDTO request = new ProjectRequestDTO();
     request.setGroupId("com.example");
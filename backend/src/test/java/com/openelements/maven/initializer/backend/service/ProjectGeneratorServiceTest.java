@@ -18,23 +18,42 @@
  */
 package com.openelements.maven.initializer.backend.service;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
 
-import com.openelements.maven.initializer.backend.config.MavenToolboxConfig;
 import com.openelements.maven.initializer.backend.domain.AssertionLibrary;
+import com.openelements.maven.initializer.backend.domain.CatalogArtifacts;
+import com.openelements.maven.initializer.backend.domain.Deadline;
+import com.openelements.maven.initializer.backend.domain.GenerationStage;
 import com.openelements.maven.initializer.backend.domain.ProjectGenerationResult;
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
+import com.openelements.maven.initializer.backend.domain.ResolvedVersion;
 import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
-import com.openelements.maven.initializer.backend.exception.ProjectServiceException;
-import java.io.File;
+import com.openelements.maven.initializer.backend.exception.GenerationTimeoutException;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperException;
+import com.openelements.maven.initializer.backend.exception.MavenWrapperTimeoutException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -49,11 +68,21 @@ class ProjectGeneratorServiceTest {
   @Mock private ArtifactVersionService artifactVersionService;
   @Mock private MavenWrapperService mavenWrapperService;
 
+  @BeforeEach
+  void setUp() {
+    // Tests that care about versions override this default
+    Mockito.lenient()
+        .when(artifactVersionService.resolve(Mockito.any()))
+        .thenReturn(ResolvedVersion.live("1.0.0"));
+  }
+
   private ProjectGeneratorService configureProjectGeneratorService() {
-    MavenToolboxConfig mavenToolboxConfig = new MavenToolboxConfig();
-    var toolbox = mavenToolboxConfig.toolboxCommando(mavenToolboxConfig.mavenContext());
     return new ProjectGeneratorService(
-        toolbox, projectStructureServiceMock, artifactVersionService, mavenWrapperService);
+        projectStructureServiceMock,
+        new ParallelVersionResolver(artifactVersionService, Duration.ofSeconds(10)),
+        mavenWrapperService,
+        Duration.ofSeconds(30),
+        Duration.ofSeconds(2));
   }
 
   @Test
@@ -68,22 +97,15 @@ class ProjectGeneratorServiceTest {
 
     // Then
     assertNotNull(result);
-    assertTrue(result.projectPath().contains(validRequest.getArtifactId()));
-    assertTrue(Files.exists(Paths.get(result.projectPath())));
+    assertTrue(result.tree().contains("pom.xml"));
     assertEquals(ProjectGenerationResult.Status.NO_ISSUES, result.status());
   }
 
   @Test
   void testProjectGenerationUsingFallbackVersion() {
     // Given
-    Mockito.when(
-            artifactVersionService.resolveLatestDependencyBomVersion(
-                Mockito.anyString(), Mockito.anyString()))
-        .thenReturn("TODO");
-    Mockito.when(
-            artifactVersionService.resolveLatestPluginVersion(
-                Mockito.anyString(), Mockito.anyString()))
-        .thenReturn("TODO");
+    Mockito.when(artifactVersionService.resolve(Mockito.any()))
+        .thenReturn(ResolvedVersion.fallback());
     projectGeneratorServiceUnderTest = configureProjectGeneratorService();
 
     final ProjectRequestDTO validRequest = createValidRequest();
@@ -94,11 +116,132 @@ class ProjectGeneratorServiceTest {
 
     // Then
     assertNotNull(result);
-    assertTrue(result.projectPath().contains(validRequest.getArtifactId()));
-    assertTrue(Files.exists(Paths.get(result.projectPath())));
+    assertTrue(result.tree().contains("pom.xml"));
     assertEquals(ProjectGenerationResult.Status.FALLBACK_VERSION, result.status());
   }
 
+  @Test
+  void testProjectWithCatalogVersionsOnlyIsDeterminedByCatalog() {
+    // Given
+    Mockito.when(artifactVersionService.resolve(Mockito.any()))
+        .thenReturn(ResolvedVersion.catalog("1.0.0"));
+    projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+
+    // When
+    ProjectGenerationResult result =
+        projectGeneratorServiceUnderTest.generateProject(createValidRequest());
+
+    // Then
+    assertTrue(result.isDeterminedByCatalog());
+  }
+
+  @Test
+  void testProjectWithVersionFromOutsideTheCatalogIsNotDeterminedByCatalog() {
+    // Given
+    Mockito.when(artifactVersionService.resolve(Mockito.any()))
+        .thenReturn(ResolvedVersion.catalog("1.0.0"));
+    Mockito.when(artifactVersionService.resolve(CatalogArtifacts.JUNIT_BOM))
+        .thenReturn(ResolvedVersion.cached("5.13.4"));
+    projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+
+    // When
+    ProjectGenerationResult result =
+        projectGeneratorServiceUnderTest.generateProject(createValidRequest());
+
+    // Then
+    assertEquals(ProjectGenerationResult.Status.NO_ISSUES, result.status());
+    assertFalse(result.isDeterminedByCatalog());
+  }
+
+  @Test
+  void testProjectGenerationWithSpotlessIsNotReportedAsFallback() {
+    // Given
+    ProjectStructureService realProjectStructureService =
+        new ProjectStructureService(new ResourceTemplateEngine());
+    projectGeneratorServiceUnderTest =
+        new ProjectGeneratorService(
+            realProjectStructureService,
+            new ParallelVersionResolver(artifactVersionService, Duration.ofSeconds(10)),
+            mavenWrapperService,
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(2));
+    ProjectRequestDTO validRequest = createValidRequest();
+    validRequest.setIncludeSpotless(true);
+
+    // When
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
+
+    // Then
+    assertEquals(ProjectGenerationResult.Status.NO_ISSUES, result.status());
+  }
+
+  @Test
+  void testProjectGenerationFailsWhenDeadlineIsExhausted() {
+    // Given
+    projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+
+    // When & Then
+    GenerationTimeoutException exception =
+        assertThrows(
+            GenerationTimeoutException.class,
+            () ->
+                projectGeneratorServiceUnderTest.generateProject(
+                    createValidRequest(), Deadline.after(Duration.ZERO)));
+    assertEquals(GenerationStage.STRUCTURE, exception.getStage());
+  }
+
+  @Test
+  void testSlowWrapperDownloadStillGivesADegradedArchive() throws IOException {
+    // Given
+    Mockito.doAnswer(
+            invocation -> {
+              // Like the distribution store, wait for the whole given timeout
+              Thread.sleep(invocation.<Duration>getArgument(1));
+              throw new MavenWrapperTimeoutException("too slow", null);
+            })
+        .when(mavenWrapperService)
+        .addMavenWrapper(Mockito.any(ProjectTree.class), Mockito.any());
+    projectGeneratorServiceUnderTest =
+        new ProjectGeneratorService(
+            projectStructureServiceMock,
+            new ParallelVersionResolver(artifactVersionService, Duration.ofSeconds(10)),
+            mavenWrapperService,
+            Duration.ofSeconds(1),
+            Duration.ofMillis(500));
+    ProjectRequestDTO validRequest = createValidRequest();
+    validRequest.setIncludeMavenWrapper(true);
+    Deadline deadline = projectGeneratorServiceUnderTest.startDeadline();
+
+    // When
+    ProjectGenerationResult result =
+        projectGeneratorServiceUnderTest.generateProject(validRequest, deadline);
+    byte[] zipBytes = createZip(result, deadline);
+
+    // Then
+    assertFalse(deadline.isExpired());
+    assertEquals(Set.of(GenerationStage.WRAPPER, GenerationStage.README), result.degradedStages());
+    assertEquals(ProjectGenerationResult.Status.NO_ISSUES, result.status());
+    assertTrue(zipBytes.length > 0);
+  }
+
+  @Test
+  void testCorruptWrapperDistributionIsReportedAsDegraded() {
+    // Given
+    Mockito.doThrow(new MavenWrapperException("SHA-512 mismatch", null))
+        .when(mavenWrapperService)
+        .addMavenWrapper(Mockito.any(ProjectTree.class), Mockito.any());
+    projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+    ProjectRequestDTO validRequest = createValidRequest();
+    validRequest.setIncludeMavenWrapper(true);
+
+    // When
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
+
+    // Then
+    assertEquals(Set.of(GenerationStage.WRAPPER), result.degradedStages());
+    assertFalse(result.tree().contains("mvnw"));
+  }
+
   @Test
   void testProjectGenerationFailing() {
     // Given
@@ -112,13 +255,14 @@ class ProjectGeneratorServiceTest {
   }
 
   @Test
-  void testProjectZipCreation() {
+  void testProjectZipCreation() throws IOException {
     // Given
     projectGeneratorServiceUnderTest = configureProjectGeneratorService();
-    String validProjectPath = new File("src/test/resources/validTestProject").getAbsolutePath();
+    ProjectGenerationResult result =
+        projectGeneratorServiceUnderTest.generateProject(createValidRequest());
 
     // When
-    final byte[] zipBytes = projectGeneratorServiceUnderTest.createProjectZip(validProjectPath);
+    final byte[] zipBytes = createZip(result);
 
     // Then
     assertNotNull(zipBytes);
@@ -126,18 +270,153 @@ class ProjectGeneratorServiceTest {
   }
 
   @Test
-  void testProjectZipCreationFailing() {
+  void testPomIsKeptInMemoryAndAddedToZip() throws IOException {
     // Given
-    final String invalidProjectPath = "/non/existent/path";
     projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+    ProjectRequestDTO validRequest = createValidRequest();
+    Deadline deadline = projectGeneratorServiceUnderTest.startDeadline();
+
+    // When
+    ProjectGenerationResult result =
+        projectGeneratorServiceUnderTest.generateProject(validRequest, deadline);
+    byte[] zipBytes = createZip(result, deadline);
+
+    // Then
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
+      ZipEntry entry;
+      while ((entry = zip.getNextEntry()) != null) {
+        if (entry.getName().equals("pom.xml")) {
+          assertArrayEquals(result.pom(), zip.readAllBytes());
+          return;
+        }
+      }
+    }
+    fail("ZIP should contain pom.xml");
+  }
+
+  @Test
+  void testZipEntriesKeepTheModesOfTheProjectTree() throws IOException {
+    // Given
+    projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+    ProjectTree tree = new ProjectTree();
+    tree.addText("pom.xml", "<project/>");
+    tree.add("mvnw", "#!/bin/sh\n".getBytes(StandardCharsets.UTF_8), ProjectTree.EXECUTABLE_MODE);
+    ProjectGenerationResult result = ProjectGenerationResult.create(true, tree);
+
+    // When
+    byte[] zipBytes = createZip(result);
+
+    // Then
+    try (ZipFile zip =
+        ZipFile.builder().setSeekableByteChannel(new SeekableInMemoryByteChannel(zipBytes)).get()) {
+      List<ZipArchiveEntry> entries = Collections.list(zip.getEntries());
+      assertEquals(
+          List.of("mvnw", "pom.xml"), entries.stream().map(ZipArchiveEntry::getName).toList());
+      assertEquals(ProjectTree.EXECUTABLE_MODE, entries.get(0).getUnixMode() & 0777);
+      assertEquals(ProjectTree.FILE_MODE, entries.get(1).getUnixMode() & 0777);
+    }
+  }
+
+  @Test
+  void testArchivesOfTheSameTreeAreByteIdentical() throws IOException {
+    // Given
+    projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+    byte[] script = "#!/bin/sh\n".getBytes(StandardCharsets.UTF_8);
+    ProjectTree tree = new ProjectTree();
+    tree.addText("pom.xml", "<project/>");
+    tree.addText("src/main/java/App.java", "class App {}");
+    tree.add("mvnw", ProjectTree.Entry.precompressed(script, ProjectTree.EXECUTABLE_MODE));
+    ProjectTree reordered = new ProjectTree();
+    reordered.add("mvnw", ProjectTree.Entry.precompressed(script, ProjectTree.EXECUTABLE_MODE));
+    reordered.addText("src/main/java/App.java", "class App {}");
+    reordered.addText("pom.xml", "<project/>");
+    TimeZone defaultTimeZone = TimeZone.getDefault();
+
+    // When
+    byte[] first;
+    byte[] second;
+    try {
+      TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+      first = createZip(tree);
+      TimeZone.setDefault(TimeZone.getTimeZone("Pacific/Kiritimati"));
+      second = createZip(reordered);
+    } finally {
+      TimeZone.setDefault(defaultTimeZone);
+    }
+
+    // Then
+    assertArrayEquals(first, second);
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(first))) {
+      ZipEntry entry;
+      List<String> names = new ArrayList<>();
+      while ((entry = zip.getNextEntry()) != null) {
+        names.add(entry.getName());
+        assertEquals(LocalDateTime.of(1980, 1, 1, 0, 0), entry.getTimeLocal());
+      }
+      assertEquals(List.of("mvnw", "pom.xml", "src/main/java/App.java"), names);
+    }
+  }
+
+  private byte[] createZip(ProjectTree tree) throws IOException {
+    return createZip(ProjectGenerationResult.create(true, tree));
+  }
+
+  private byte[] createZip(ProjectGenerationResult result) throws IOException {
+    return createZip(result, projectGeneratorServiceUnderTest.startDeadline());
+  }
+
+  private byte[] createZip(ProjectGenerationResult result, Deadline deadline) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    projectGeneratorServiceUnderTest.streamProjectZip(result, deadline).writeTo(out);
+    return out.toByteArray();
+  }
+
+  @Test
+  void testPrecompressedEntriesAreCopiedIntoTheArchive() throws IOException {
+    // Given
+    projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+    byte[] script = "#!/bin/sh\necho wrapper\n".repeat(50).getBytes(StandardCharsets.UTF_8);
+    ProjectTree.Entry precompressed =
+        ProjectTree.Entry.precompressed(script, ProjectTree.EXECUTABLE_MODE);
+    ProjectTree tree = new ProjectTree();
+    tree.addText("pom.xml", "<project/>");
+    tree.add("mvnw", precompressed);
+    ProjectGenerationResult result = ProjectGenerationResult.create(true, tree);
+
+    // When
+    byte[] zipBytes = createZip(result);
+
+    // Then
+    try (ZipFile zip =
+        ZipFile.builder().setSeekableByteChannel(new SeekableInMemoryByteChannel(zipBytes)).get()) {
+      ZipArchiveEntry mvnw = zip.getEntry("mvnw");
+      assertEquals(ZipArchiveEntry.DEFLATED, mvnw.getMethod());
+      assertEquals(precompressed.deflated().data().length, mvnw.getCompressedSize());
+      assertEquals(ProjectTree.EXECUTABLE_MODE, mvnw.getUnixMode() & 0777);
+      assertArrayEquals(script, zip.getInputStream(mvnw).readAllBytes());
+    }
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
+      assertEquals("mvnw", zip.getNextEntry().getName());
+      assertArrayEquals(script, zip.readAllBytes());
+      assertEquals("pom.xml", zip.getNextEntry().getName());
+      assertArrayEquals("<project/>".getBytes(StandardCharsets.UTF_8), zip.readAllBytes());
+    }
+  }
+
+  @Test
+  void testStreamingArchiveFailsBeforeWritingWhenDeadlineIsExhausted() {
+    // Given
+    projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+    ProjectGenerationResult result = ProjectGenerationResult.create(true, new ProjectTree());
 
     // When & Then
-    assertThrows(
-        IllegalArgumentException.class,
-        () -> projectGeneratorServiceUnderTest.createProjectZip(null));
-    assertThrows(
-        ProjectServiceException.class,
-        () -> projectGeneratorServiceUnderTest.createProjectZip(invalidProjectPath));
+    GenerationTimeoutException exception =
+        assertThrows(
+            GenerationTimeoutException.class,
+            () ->
+                projectGeneratorServiceUnderTest.streamProjectZip(
+                    result, Deadline.after(Duration.ZERO)));
+    assertEquals(GenerationStage.ARCHIVE, exception.getStage());
   }
 
   @Test
@@ -148,13 +427,9 @@ class ProjectGeneratorServiceTest {
     ProjectRequestDTO validRequest = createValidRequest();
 
     // When
-    String projectPath =
-        projectGeneratorServiceUnderTest.generateProject(validRequest).projectPath();
-
-    Path pomFile = Path.of(projectPath, "pom.xml");
-    assertTrue(Files.exists(pomFile));
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
 
-    String pomContent = Files.readString(pomFile);
+    String pomContent = new String(result.pom(), StandardCharsets.UTF_8);
 
     // Then
     assertTrue(pomContent.contains("<groupId>" + validRequest.getGroupId() + "</groupId>"));
@@ -179,14 +454,11 @@ class ProjectGeneratorServiceTest {
     projectGeneratorServiceUnderTest = configureProjectGeneratorService();
 
     // When
-    String projectPath =
-        projectGeneratorServiceUnderTest.generateProject(validRequest).projectPath();
-    Path pomFile = Path.of(projectPath, "pom.xml");
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
 
     // Then
-    assertTrue(Files.exists(pomFile), "POM file should exist");
 
-    String pomContent = Files.readString(pomFile);
+    String pomContent = new String(result.pom(), StandardCharsets.UTF_8);
     List<String> defaultPlugins =
         List.of(
             "maven-clean-plugin",
@@ -207,26 +479,17 @@ class ProjectGeneratorServiceTest {
   @Test
   void testPomContainsDependenciesAndDependencyManagement() throws Exception {
     // Given
-    Mockito.when(
-            artifactVersionService.resolveLatestDependencyBomVersion(
-                Mockito.anyString(), Mockito.anyString()))
-        .thenReturn("TODO");
-    Mockito.when(
-            artifactVersionService.resolveLatestPluginVersion(
-                Mockito.anyString(), Mockito.anyString()))
-        .thenReturn("TODO");
+    Mockito.when(artifactVersionService.resolve(Mockito.any()))
+        .thenReturn(ResolvedVersion.fallback());
     projectGeneratorServiceUnderTest = configureProjectGeneratorService();
     ProjectRequestDTO validRequest = createValidRequest();
     validRequest.setAssertionLibrary(AssertionLibrary.ASSERTJ);
 
     // When
-    String projectPath =
-        projectGeneratorServiceUnderTest.generateProject(validRequest).projectPath();
-    Path pomFile = Path.of(projectPath, "pom.xml");
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
 
     // Then
-    assertTrue(Files.exists(pomFile), "POM file should exist");
-    String pomContent = Files.readString(pomFile);
+    String pomContent = new String(result.pom(), StandardCharsets.UTF_8);
 
     // Dependency Management BOM imports
     assertTrue(pomContent.contains("<groupId>org.junit</groupId>"));
@@ -245,30 +508,19 @@ class ProjectGeneratorServiceTest {
   @Test
   void testPomContainsHamcrestDependency() throws Exception {
     // Given
-    Mockito.when(
-            artifactVersionService.resolveLatestDependencyBomVersion(
-                Mockito.anyString(), Mockito.anyString()))
-        .thenReturn("TODO");
-    Mockito.when(
-            artifactVersionService.resolveLatestDependencyVersion(
-                Mockito.eq("org.hamcrest"), Mockito.eq("hamcrest")))
-        .thenReturn("3.0");
-    Mockito.when(
-            artifactVersionService.resolveLatestPluginVersion(
-                Mockito.anyString(), Mockito.anyString()))
-        .thenReturn("TODO");
+    Mockito.when(artifactVersionService.resolve(Mockito.any()))
+        .thenReturn(ResolvedVersion.fallback());
+    Mockito.when(artifactVersionService.resolve(CatalogArtifacts.HAMCREST))
+        .thenReturn(ResolvedVersion.live("3.0"));
     projectGeneratorServiceUnderTest = configureProjectGeneratorService();
     ProjectRequestDTO validRequest = createValidRequest();
     validRequest.setAssertionLibrary(AssertionLibrary.HAMCREST);
 
     // When
-    String projectPath =
-        projectGeneratorServiceUnderTest.generateProject(validRequest).projectPath();
-    Path pomFile = Path.of(projectPath, "pom.xml");
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
 
     // Then
-    assertTrue(Files.exists(pomFile), "POM file should exist");
-    String pomContent = Files.readString(pomFile);
+    String pomContent = new String(result.pom(), StandardCharsets.UTF_8);
 
     assertTrue(pomContent.contains("<groupId>org.hamcrest</groupId>"));
     assertTrue(pomContent.contains("<artifactId>hamcrest</artifactId>"));
@@ -283,26 +535,17 @@ class ProjectGeneratorServiceTest {
   @Test
   void testPomContainsNoAssertionLibraryDependency() throws Exception {
     // Given
-    Mockito.when(
-            artifactVersionService.resolveLatestDependencyBomVersion(
-                Mockito.anyString(), Mockito.anyString()))
-        .thenReturn("TODO");
-    Mockito.when(
-            artifactVersionService.resolveLatestPluginVersion(
-                Mockito.anyString(), Mockito.anyString()))
-        .thenReturn("TODO");
+    Mockito.when(artifactVersionService.resolve(Mockito.any()))
+        .thenReturn(ResolvedVersion.fallback());
     projectGeneratorServiceUnderTest = configureProjectGeneratorService();
     ProjectRequestDTO validRequest = createValidRequest();
     validRequest.setAssertionLibrary(AssertionLibrary.NONE);
 
     // When
-    String projectPath =
-        projectGeneratorServiceUnderTest.generateProject(validRequest).projectPath();
-    Path pomFile = Path.of(projectPath, "pom.xml");
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
 
     // Then
-    assertTrue(Files.exists(pomFile), "POM file should exist");
-    String pomContent = Files.readString(pomFile);
+    String pomContent = new String(result.pom(), StandardCharsets.UTF_8);
 
     assertFalse(pomContent.contains("<artifactId>assertj-core</artifactId>"));
     assertFalse(pomContent.contains("<artifactId>assertj-bom</artifactId>"));
@@ -318,13 +561,10 @@ class ProjectGeneratorServiceTest {
     projectGeneratorServiceUnderTest = configureProjectGeneratorService();
 
     // When
-    String projectPath =
-        projectGeneratorServiceUnderTest.generateProject(validRequest).projectPath();
-    Path pomFile = Path.of(projectPath, "pom.xml");
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
 
     // Then
-    assertTrue(Files.exists(pomFile), "POM file should exist");
-    String pomContent = Files.readString(pomFile);
+    String pomContent = new String(result.pom(), StandardCharsets.UTF_8);
 
     // Verify jacoco plugin is present
     assertTrue(
@@ -354,23 +594,18 @@ class ProjectGeneratorServiceTest {
   @Test
   void testResolvedPluginVersionIsApplied() throws Exception {
     // Given
-    Mockito.when(
-            artifactVersionService.resolveLatestPluginVersion(
-                Mockito.anyString(), Mockito.anyString()))
-        .thenReturn("TODO");
-    Mockito.when(
-            artifactVersionService.resolveLatestPluginVersion("org.jacoco", "jacoco-maven-plugin"))
-        .thenReturn("9.9.9");
+    Mockito.when(artifactVersionService.resolve(Mockito.any()))
+        .thenReturn(ResolvedVersion.fallback());
+    Mockito.when(artifactVersionService.resolve(CatalogArtifacts.JACOCO_MAVEN_PLUGIN))
+        .thenReturn(ResolvedVersion.live("9.9.9"));
     projectGeneratorServiceUnderTest = configureProjectGeneratorService();
 
     ProjectRequestDTO validRequest = createValidRequest();
 
     // When
-    String projectPath =
-        projectGeneratorServiceUnderTest.generateProject(validRequest).projectPath();
-    Path pomFile = Path.of(projectPath, "pom.xml");
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
 
-    String pomContent = Files.readString(pomFile);
+    String pomContent = new String(result.pom(), StandardCharsets.UTF_8);
 
     // Then
     assertTrue(
@@ -388,23 +623,22 @@ class ProjectGeneratorServiceTest {
     ProjectStructureService realProjectStructureService =
         new ProjectStructureService(resourceTemplateEngine);
 
-    MavenToolboxConfig mavenToolboxConfig = new MavenToolboxConfig();
-    var toolbox = mavenToolboxConfig.toolboxCommando(mavenToolboxConfig.mavenContext());
     projectGeneratorServiceUnderTest =
         new ProjectGeneratorService(
-            toolbox, realProjectStructureService, artifactVersionService, mavenWrapperService);
+            realProjectStructureService,
+            new ParallelVersionResolver(artifactVersionService, Duration.ofSeconds(10)),
+            mavenWrapperService,
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(2));
 
     ProjectRequestDTO validRequest = createValidRequest();
     validRequest.setIncludeSpotless(true);
 
     // When
-    String projectPath =
-        projectGeneratorServiceUnderTest.generateProject(validRequest).projectPath();
-    Path pomFile = Path.of(projectPath, "pom.xml");
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
 
     // Then
-    assertTrue(Files.exists(pomFile), "POM file should exist");
-    String pomContent = Files.readString(pomFile);
+    String pomContent = new String(result.pom(), StandardCharsets.UTF_8);
 
     assertTrue(
         pomContent.contains("<groupId>com.diffplug.spotless</groupId>"),
@@ -431,9 +665,9 @@ class ProjectGeneratorServiceTest {
         pomContent.contains("<!--TODO: Please add a configuration-->"),
         "POM should contain TODO comment in spotless plugin configuration");
 
-    Path readmeFile = Path.of(projectPath, "README.md");
-    assertTrue(Files.exists(readmeFile), "README.md should exist");
-    String readmeContent = Files.readString(readmeFile);
+    ProjectTree.Entry readmeFile = result.tree().get("README.md");
+    assertNotNull(readmeFile, "README.md should exist");
+    String readmeContent = new String(readmeFile.content(), StandardCharsets.UTF_8);
     assertTrue(
         readmeContent.contains("Spotless Maven Plugin"),
         "README should contain Spotless Maven Plugin section");
@@ -452,23 +686,22 @@ class ProjectGeneratorServiceTest {
     ProjectStructureService realProjectStructureService =
         new ProjectStructureService(resourceTemplateEngine);
 
-    MavenToolboxConfig mavenToolboxConfig = new MavenToolboxConfig();
-    var toolbox = mavenToolboxConfig.toolboxCommando(mavenToolboxConfig.mavenContext());
     projectGeneratorServiceUnderTest =
         new ProjectGeneratorService(
-            toolbox, realProjectStructureService, artifactVersionService, mavenWrapperService);
+            realProjectStructureService,
+            new ParallelVersionResolver(artifactVersionService, Duration.ofSeconds(10)),
+            mavenWrapperService,
+            Duration.ofSeconds(30),
+            Duration.ofSeconds(2));
 
     ProjectRequestDTO validRequest = createValidRequest();
     validRequest.setIncludeCheckstyle(true);
 
     // When
-    String projectPath =
-        projectGeneratorServiceUnderTest.generateProject(validRequest).projectPath();
-    Path pomFile = Path.of(projectPath, "pom.xml");
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(validRequest);
 
     // Then
-    assertTrue(Files.exists(pomFile), "POM file should exist");
-    String pomContent = Files.readString(pomFile);
+    String pomContent = new String(result.pom(), StandardCharsets.UTF_8);
 
     assertTrue(
         pomContent.contains("<groupId>org.apache.maven.plugins</groupId>"),
@@ -495,9 +728,9 @@ class ProjectGeneratorServiceTest {
         pomContent.contains("<!--TODO: Please add a configuration-->"),
         "POM should contain TODO comment in checkstyle plugin configuration");
 
-    Path readmeFile = Path.of(projectPath, "README.md");
-    assertTrue(Files.exists(readmeFile), "README.md should exist");
-    String readmeContent = Files.readString(readmeFile);
+    ProjectTree.Entry readmeFile = result.tree().get("README.md");
+    assertNotNull(readmeFile, "README.md should exist");
+    String readmeContent = new String(readmeFile.content(), StandardCharsets.UTF_8);
     assertTrue(
         readmeContent.contains("Maven Checkstyle Plugin"),
         "README should contain Maven Checkstyle Plugin section");
@@ -509,6 +742,50 @@ class ProjectGeneratorServiceTest {
         "README should contain Checkstyle documentation link");
   }
 
+  @Test
+  void testPomReflectsChangedVersionsWithSameOptions() {
+    // Given
+    projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+    ProjectRequestDTO first = createValidRequest();
+    ProjectRequestDTO second = createValidRequest();
+    second.setGroupId("org.example");
+    second.setName("Tom & Jerry");
+    String firstPom =
+        new String(
+            projectGeneratorServiceUnderTest.generateProject(first).pom(), StandardCharsets.UTF_8);
+
+    // When
+    Mockito.when(artifactVersionService.resolve(Mockito.any()))
+        .thenReturn(ResolvedVersion.live("2.0.0"));
+    String secondPom =
+        new String(
+            projectGeneratorServiceUnderTest.generateProject(second).pom(), StandardCharsets.UTF_8);
+
+    // Then
+    assertTrue(firstPom.contains("<version>1.0.0</version>"));
+    assertTrue(firstPom.contains("<groupId>com.example</groupId>"));
+    assertFalse(secondPom.contains("<version>1.0.0</version>"));
+    assertTrue(secondPom.contains("<version>2.0.0</version>"));
+    assertTrue(secondPom.contains("<groupId>org.example</groupId>"));
+    assertTrue(secondPom.contains("<name>Tom &amp; Jerry</name>"));
+  }
+
+  @Test
+  void testPomWithoutDescriptionIsBuiltInFull() {
+    // Given
+    projectGeneratorServiceUnderTest = configureProjectGeneratorService();
+    ProjectRequestDTO request = createValidRequest();
+    request.setDescription(null);
+
+    // When
+    ProjectGenerationResult result = projectGeneratorServiceUnderTest.generateProject(request);
+
+    // Then
+    String pomContent = new String(result.pom(), StandardCharsets.UTF_8);
+    assertTrue(pomContent.contains("<description/>"));
+    assertTrue(pomContent.contains("<name>Test Project</name>"));
+  }
+
   private ProjectRequestDTO createValidRequest() {
     final ProjectRequestDTO request = new ProjectRequestDTO();
     request.setGroupId("com.example");
@@ -19,65 +19,63 @@
 package com.openelements.maven.initializer.backend.service;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.openelements.maven.initializer.backend.domain.AssertionLibrary;
+import com.openelements.maven.initializer.backend.domain.ProjectTree;
 import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
 class ProjectStructureServiceTest {
 
-  @TempDir Path tempDir;
-
   private ProjectStructureService projectStructureService;
   private ProjectRequestDTO validRequest;
+  private ProjectTree tree;
 
   @BeforeEach
   void setUp() {
     ResourceTemplateEngine resourceTemplateEngine = new ResourceTemplateEngine();
     projectStructureService = new ProjectStructureService(resourceTemplateEngine);
     validRequest = createValidRequest();
+    tree = new ProjectTree();
   }
 
   @Test
   void testProjectStructureCreation() {
     // When
-    assertDoesNotThrow(() -> projectStructureService.createStructure(tempDir, validRequest));
-
-    Path mainClassFile = tempDir.resolve("src/main/java/com/example/Testproject.java");
-    Path testClassFile = tempDir.resolve("src/test/java/com/example/TestprojectTest.java");
-    Path gitignoreFile = tempDir.resolve(".gitignore");
+    projectStructureService.createStructure(tree, validRequest);
 
     // Then
     assertAll(
-        () -> assertTrue(Files.exists(mainClassFile), "Main class file should exist"),
-        () -> assertTrue(Files.exists(testClassFile), "Test class file should exist"),
-        () -> assertTrue(Files.exists(gitignoreFile), ".gitignore file should exist"));
+        () ->
+            assertTrue(
+                tree.contains("src/main/java/com/example/Testproject.java"),
+                "Main class file should exist"),
+        () ->
+            assertTrue(
+                tree.contains("src/test/java/com/example/TestprojectTest.java"),
+                "Test class file should exist"),
+        () -> assertTrue(tree.contains(".gitignore"), ".gitignore file should exist"));
 
     assertThrows(
         RuntimeException.class,
-        () -> projectStructureService.createStructure(tempDir, null),
+        () -> projectStructureService.createStructure(new ProjectTree(), null),
         "Expected exception for null ProjectRequestDTO");
   }
 
   @Test
-  void testMainClassContent() throws IOException {
+  void testMainClassContent() {
     // When
-    projectStructureService.createStructure(tempDir, validRequest);
-
-    Path mainClassFile = tempDir.resolve("src/main/java/com/example/Testproject.java");
-    assertTrue(Files.exists(mainClassFile), "Main class file should exist");
+    projectStructureService.createStructure(tree, validRequest);
 
-    String content = Files.readString(mainClassFile);
+    String content = text("src/main/java/com/example/Testproject.java");
 
     assertAll(
         () ->
@@ -97,13 +95,10 @@ class ProjectStructureServiceTest {
   }
 
   @Test
-  void testTestClassContent() throws IOException {
-    projectStructureService.createStructure(tempDir, validRequest);
+  void testTestClassContent() {
+    projectStructureService.createStructure(tree, validRequest);
 
-    Path testClassFile = tempDir.resolve("src/test/java/com/example/TestprojectTest.java");
-    assertTrue(Files.exists(testClassFile), "Test class file should exist");
-
-    String content = Files.readString(testClassFile);
+    String content = text("src/test/java/com/example/TestprojectTest.java");
 
     assertAll(
         () -> assertTrue(content.contains("package com.example;"), "Package should match group ID"),
@@ -123,17 +118,14 @@ class ProjectStructureServiceTest {
   }
 
   @Test
-  void testTestClassContentWithHamcrest() throws IOException {
+  void testTestClassContentWithHamcrest() {
     // Given
     validRequest.setAssertionLibrary(AssertionLibrary.HAMCREST);
 
     // When
-    projectStructureService.createStructure(tempDir, validRequest);
-
-    Path testClassFile = tempDir.resolve("src/test/java/com/example/TestprojectTest.java");
-    assertTrue(Files.exists(testClassFile), "Test class file should exist");
+    projectStructureService.createStructure(tree, validRequest);
 
-    String content = Files.readString(testClassFile);
+    String content = text("src/test/java/com/example/TestprojectTest.java");
 
     // Then
     assertAll(
@@ -153,17 +145,14 @@ class ProjectStructureServiceTest {
   }
 
   @Test
-  void testTestClassContentWithNoAssertionLibrary() throws IOException {
+  void testTestClassContentWithNoAssertionLibrary() {
     // Given
     validRequest.setAssertionLibrary(AssertionLibrary.NONE);
 
     // When
-    projectStructureService.createStructure(tempDir, validRequest);
-
-    Path testClassFile = tempDir.resolve("src/test/java/com/example/TestprojectTest.java");
-    assertTrue(Files.exists(testClassFile), "Test class file should exist");
+    projectStructureService.createStructure(tree, validRequest);
 
-    String content = Files.readString(testClassFile);
+    String content = text("src/test/java/com/example/TestprojectTest.java");
 
     // Then
     assertAll(
@@ -182,17 +171,22 @@ class ProjectStructureServiceTest {
   }
 
   @Test
-  void testTestDirectoryStructure() {
-    projectStructureService.createStructure(tempDir, validRequest);
-
-    Path testJavaDir = tempDir.resolve("src/test/java/com/example");
-    Path testClassFile = testJavaDir.resolve("TestprojectTest.java");
+  void testProjectStructureIsAddedToTree() {
+    // When
+    projectStructureService.createStructure(tree, validRequest);
+    projectStructureService.createReadmeFile(tree, validRequest);
 
-    assertAll(
-        () -> assertTrue(Files.isDirectory(testJavaDir), "Test Java directory should exist"),
-        () ->
-            assertTrue(
-                Files.exists(testClassFile), "Test class file should be placed in test directory"));
+    // Then
+    assertEquals(
+        List.of(
+            ".gitignore",
+            "src/main/java/com/example/Testproject.java",
+            "src/test/java/com/example/TestprojectTest.java",
+            "README.md"),
+        List.copyOf(tree.files().keySet()));
+    assertTrue(
+        tree.files().values().stream().noneMatch(ProjectTree.Entry::isExecutable),
+        "Sources should not be executable");
   }
 
   @ParameterizedTest
@@ -207,42 +201,25 @@ class ProjectStructureServiceTest {
         "buildNumber.properties",
         "pom.xml.versionsBackup"
       })
-  void testGitignoreContainsExpectedEntries(String entry) throws IOException {
+  void testGitignoreContainsExpectedEntries(String entry) {
     // When
-    projectStructureService.createStructure(tempDir, validRequest);
-
-    Path gitignoreFile = tempDir.resolve(".gitignore");
-    assertTrue(Files.exists(gitignoreFile), ".gitignore file should exist");
+    projectStructureService.createStructure(tree, validRequest);
 
     // Then
-    String content = Files.readString(gitignoreFile);
+    String content = text(".gitignore");
     assertTrue(content.contains(entry), "Missing .gitignore entry: " + entry);
   }
 
-  @Test
-  void testDirectoryStructureCreation() throws IOException {
-    // When
-    projectStructureService.createStructure(tempDir, validRequest);
-
-    Path mainJavaDir = tempDir.resolve("src/main/java/com/example");
-
-    assertAll(() -> assertTrue(Files.isDirectory(mainJavaDir), "Main Java directory should exist"));
-
-    Path mainClassFile = mainJavaDir.resolve("Testproject.java");
-    assertTrue(Files.exists(mainClassFile), "Main class should be correctly placed");
-  }
-
   @Test
   void testReadmeCreationWithMavenWrapper() {
     // Given
     validRequest.setIncludeMavenWrapper(true);
 
     // When
-    projectStructureService.createReadmeFile(tempDir, validRequest);
+    projectStructureService.createReadmeFile(tree, validRequest);
 
     // Then
-    Path readmeFile = tempDir.resolve("README.md");
-    assertTrue(Files.exists(readmeFile), "README.md file should exist");
+    assertTrue(tree.contains("README.md"), "README.md file should exist");
   }
 
   @Test
@@ -251,11 +228,16 @@ class ProjectStructureServiceTest {
     validRequest.setIncludeMavenWrapper(false);
 
     // When
-    projectStructureService.createReadmeFile(tempDir, validRequest);
+    projectStructureService.createReadmeFile(tree, validRequest);
 
     // Then
-    Path readmeFile = tempDir.resolve("README.md");
-    assertTrue(Files.exists(readmeFile), "README.md file should exist");
+    assertTrue(tree.contains("README.md"), "README.md file should exist");
+  }
+
+  private String text(String path) {
+    ProjectTree.Entry entry = tree.get(path);
+    assertTrue(entry != null, path + " should exist");
+    return new String(entry.content(), StandardCharsets.UTF_8);
   }
 
   private ProjectRequestDTO createValidRequest() {
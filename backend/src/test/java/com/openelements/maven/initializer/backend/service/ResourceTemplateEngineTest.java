@@ -21,12 +21,10 @@ package com.openelements.maven.initializer.backend.service;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.openelements.maven.initializer.backend.dto.ProjectRequestDTO;
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.io.TempDir;
 
 class ResourceTemplateEngineTest {
 
@@ -37,26 +35,22 @@ class ResourceTemplateEngineTest {
         new ProjectRequestDTO(
             "groupid", "artifactId", "Version", "description", "25", "my-project");
     data.setIncludeMavenWrapper(false);
-    Path outputFilePath = Path.of("target/jteTest/withoutMvnWrapper.md");
-    engine.createReadmeFile(data, outputFilePath);
+    String content = engine.renderReadme(data);
 
-    assertThat(outputFilePath.toFile().exists()).isTrue();
-    assertThat(outputFilePath.toFile())
-        .hasSameTextualContentAs(new File("src/test/resources/jte/withoutMvnWrapper.md"));
+    assertThat(content)
+        .isEqualToNormalizingNewlines(
+            Files.readString(Path.of("src/test/resources/jte/withoutMvnWrapper.md")));
   }
 
   @Test
-  void testWithSpotless(@TempDir Path tempDir) throws IOException {
+  void testWithSpotlessMentionsFormattingPlugins() {
     ResourceTemplateEngine engine = new ResourceTemplateEngine();
     ProjectRequestDTO data =
         new ProjectRequestDTO(
             "groupid", "artifactId", "Version", "description", "25", "my-project");
     data.setIncludeSpotless(true);
-    Path outputFilePath = tempDir.resolve("withSpotless.md");
-    engine.createReadmeFile(data, outputFilePath);
+    String content = engine.renderReadme(data);
 
-    assertThat(outputFilePath.toFile().exists()).isTrue();
-    String content = Files.readString(outputFilePath);
     assertThat(content).contains("Spotless Maven Plugin");
     assertThat(content).contains("Code Formatting Plugins");
   }
@@ -68,12 +62,11 @@ class ResourceTemplateEngineTest {
         new ProjectRequestDTO(
             "groupid", "artifactId", "Version", "description", "25", "my-project");
     data.setIncludeCheckstyle(true);
-    Path outputFilePath = Path.of("target/jteTest/withCheckstyle.md");
-    engine.createReadmeFile(data, outputFilePath);
+    String content = engine.renderReadme(data);
 
-    assertThat(outputFilePath.toFile().exists()).isTrue();
-    assertThat(outputFilePath.toFile())
-        .hasSameTextualContentAs(new File("src/test/resources/jte/withCheckstyle.md"));
+    assertThat(content)
+        .isEqualToNormalizingNewlines(
+            Files.readString(Path.of("src/test/resources/jte/withCheckstyle.md")));
   }
 
   @Test
@@ -83,12 +76,11 @@ class ResourceTemplateEngineTest {
         new ProjectRequestDTO(
             "groupid", "artifactId", "Version", "description", "25", "my-project");
     data.setIncludeSpotless(true);
-    Path outputFilePath = Path.of("target/jteTest/withSpotless.md");
-    engine.createReadmeFile(data, outputFilePath);
+    String content = engine.renderReadme(data);
 
-    assertThat(outputFilePath.toFile().exists()).isTrue();
-    assertThat(outputFilePath.toFile())
-        .hasSameTextualContentAs(new File("src/test/resources/jte/withSpotless.md"));
+    assertThat(content)
+        .isEqualToNormalizingNewlines(
+            Files.readString(Path.of("src/test/resources/jte/withSpotless.md")));
   }
 
   @Test
@@ -98,12 +90,11 @@ class ResourceTemplateEngineTest {
         new ProjectRequestDTO(
             "groupid", "artifactId", "Version", "description", "25", "my-project");
     data.setIncludeMavenWrapper(true);
-    Path outputFilePath = Path.of("target/jteTest/includeMvnWrapper.md");
-    engine.createReadmeFile(data, outputFilePath);
+    String content = engine.renderReadme(data);
 
-    assertThat(outputFilePath.toFile().exists()).isTrue();
-    assertThat(outputFilePath.toFile())
-        .hasSameTextualContentAs(new File("src/test/resources/jte/includedMvnWrapper.md"));
+    assertThat(content)
+        .isEqualToNormalizingNewlines(
+            Files.readString(Path.of("src/test/resources/jte/includedMvnWrapper.md")));
   }
 
   @Test
@@ -115,11 +106,10 @@ class ResourceTemplateEngineTest {
     data.setIncludeMavenWrapper(true);
     data.setIncludeSpotless(true);
     data.setIncludeCheckstyle(true);
-    Path outputFilePath = Path.of("target/jteTest/generalReadme.md");
-    engine.createReadmeFile(data, outputFilePath);
+    String content = engine.renderReadme(data);
 
-    assertThat(outputFilePath.toFile().exists()).isTrue();
-    assertThat(outputFilePath.toFile())
-        .hasSameTextualContentAs(new File("src/test/resources/jte/generalReadme.md"));
+    assertThat(content)
+        .isEqualToNormalizingNewlines(
+            Files.readString(Path.of("src/test/resources/jte/generalReadme.md")));
   }
 }
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+  @Test
+  void waitingCallersShareTheResultOfTheRunningCall() throws Exception {
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<String> leader =
+          executor.submit(
+              () ->
+                  singleFlight.execute(
+                      "key",
+                      () -> {
+                        loads.incrementAndGet();
+                        started.countDown();
+                        awaitQuietly(release);
+                        return "value";
+                      },
+                      Duration.ofSeconds(5)));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      Future<String> follower =
+          executor.submit(
+              () ->
+                  singleFlight.execute(
+                      "key",
+                      () -> {
+                        loads.incrementAndGet();
+                        return "other";
+                      },
+                      Duration.ofSeconds(5)));
+      Thread.sleep(100);
+      release.countDown();
+
+      assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+      assertEquals("value", follower.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, loads.get());
+    assertEquals(0, singleFlight.inFlightCount());
+  }
+
+  @Test
+  void waitingCallerTimesOutWithoutCancellingTheRunningCall() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      Future<String> leader =
+          executor.submit(
+              () ->
+                  singleFlight.execute(
+                      "key",
+                      () -> {
+                        started.countDown();
+                        awaitQuietly(release);
+                        return "value";
+                      },
+                      Duration.ofSeconds(5)));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+
+      assertThrows(
+          TimeoutException.class,
+          () -> singleFlight.execute("key", () -> "other", Duration.ofMillis(50)));
+
+      release.countDown();
+      assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  void failureIsPropagatedAndNotRemembered() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      executor.submit(
+          () ->
+              singleFlight.execute(
+                  "key",
+                  () -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                    throw new IllegalStateException("boom");
+                  },
+                  Duration.ofSeconds(5)));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      Future<String> follower =
+          executor.submit(() -> singleFlight.execute("key", () -> "other", Duration.ofSeconds(5)));
+      Thread.sleep(100);
+      release.countDown();
+
+      ExecutionException failure =
+          assertThrows(ExecutionException.class, () -> follower.get(5, TimeUnit.SECONDS));
+      assertInstanceOf(ExecutionException.class, failure.getCause());
+    }
+    assertEquals("retried", singleFlight.execute("key", () -> "retried", Duration.ofSeconds(5)));
+  }
+
+  @Test
+  void hungCallIsAbandonedWhenTheFirstCallerTimesOut() throws Exception {
+    // Given
+    CountDownLatch interrupted = new CountDownLatch(1);
+    Supplier<String> hanging =
+        () -> {
+          try {
+            Thread.sleep(Duration.ofMinutes(1));
+          } catch (InterruptedException e) {
+            interrupted.countDown();
+          }
+          return "late";
+        };
+
+    // When
+    assertThrows(
+        TimeoutException.class, () -> singleFlight.execute("key", hanging, Duration.ofMillis(50)));
+
+    // Then
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertEquals(0, singleFlight.inFlightCount());
+    assertEquals("retried", singleFlight.execute("key", () -> "retried", Duration.ofSeconds(5)));
+  }
+
+  @Test
+  void failureOfTheOwnCallIsThrownUnwrapped() {
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            singleFlight.execute(
+                "key",
+                () -> {
+                  throw new IllegalStateException("boom");
+                },
+                Duration.ofSeconds(5)));
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
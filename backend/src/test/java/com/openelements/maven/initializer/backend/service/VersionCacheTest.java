@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VersionCacheTest {
+
+  private static final VersionCache.Key KEY =
+      new VersionCache.Key("g", "a", "jar", "noSnapshotsAndPreviews");
+
+  private MutableClock clock;
+  private VersionCache versionCache;
+
+  @BeforeEach
+  void setUp() {
+    clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+    versionCache = new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 2, clock);
+  }
+
+  @Test
+  void returnsCachedVersionUntilTtlExpires() {
+    versionCache.put(KEY, "1.0.0", false);
+
+    clock.advance(Duration.ofMinutes(59));
+    assertEquals(Optional.of("1.0.0"), versionCache.get(KEY));
+
+    clock.advance(Duration.ofMinutes(1));
+    assertEquals(Optional.empty(), versionCache.get(KEY));
+  }
+
+  @Test
+  void expiresFallbackVersionsEarlier() {
+    versionCache.put(KEY, "TODO", true);
+
+    clock.advance(Duration.ofMinutes(5));
+
+    assertEquals(Optional.empty(), versionCache.get(KEY));
+  }
+
+  @Test
+  void evictsEntriesClosestToExpiryWhenFull() {
+    VersionCache.Key fallbackKey = new VersionCache.Key("g", "fallback", "jar", "m");
+    VersionCache.Key otherKey = new VersionCache.Key("g", "other", "jar", "m");
+
+    versionCache.put(KEY, "1.0.0", false);
+    versionCache.put(fallbackKey, "TODO", true);
+    versionCache.put(otherKey, "2.0.0", false);
+
+    assertEquals(2, versionCache.size());
+    assertTrue(versionCache.get(fallbackKey).isEmpty(), "Fallback entry should be evicted first");
+    assertEquals(Optional.of("1.0.0"), versionCache.get(KEY));
+    assertEquals(Optional.of("2.0.0"), versionCache.get(otherKey));
+  }
+
+  @Test
+  void storesNothingWhenDisabled() {
+    VersionCache disabled = new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 0, clock);
+
+    disabled.put(KEY, "1.0.0", false);
+
+    assertEquals(Optional.empty(), disabled.get(KEY));
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
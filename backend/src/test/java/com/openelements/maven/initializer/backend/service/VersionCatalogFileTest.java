@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Instant;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class VersionCatalogFileTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Test
+  void writesSortedEntries() {
+    VersionCatalog catalog =
+        new VersionCatalog(
+            Map.of(
+                ArtifactCoordinate.plugin("org.jacoco", "jacoco-maven-plugin"),
+                new VersionCatalog.Entry("0.8.13", NOW),
+                ArtifactCoordinate.bom("org.junit", "junit-bom"),
+                new VersionCatalog.Entry("5.13.4", NOW)),
+            NOW,
+            NOW);
+
+    assertEquals(
+        """
+        # Maven Initializer version catalog
+        # refreshed-at=2025-01-01T00:00:00Z
+        org.jacoco:jacoco-maven-plugin:jar=0.8.13
+        org.junit:junit-bom:pom=5.13.4
+        """,
+        VersionCatalogFile.write(catalog));
+  }
+
+  @Test
+  void roundTripsVersions() throws IOException {
+    VersionCatalog catalog =
+        new VersionCatalog(
+            Map.of(
+                ArtifactCoordinate.plugin("org.jacoco", "jacoco-maven-plugin"),
+                new VersionCatalog.Entry("0.8.13", NOW)),
+            NOW,
+            NOW);
+
+    VersionCatalog read =
+        VersionCatalogFile.read(new StringReader(VersionCatalogFile.write(catalog)), NOW);
+
+    assertEquals(catalog, read);
+  }
+
+  @Test
+  void skipsCommentsAndBlankLines() throws IOException {
+    VersionCatalog read =
+        VersionCatalogFile.read(
+            new StringReader("# comment\n\n  org.assertj:assertj-bom:pom = 3.27.6  \n"), NOW);
+
+    assertEquals(
+        "3.27.6",
+        read.entry(ArtifactCoordinate.bom("org.assertj", "assertj-bom")).orElseThrow().version());
+  }
+
+  @Test
+  void rejectsInvalidLines() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> VersionCatalogFile.read(new StringReader("org.assertj:assertj-bom:pom\n"), NOW));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> VersionCatalogFile.read(new StringReader("assertj=3.27.6\n"), NOW));
+  }
+}
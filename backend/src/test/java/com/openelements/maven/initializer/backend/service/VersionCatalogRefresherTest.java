@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.openelements.maven.initializer.backend.domain.CatalogArtifacts;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import eu.maveniverse.maven.toolbox.shared.ToolboxResolver;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.version.Version;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class VersionCatalogRefresherTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Mock private ToolboxCommando toolboxCommando;
+  @Mock private ToolboxResolver toolboxResolver;
+  @Mock private Version version;
+
+  @TempDir private Path tempDir;
+
+  private ArtifactVersionService artifactVersionService;
+  private VersionCatalogSnapshotStore snapshotStore;
+
+  @BeforeEach
+  void setUp() {
+    Mockito.when(toolboxCommando.getToolboxResolver()).thenReturn(toolboxResolver);
+    Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    artifactVersionService =
+        new ArtifactVersionService(
+            toolboxCommando,
+            new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 16, clock),
+            Duration.ofSeconds(30),
+            Optional.empty(),
+            new CircuitBreaker(
+                5, Duration.ofSeconds(5), Duration.ofSeconds(30), 1, Clock.systemUTC()),
+            VersionResolutionMetrics.noop(),
+            clock);
+    snapshotStore =
+        new VersionCatalogSnapshotStore(
+            tempDir.resolve("version-catalog.bin").toString(), artifactVersionService);
+  }
+
+  @Test
+  void publishesAllCatalogArtifacts() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenReturn(version);
+    Mockito.when(version.toString()).thenReturn("1.0.0");
+
+    new VersionCatalogRefresher(
+            artifactVersionService, snapshotStore, Clock.fixed(NOW, ZoneOffset.UTC))
+        .refresh();
+
+    VersionCatalog catalog = artifactVersionService.currentCatalog();
+    assertEquals(CatalogArtifacts.ALL.size(), catalog.entries().size());
+    assertEquals(NOW, catalog.lastSuccessfulRefresh());
+    assertEquals(
+        "1.0.0",
+        artifactVersionService.resolveLatestPluginVersion("org.jacoco", "jacoco-maven-plugin"));
+  }
+
+  @Test
+  void keepsStaleEntriesWhenRefreshFails() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenReturn(version);
+    Mockito.when(version.toString()).thenReturn("1.0.0");
+    new VersionCatalogRefresher(
+            artifactVersionService, snapshotStore, Clock.fixed(NOW, ZoneOffset.UTC))
+        .refresh();
+
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenThrow(new VersionRangeResolutionException(null, "repository unavailable"));
+    Instant later = NOW.plus(Duration.ofHours(4));
+    new VersionCatalogRefresher(
+            artifactVersionService, snapshotStore, Clock.fixed(later, ZoneOffset.UTC))
+        .refresh();
+
+    VersionCatalog catalog = artifactVersionService.currentCatalog();
+    VersionCatalog.Entry entry = catalog.entry(CatalogArtifacts.JUNIT_BOM).orElseThrow();
+    assertEquals("1.0.0", entry.version());
+    assertEquals(Duration.ofHours(4), entry.staleness(later));
+    assertEquals(later, catalog.refreshedAt());
+    assertEquals(NOW, catalog.lastSuccessfulRefresh());
+    assertEquals(CatalogArtifacts.ALL.size(), catalog.entries().size());
+  }
+
+  @Test
+  void persistsPublishedCatalog() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenReturn(version);
+    Mockito.when(version.toString()).thenReturn("1.0.0");
+
+    new VersionCatalogRefresher(
+            artifactVersionService, snapshotStore, Clock.fixed(NOW, ZoneOffset.UTC))
+        .refresh();
+
+    assertEquals(Optional.of(artifactVersionService.currentCatalog()), snapshotStore.load());
+  }
+}
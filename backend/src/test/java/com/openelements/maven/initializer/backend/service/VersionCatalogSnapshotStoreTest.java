@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class VersionCatalogSnapshotStoreTest {
+
+  private static final VersionCatalog CATALOG =
+      new VersionCatalog(
+          Map.of(
+              ArtifactCoordinate.plugin("org.jacoco", "jacoco-maven-plugin"),
+              new VersionCatalog.Entry("0.8.13", Instant.parse("2025-01-01T00:00:00.123456789Z")),
+              ArtifactCoordinate.bom("org.junit", "junit-bom"),
+              new VersionCatalog.Entry("5.13.4", Instant.parse("2024-12-31T12:00:00Z"))),
+          Instant.parse("2025-01-01T00:00:01Z"),
+          null);
+
+  @Mock private ToolboxCommando toolboxCommando;
+  @TempDir private Path tempDir;
+
+  private Path snapshotFile;
+  private ArtifactVersionService artifactVersionService;
+  private VersionCatalogSnapshotStore snapshotStore;
+
+  @BeforeEach
+  void setUp() {
+    snapshotFile = tempDir.resolve("state").resolve("version-catalog.bin");
+    artifactVersionService =
+        new ArtifactVersionService(
+            toolboxCommando,
+            new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 16, Clock.systemUTC()),
+            Duration.ofSeconds(30),
+            Optional.empty(),
+            new CircuitBreaker(
+                5, Duration.ofSeconds(5), Duration.ofSeconds(30), 1, Clock.systemUTC()),
+            VersionResolutionMetrics.noop(),
+            Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC));
+    snapshotStore =
+        new VersionCatalogSnapshotStore(snapshotFile.toString(), artifactVersionService);
+  }
+
+  @Test
+  void roundTripsCatalog() {
+    snapshotStore.save(CATALOG);
+
+    assertEquals(Optional.of(CATALOG), snapshotStore.load());
+  }
+
+  @Test
+  void replacesExistingSnapshotWithoutLeavingTemporaryFiles() throws Exception {
+    snapshotStore.save(VersionCatalog.empty());
+    snapshotStore.save(CATALOG);
+
+    assertEquals(Optional.of(CATALOG), snapshotStore.load());
+    try (var files = Files.list(snapshotFile.getParent())) {
+      assertEquals(1, files.count());
+    }
+  }
+
+  @Test
+  void ignoresMissingOrCorruptSnapshot() throws Exception {
+    assertTrue(snapshotStore.load().isEmpty());
+
+    snapshotStore.save(CATALOG);
+    byte[] bytes = Files.readAllBytes(snapshotFile);
+    bytes[bytes.length / 2] ^= 0x7F;
+    Files.write(snapshotFile, bytes);
+
+    assertTrue(snapshotStore.load().isEmpty());
+  }
+
+  @Test
+  void restoresSnapshotIntoEmptyCatalog() {
+    snapshotStore.save(CATALOG);
+
+    snapshotStore.restore();
+
+    assertEquals(CATALOG, artifactVersionService.currentCatalog());
+  }
+
+  @Test
+  void doesNothingWhenDisabled() {
+    VersionCatalogSnapshotStore disabled =
+        new VersionCatalogSnapshotStore("", artifactVersionService);
+
+    disabled.save(CATALOG);
+
+    assertTrue(disabled.load().isEmpty());
+  }
+}
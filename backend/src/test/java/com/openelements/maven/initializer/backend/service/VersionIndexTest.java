@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import eu.maveniverse.maven.toolbox.shared.ArtifactVersionMatcher;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+class VersionIndexTest {
+
+  private static final List<String> VERSIONS =
+      List.of(
+          "5.13.4",
+          "5.9.3",
+          "6.0.0-M1",
+          "5.12.0",
+          "5.12.2",
+          "5.13.0-RC1",
+          "6.0.0",
+          "5.12.3-SNAPSHOT",
+          "not-a-version",
+          "5");
+
+  private final VersionIndex index =
+      VersionIndex.of(
+          VERSIONS,
+          Map.of(
+              "5.12.2", Instant.parse("2025-04-01T00:00:00Z"),
+              "5.13.4", Instant.parse("2025-07-20T00:00:00Z"),
+              "6.0.0", Instant.parse("2025-09-30T00:00:00Z")),
+          ArtifactVersionMatcher.noSnapshotsAndPreviews());
+
+  @Test
+  void skipsVersionsWithoutReleaseLine() {
+    assertEquals(VERSIONS.size() - 1, index.size());
+  }
+
+  @Test
+  void selectsNewestRelease() {
+    assertEquals(Optional.of("6.0.0"), index.newest());
+  }
+
+  @Test
+  void selectsNewestPatchOfMinorVersion() {
+    assertEquals(Optional.of("5.12.2"), index.newestInLine(5, 12));
+    assertEquals(Optional.of("5.9.3"), index.newestInLine(5, 9));
+    assertEquals(Optional.of("5"), index.newestInLine(5, 0));
+    assertEquals(Optional.empty(), index.newestInLine(5, 11));
+  }
+
+  @Test
+  void selectsNewestReleaseBelowMajorVersion() {
+    assertEquals(Optional.of("5.13.4"), index.newestBelowMajor(6));
+    assertEquals(Optional.empty(), index.newestBelowMajor(5));
+  }
+
+  @Test
+  void selectsNewestReleasePublishedBeforeCutoff() {
+    assertEquals(
+        Optional.of("5.13.4"), index.newestPublishedBefore(Instant.parse("2025-09-01T00:00:00Z")));
+    assertEquals(
+        Optional.empty(), index.newestPublishedBefore(Instant.parse("2025-01-01T00:00:00Z")));
+  }
+
+  @Test
+  void readsReleaseLines() {
+    assertEquals(5L << 32 | 13, VersionIndex.releaseLine("5.13.4"));
+    assertEquals(6L << 32, VersionIndex.releaseLine("6-M1"));
+    assertEquals(3L << 32 | 2, VersionIndex.releaseLine("3.2beta"));
+    assertEquals(-1, VersionIndex.releaseLine("RELEASE"));
+    assertEquals(-1, VersionIndex.releaseLine("99999999999.0"));
+  }
+}
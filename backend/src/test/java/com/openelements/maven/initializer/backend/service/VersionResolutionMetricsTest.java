@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.openelements.maven.initializer.backend.domain.ArtifactCoordinate;
+import com.openelements.maven.initializer.backend.domain.CatalogArtifacts;
+import com.openelements.maven.initializer.backend.domain.VersionCatalog;
+import eu.maveniverse.maven.toolbox.shared.ToolboxCommando;
+import eu.maveniverse.maven.toolbox.shared.ToolboxResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.aether.resolution.VersionRangeResolutionException;
+import org.eclipse.aether.version.Version;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class VersionResolutionMetricsTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+  @Mock private ToolboxCommando toolboxCommando;
+  @Mock private ToolboxResolver toolboxResolver;
+  @Mock private Version version;
+
+  private SimpleMeterRegistry registry;
+  private ArtifactVersionService artifactVersionService;
+
+  @BeforeEach
+  void setUp() {
+    Mockito.when(toolboxCommando.getToolboxResolver()).thenReturn(toolboxResolver);
+    Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    registry = new SimpleMeterRegistry();
+    artifactVersionService =
+        new ArtifactVersionService(
+            toolboxCommando,
+            new VersionCache(Duration.ofHours(1), Duration.ofMinutes(5), 16, clock),
+            Duration.ofSeconds(30),
+            Optional.empty(),
+            new CircuitBreaker(5, Duration.ofSeconds(5), Duration.ofSeconds(30), 1, clock),
+            new VersionResolutionMetrics(registry, clock),
+            clock);
+  }
+
+  @Test
+  void recordsOutcomePerResolution() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenReturn(version);
+    Mockito.when(version.toString()).thenReturn("0.8.13");
+
+    artifactVersionService.resolve(CatalogArtifacts.JACOCO_MAVEN_PLUGIN);
+    artifactVersionService.resolve(CatalogArtifacts.JACOCO_MAVEN_PLUGIN);
+
+    assertEquals(1, resolutionCount("org.jacoco:jacoco-maven-plugin", "live"));
+    assertEquals(1, resolutionCount("org.jacoco:jacoco-maven-plugin", "cached"));
+    assertEquals(1, lookupCount("found"));
+    assertEquals(1, cacheCount("hit", "cache"));
+    assertEquals(1, cacheCount("miss", "cache"));
+  }
+
+  @Test
+  void recordsFallbackWhenLookupFindsNothing() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any())).thenReturn(null);
+
+    artifactVersionService.resolve(ArtifactCoordinate.dependency("com.example", "unknown"));
+
+    assertEquals(1, resolutionCount(VersionResolutionMetrics.OTHER_COORDINATE, "fallback"));
+    assertEquals(1, lookupCount("not_found"));
+  }
+
+  @Test
+  void recordsFailedLookups() throws Exception {
+    Mockito.when(toolboxResolver.findNewestVersion(Mockito.any(), Mockito.any()))
+        .thenThrow(new VersionRangeResolutionException(null, "resolution failed"));
+
+    artifactVersionService.resolve(ArtifactCoordinate.dependency("com.example", "broken"));
+
+    assertEquals(1, resolutionCount(VersionResolutionMetrics.OTHER_COORDINATE, "fallback"));
+    assertEquals(1, lookupCount("failed"));
+  }
+
+  @Test
+  void tagsOnlyCatalogArtifactsByName() {
+    assertEquals(
+        "org.junit:junit-bom", VersionResolutionMetrics.coordinateTag(CatalogArtifacts.JUNIT_BOM));
+    assertEquals(
+        VersionResolutionMetrics.OTHER_COORDINATE,
+        VersionResolutionMetrics.coordinateTag(ArtifactCoordinate.dependency("g", "a")));
+  }
+
+  @Test
+  void countsCatalogHitsAndReportsStaleness() {
+    artifactVersionService.publishCatalog(
+        new VersionCatalog(
+            Map.of(
+                CatalogArtifacts.JUNIT_BOM,
+                new VersionCatalog.Entry("5.13.4", NOW.minus(Duration.ofHours(2))),
+                CatalogArtifacts.ASSERTJ_BOM,
+                new VersionCatalog.Entry("3.27.6", NOW.minus(Duration.ofMinutes(5)))),
+            NOW,
+            NOW));
+
+    artifactVersionService.resolve(CatalogArtifacts.JUNIT_BOM);
+
+    assertEquals(1, cacheCount("hit", "catalog"));
+    assertEquals(
+        Duration.ofHours(2).toSeconds(),
+        registry.get("initializer.version.catalog.staleness").gauge().value());
+  }
+
+  @Test
+  void reportsNoStalenessForEmptyCatalog() {
+    assertTrue(Double.isNaN(registry.get("initializer.version.catalog.staleness").gauge().value()));
+  }
+
+  private long resolutionCount(String coordinate, String outcome) {
+    return registry
+        .get("initializer.version.resolution")
+        .tag("coordinate", coordinate)
+        .tag("outcome", outcome)
+        .timer()
+        .count();
+  }
+
+  private long lookupCount(String result) {
+    return registry.get("initializer.version.lookup").tag("result", result).timer().count();
+  }
+
+  private double cacheCount(String result, String tier) {
+    return registry
+        .get("initializer.version.cache")
+        .tag("result", result)
+        .tag("tier", tier)
+        .counter()
+        .count();
+  }
+}
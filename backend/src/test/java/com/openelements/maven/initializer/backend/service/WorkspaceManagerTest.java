@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package com.openelements.maven.initializer.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.openelements.maven.initializer.backend.config.WorkspaceProperties;
+import com.openelements.maven.initializer.backend.exception.WorkspaceQuotaExceededException;
+import com.openelements.maven.initializer.backend.service.WorkspaceManager.Workspace;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+class WorkspaceManagerTest {
+
+  private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+  @TempDir private Path tempDir;
+
+  private Path root;
+  private Path legacyDirectory;
+  private MutableClock clock;
+  private WorkspaceManager workspaceManager;
+
+  @BeforeEach
+  void setUp() {
+    root = tempDir.resolve("workspace");
+    legacyDirectory = tempDir.resolve("tmp");
+    clock = new MutableClock(NOW);
+    workspaceManager =
+        new WorkspaceManager(
+            new WorkspaceProperties(
+                root,
+                legacyDirectory,
+                DataSize.ofBytes(1000),
+                DataSize.ofBytes(100),
+                Duration.ofHours(1)),
+            clock);
+  }
+
+  @Test
+  void requestsAreRefusedWhileTheQuotaIsExceeded() {
+    // Given
+    Workspace first = workspaceManager.open();
+    first.reserve(600);
+    Workspace second = workspaceManager.open();
+    second.reserve(400);
+
+    // When
+    WorkspaceQuotaExceededException exception =
+        assertThrows(WorkspaceQuotaExceededException.class, workspaceManager::open);
+
+    // Then
+    assertEquals(WorkspaceManager.RETRY_AFTER, exception.getRetryAfter());
+    first.close();
+    assertEquals(400, workspaceManager.bytesInUse());
+    workspaceManager.open().close();
+  }
+
+  @Test
+  void concurrentRequestsCannotOvershootTheQuota() throws Exception {
+    // Given
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> attempts = new ArrayList<>();
+
+    // When
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 50; i++) {
+        attempts.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  try {
+                    workspaceManager.open();
+                    return true;
+                  } catch (WorkspaceQuotaExceededException e) {
+                    return false;
+                  }
+                }));
+      }
+      start.countDown();
+    }
+
+    // Then
+    long opened = 0;
+    for (Future<Boolean> attempt : attempts) {
+      if (attempt.get()) {
+        opened++;
+      }
+    }
+    assertEquals(10, opened);
+    assertEquals(1000, workspaceManager.bytesInUse());
+  }
+
+  @Test
+  void closingAWorkspaceReleasesItsReservationOnce() {
+    // Given
+    Workspace workspace = workspaceManager.open();
+    assertEquals(100, workspaceManager.bytesInUse());
+    workspace.reserve(250);
+    assertEquals(250, workspaceManager.bytesInUse());
+
+    // When
+    workspace.close();
+    workspace.close();
+    workspace.reserve(500);
+
+    // Then
+    assertEquals(0, workspaceManager.bytesInUse());
+  }
+
+  @Test
+  void workspacesThatWereNeverClosedAreReleasedAfterTheOrphanAge() {
+    // Given
+    Workspace leaked = workspaceManager.open();
+    leaked.reserve(900);
+    clock.advance(Duration.ofMinutes(30));
+    Workspace recent = workspaceManager.open();
+
+    // When
+    clock.advance(Duration.ofMinutes(31));
+    int reaped = workspaceManager.reapOrphans();
+
+    // Then
+    assertEquals(1, reaped);
+    assertEquals(100, workspaceManager.bytesInUse());
+    recent.close();
+    assertEquals(0, workspaceManager.bytesInUse());
+  }
+
+  @Test
+  void orphanedFilesAreDeletedAtStartup() throws IOException {
+    // Given
+    Path staleTempFile =
+        createFile(root.resolve("version-catalog.bin123.tmp"), Duration.ofHours(2));
+    Path freshTempFile = createFile(root.resolve("version-catalog.bin456.tmp"), Duration.ZERO);
+    Path snapshot = createFile(root.resolve("version-catalog.bin"), Duration.ofDays(3));
+    Path staleProject = legacyDirectory.resolve("project-demo-123456789");
+    createFile(staleProject.resolve("src/main/java/App.java"), Duration.ofHours(2));
+    Files.setLastModifiedTime(staleProject, FileTime.from(NOW.minus(Duration.ofHours(2))));
+    Path freshProject = legacyDirectory.resolve("project-demo-987654321");
+    createFile(freshProject.resolve("pom.xml"), Duration.ZERO);
+    Files.setLastModifiedTime(freshProject, FileTime.from(NOW));
+    Path unrelated = legacyDirectory.resolve("project-notes");
+    Files.createDirectories(unrelated);
+    Files.setLastModifiedTime(unrelated, FileTime.from(NOW.minus(Duration.ofDays(1))));
+
+    // When
+    workspaceManager.start();
+
+    // Then
+    assertFalse(Files.exists(staleTempFile));
+    assertFalse(Files.exists(staleProject));
+    assertTrue(Files.exists(freshTempFile));
+    assertTrue(Files.exists(snapshot));
+    assertTrue(Files.exists(freshProject));
+    assertTrue(Files.exists(unrelated));
+  }
+
+  @Test
+  void projectDirectoriesAreKeptWithoutALegacyDirectory() throws IOException {
+    // Given
+    WorkspaceManager manager =
+        new WorkspaceManager(
+            new WorkspaceProperties(
+                root, null, DataSize.ofBytes(1000), DataSize.ofBytes(100), Duration.ofHours(1)),
+            clock);
+    Path project = legacyDirectory.resolve("project-demo-123456789");
+    createFile(project.resolve("pom.xml"), Duration.ofDays(1));
+    Files.setLastModifiedTime(project, FileTime.from(NOW.minus(Duration.ofDays(1))));
+
+    // When
+    int reaped = manager.reapOrphans();
+
+    // Then
+    assertEquals(0, reaped);
+    assertTrue(Files.exists(project));
+  }
+
+  @Test
+  void rootDefaultsToTheTemporaryDirectory() {
+    assertEquals(
+        Path.of(System.getProperty("java.io.tmpdir"), "maven-initializer"),
+        WorkspaceProperties.defaults().rootOrDefault());
+  }
+
+  private static Path createFile(Path file, Duration age) throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, "content");
+    Files.setLastModifiedTime(file, FileTime.from(NOW.minus(age)));
+    return file;
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
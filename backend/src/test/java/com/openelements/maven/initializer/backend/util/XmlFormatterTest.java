@@ -18,11 +18,17 @@
  */
 package com.openelements.maven.initializer.backend.util;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.openelements.maven.initializer.backend.exception.ProjectServiceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 import org.xmlunit.builder.DiffBuilder;
 import org.xmlunit.diff.Diff;
@@ -154,6 +160,106 @@ public class XmlFormatterTest {
             .build();
 
     assertFalse(diff.hasDifferences(), "Formatted XML does not match expected XML: " + diff);
+    assertEquals(expectedXml, formattedXml);
+  }
+
+  @Test
+  void testFormatXmlPutsCommentsAndMixedContentOnOwnLines() {
+    String inputXml =
+        "<project><build><plugins><plugin><configuration>"
+            + "<!--TODO: Please add a configuration--></configuration></plugin></plugins></build>"
+            + "<a>text<b>nested</b></a></project>";
+
+    String expectedXml =
+        """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project>
+                <build>
+                    <plugins>
+                        <plugin>
+                            <configuration>
+                                <!--TODO: Please add a configuration-->
+                            </configuration>
+                        </plugin>
+                    </plugins>
+                </build>
+                <a>
+                    text
+                    <b>nested</b>
+                </a>
+            </project>
+            """;
+
+    assertEquals(expectedXml, XmlFormatter.formatXml(inputXml));
+  }
+
+  @Test
+  void testFormatXmlEscapesTextAndAttributes() {
+    String inputXml =
+        "<project><name>Tom &amp; Jerry &lt;3 &#x1F600;</name><url"
+            + " href=\"a&quot;b&#10;c\"/></project>";
+
+    String expectedXml =
+        """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project>
+                <name>Tom &amp; Jerry &lt;3 &#128512;</name>
+                <url href="a&quot;b&#10;c"/>
+            </project>
+            """;
+
+    assertEquals(expectedXml, XmlFormatter.formatXml(inputXml));
+  }
+
+  @Test
+  void testFormatXmlKeepsBlankLineAfterLastDependencyManagement() {
+    String inputXml =
+        "<project><modelVersion>4.0.0</modelVersion><dependencyManagement><dependencies>"
+            + "<dependency/></dependencies></dependencyManagement></project>";
+
+    String expectedXml =
+        """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project>
+                <modelVersion>4.0.0</modelVersion>
+
+                <dependencyManagement>
+                    <dependencies>
+                        <dependency/>
+                    </dependencies>
+                </dependencyManagement>
+
+            </project>
+            """;
+
+    assertEquals(expectedXml, XmlFormatter.formatXml(inputXml));
+  }
+
+  @Test
+  void testFormatXmlFromConcurrentThreads() throws Exception {
+    String small = "<project><modelVersion>4.0.0</modelVersion></project>";
+    String large = "<project><properties>" + "<a>1</a>".repeat(10_000) + "</properties></project>";
+    String expectedSmall = XmlFormatter.formatXml(small);
+    String expectedLarge = XmlFormatter.formatXml(large);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> results = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        boolean useLarge = i % 3 == 0;
+        results.add(
+            executor.submit(
+                () ->
+                    useLarge
+                        ? XmlFormatter.formatXml(large).equals(expectedLarge)
+                        : XmlFormatter.formatXml(small).equals(expectedSmall)));
+      }
+      for (Future<Boolean> result : results) {
+        assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
   }
 
   @Test
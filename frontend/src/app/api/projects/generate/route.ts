@@ -39,6 +39,11 @@ export async function POST(request: NextRequest) {
     if (fallbackHeader) {
       responseHeaders["X-Fallback-Version-Used"] = fallbackHeader;
     }
+    // Forward the stages that were skipped or cut short to meet the deadline
+    const degradedHeader = response.headers.get("X-Degraded-Stages");
+    if (degradedHeader) {
+      responseHeaders["X-Degraded-Stages"] = degradedHeader;
+    }
 
     return new NextResponse(zipBuffer, {
       status: 200,